@@ -17,9 +17,14 @@
  */
 package org.azkfw.business.dao;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.azkfw.business.dao.export.DataExporter;
 import org.azkfw.business.paging.Paging;
 import org.azkfw.lang.LoggingObject;
 
@@ -32,6 +37,26 @@ import org.azkfw.lang.LoggingObject;
  */
 public abstract class AbstractDataAccessObject extends LoggingObject implements DataAccessObject {
 
+	/**
+	 * デフォルトのバッチサイズ
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * フェッチサイズ
+	 */
+	private int fetchSize;
+
+	/**
+	 * バッチサイズ
+	 */
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * 一時ファイルへ退避する閾値
+	 */
+	private long spillThreshold;
+
 	/**
 	 * コンストラクタ
 	 */
@@ -57,6 +82,48 @@ public abstract class AbstractDataAccessObject extends LoggingObject implements
 		super(clazz);
 	}
 
+	@Override
+	public final void setFetchSize(final int size) {
+		fetchSize = size;
+	}
+
+	/**
+	 * 一度に読み込むデータ件数のヒントを取得する。
+	 * 
+	 * @return 件数。<code>0</code>以下の場合、ドライバのデフォルト値を使用する。
+	 */
+	protected final int getFetchSize() {
+		return fetchSize;
+	}
+
+	@Override
+	public final void setBatchSize(final int size) {
+		batchSize = size;
+	}
+
+	/**
+	 * 一括更新時に一度に送信する件数を取得する。
+	 * 
+	 * @return 件数。<code>0</code>以下の場合、全件を一度に送信する。
+	 */
+	protected final int getBatchSize() {
+		return batchSize;
+	}
+
+	@Override
+	public final void setSpillThreshold(final long size) {
+		spillThreshold = size;
+	}
+
+	/**
+	 * 取得データをメモリに保持する上限サイズを取得する。
+	 * 
+	 * @return 推定メモリ使用量(バイト)。<code>0</code>以下の場合、全データをメモリに保持する。
+	 */
+	protected final long getSpillThreshold() {
+		return spillThreshold;
+	}
+
 	@Override
 	public final boolean execute() throws DataAccessServiceException {
 		return doExecute();
@@ -67,6 +134,11 @@ public abstract class AbstractDataAccessObject extends LoggingObject implements
 		return doUpdate();
 	}
 
+	@Override
+	public final int[] updateBatch() throws DataAccessServiceException {
+		return doUpdateBatch();
+	}
+
 	@Override
 	public final long count() throws DataAccessServiceException {
 		return doCount();
@@ -77,6 +149,16 @@ public abstract class AbstractDataAccessObject extends LoggingObject implements
 		return doGet();
 	}
 
+	@Override
+	public final <T> T get(final Class<T> clazz) throws DataAccessServiceException {
+		T result = null;
+		Map<String, Object> data = doGet();
+		if (null != data && !data.isEmpty()) {
+			result = getMapper(clazz, data).map(data);
+		}
+		return result;
+	}
+
 	@Override
 	public final List<Map<String, Object>> query() throws DataAccessServiceException {
 		return doQuery();
@@ -87,6 +169,165 @@ public abstract class AbstractDataAccessObject extends LoggingObject implements
 		return doQuery(paging);
 	}
 
+	@Override
+	public final PagedResult queryPage(final Paging paging) throws DataAccessServiceException {
+		return doQueryPage(paging);
+	}
+
+	@Override
+	public final <T> List<T> query(final Class<T> clazz) throws DataAccessServiceException {
+		return query(null, clazz);
+	}
+
+	@Override
+	public final <T> List<T> query(final Paging paging, final Class<T> clazz) throws DataAccessServiceException {
+		final List<T> result = new ArrayList<T>();
+		doQuery(paging, new RowHandler() {
+			private BeanMapper<T> mapper;
+
+			@Override
+			public boolean handle(final Map<String, Object> data) throws DataAccessServiceException {
+				if (null == mapper) {
+					mapper = getMapper(clazz, data);
+				}
+				result.add(mapper.map(data));
+				return true;
+			}
+		});
+		return result;
+	}
+
+	@Override
+	public final void query(final RowHandler handler) throws DataAccessServiceException {
+		doQuery(null, handler);
+	}
+
+	@Override
+	public final void query(final Paging paging, final RowHandler handler) throws DataAccessServiceException {
+		doQuery(paging, handler);
+	}
+
+	@Override
+	public final DataCursor cursor() throws DataAccessServiceException {
+		return doCursor(null);
+	}
+
+	@Override
+	public final DataCursor cursor(final Paging paging) throws DataAccessServiceException {
+		return doCursor(paging);
+	}
+
+	@Override
+	public final long export(final DataExporter exporter) throws DataAccessServiceException {
+		return doExport(null, exporter);
+	}
+
+	@Override
+	public final long export(final Paging paging, final DataExporter exporter) throws DataAccessServiceException {
+		return doExport(paging, exporter);
+	}
+
+	@Override
+	public final ColumnarResult queryColumnar() throws DataAccessServiceException {
+		return queryColumnar(null);
+	}
+
+	@Override
+	public final ColumnarResult queryColumnar(final Paging paging) throws DataAccessServiceException {
+		return queryColumnar(paging, false);
+	}
+
+	@Override
+	public final ColumnarResult queryColumnar(final Paging paging, final boolean approximate) throws DataAccessServiceException {
+		ColumnarExporter exporter = new ColumnarExporter(approximate);
+		doExport(paging, exporter);
+		return exporter.getResult();
+	}
+
+	@Override
+	public final Future<Integer> updateAsync() {
+		return submit(new AsyncCall<Integer>() {
+			@Override
+			public Integer call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+				return Integer.valueOf(dao.doUpdate());
+			}
+		});
+	}
+
+	@Override
+	public final Future<Long> countAsync() {
+		return submit(new AsyncCall<Long>() {
+			@Override
+			public Long call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+				return Long.valueOf(dao.doCount());
+			}
+		});
+	}
+
+	@Override
+	public final Future<Map<String, Object>> getAsync() {
+		return submit(new AsyncCall<Map<String, Object>>() {
+			@Override
+			public Map<String, Object> call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+				return dao.doGet();
+			}
+		});
+	}
+
+	@Override
+	public final Future<List<Map<String, Object>>> queryAsync() {
+		return queryAsync(null);
+	}
+
+	@Override
+	public final Future<List<Map<String, Object>>> queryAsync(final Paging paging) {
+		return submit(new AsyncCall<List<Map<String, Object>>>() {
+			@Override
+			public List<Map<String, Object>> call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+				return dao.doQuery(paging);
+			}
+		});
+	}
+
+	/**
+	 * 処理を非同期で実行する。
+	 * <p>
+	 * デフォルトでは、コネクションを複数のスレッドで共有しないよう、呼び出し元スレッドで自身を対象に実行する。
+	 * 別のコネクションを用意できるサブクラスで、{@link AsyncDataAccessManager}のスレッドで実行するようオーバーライドする。
+	 * </p>
+	 * 
+	 * @param call 処理
+	 * @return 実行結果
+	 */
+	protected <V> Future<V> submit(final AsyncCall<V> call) {
+		FutureTask<V> task = new FutureTask<V>(new Callable<V>() {
+			@Override
+			public V call() throws Exception {
+				return call.call(AbstractDataAccessObject.this);
+			}
+		});
+		task.run();
+		return task;
+	}
+
+	/**
+	 * データに対応したBeanマッパーを取得する。
+	 * 
+	 * @param clazz Beanクラス
+	 * @param data データ
+	 * @return マッパー
+	 * @throws DataAccessServiceException Beanの解析時に問題が発生した場合
+	 */
+	private static <T> BeanMapper<T> getMapper(final Class<T> clazz, final Map<String, Object> data) throws DataAccessServiceException {
+		RowSchema schema = null;
+		if (data instanceof Row) {
+			schema = ((Row) data).getSchema();
+		} else {
+			schema = new RowSchema(new ArrayList<String>(data.keySet()));
+		}
+		return BeanMapper.get(clazz, schema);
+	}
+
 	/**
 	 * データに処理を実行する。
 	 * 
@@ -103,6 +344,14 @@ public abstract class AbstractDataAccessObject extends LoggingObject implements
 	 */
 	protected abstract int doUpdate() throws DataAccessServiceException;
 
+	/**
+	 * データを一括更新する。
+	 * 
+	 * @return 更新件数(パラメータごと)
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	protected abstract int[] doUpdateBatch() throws DataAccessServiceException;
+
 	/**
 	 * データの件数を取得する。
 	 * 
@@ -135,4 +384,60 @@ public abstract class AbstractDataAccessObject extends LoggingObject implements
 	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
 	 */
 	protected abstract List<Map<String, Object>> doQuery(final Paging paging) throws DataAccessServiceException;
+
+	/**
+	 * ページのデータと総件数を取得する。
+	 * 
+	 * @param paging ページ情報
+	 * @return 取得結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	protected abstract PagedResult doQueryPage(final Paging paging) throws DataAccessServiceException;
+
+	/**
+	 * データを1件ずつ処理する。
+	 * 
+	 * @param paging ページ情報
+	 * @param handler ハンドラー
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	protected abstract void doQuery(final Paging paging, final RowHandler handler) throws DataAccessServiceException;
+
+	/**
+	 * データを1件ずつ読み込むカーソルを取得する。
+	 * 
+	 * @param paging ページ情報
+	 * @return カーソル
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	protected abstract DataCursor doCursor(final Paging paging) throws DataAccessServiceException;
+
+	/**
+	 * データを出力する。
+	 * 
+	 * @param paging ページ情報
+	 * @param exporter 出力先
+	 * @return 出力件数
+	 * @throws DataAccessServiceException データへのアクセス時または出力時に問題が発生した場合
+	 */
+	protected abstract long doExport(final Paging paging, final DataExporter exporter) throws DataAccessServiceException;
+
+	/**
+	 * このインターフェースは、非同期実行する処理を表現したインターフェースです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	protected static interface AsyncCall<V> {
+
+		/**
+		 * 処理を実行する。
+		 * 
+		 * @param dao 実行対象のデータアクセスオブジェクト
+		 * @return 実行結果
+		 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+		 */
+		public V call(final AbstractDataAccessObject dao) throws DataAccessServiceException;
+	}
 }
@@ -17,10 +17,18 @@
  */
 package org.azkfw.business.dao;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
+import org.azkfw.business.dao.dialect.Dialect;
+import org.azkfw.business.dao.dialect.DialectSupport;
 import org.azkfw.persistence.database.DatabaseConnection;
 import org.azkfw.persistence.database.DatabaseConnectionSupport;
 
@@ -31,13 +39,44 @@ import org.azkfw.persistence.database.DatabaseConnectionSupport;
  * @version 1.0.0 2013/02/14
  * @author Kawakicchi
  */
-public abstract class AbstractDatabaseAccessObject extends AbstractDataAccessObject implements DatabaseConnectionSupport {
+public abstract class AbstractDatabaseAccessObject extends AbstractDataAccessObject implements DatabaseConnectionSupport, DatabaseConnectionProviderSupport,
+		ReadConnectionProviderSupport, IdentityMapSupport, WriteBehindSupport, DialectSupport {
 
 	/**
 	 * コネクション
 	 */
 	private DatabaseConnection connection;
 
+	/**
+	 * SQL方言
+	 */
+	private Dialect dialect;
+
+	/**
+	 * コネクションプロバイダー
+	 */
+	private DatabaseConnectionProvider provider;
+
+	/**
+	 * 参照用コネクションプロバイダー
+	 */
+	private DatabaseConnectionProvider readProvider;
+
+	/**
+	 * トランザクション内キャッシュ
+	 */
+	private IdentityMap identityMap;
+
+	/**
+	 * 更新の遅延送信用バッファ
+	 */
+	private WriteBehindBuffer writeBehindBuffer;
+
+	/**
+	 * 参照処理を自身のコネクションで実行中か
+	 */
+	private boolean primary;
+
 	/**
 	 * コンストラクタ
 	 */
@@ -77,6 +116,296 @@ public abstract class AbstractDatabaseAccessObject extends AbstractDataAccessObj
 		return connection;
 	}
 
+	@Override
+	public final void setDialect(final Dialect dialect) {
+		this.dialect = dialect;
+	}
+
+	/**
+	 * SQL方言を取得する。
+	 * 
+	 * @return SQL方言。設定されていない場合、<code>null</code>を返す。
+	 */
+	protected final Dialect getDialect() {
+		return dialect;
+	}
+
+	@Override
+	public final void setConnectionProvider(final DatabaseConnectionProvider provider) {
+		this.provider = provider;
+	}
+
+	/**
+	 * コネクションプロバイダーを取得する。
+	 * 
+	 * @return コネクションプロバイダー。設定されていない場合、<code>null</code>を返す。
+	 */
+	protected final DatabaseConnectionProvider getConnectionProvider() {
+		return provider;
+	}
+
+	@Override
+	public final void setReadConnectionProvider(final DatabaseConnectionProvider provider) {
+		readProvider = provider;
+	}
+
+	/**
+	 * 参照用コネクションプロバイダーを取得する。
+	 * 
+	 * @return 参照用コネクションプロバイダー。設定されていない場合、<code>null</code>を返す。
+	 */
+	protected final DatabaseConnectionProvider getReadConnectionProvider() {
+		return readProvider;
+	}
+
+	/**
+	 * 参照処理を{@link #read(AsyncCall)}で参照用コネクションへ振り分けるか判断する。
+	 * <p>
+	 * 参照用コネクションからの切り戻しで自身のコネクションで再実行している間は振り分けない。<br/>
+	 * 自身のコネクションに未コミットの更新がある場合も、更新を参照するため振り分けない。
+	 * </p>
+	 * 
+	 * @return 振り分ける場合、<code>true</code>を返す。
+	 */
+	protected final boolean isReadRouting() {
+		if (null == readProvider || primary) {
+			return false;
+		}
+		DatabaseConnection c = getConnection();
+		return null == c || !ReadRoutingManager.isWritten(c.getConnection());
+	}
+
+	@Override
+	public final void setIdentityMap(final IdentityMap identityMap) {
+		this.identityMap = identityMap;
+	}
+
+	/**
+	 * トランザクション内キャッシュを取得する。
+	 * 
+	 * @return トランザクション内キャッシュ。設定されていない場合、<code>null</code>を返す。
+	 */
+	protected final IdentityMap getIdentityMap() {
+		return identityMap;
+	}
+
+	@Override
+	public final void setWriteBehindBuffer(final WriteBehindBuffer buffer) {
+		writeBehindBuffer = buffer;
+	}
+
+	/**
+	 * 更新の遅延送信用バッファを取得する。
+	 * 
+	 * @return バッファ。設定されていない場合、<code>null</code>を返す。
+	 */
+	protected final WriteBehindBuffer getWriteBehindBuffer() {
+		return writeBehindBuffer;
+	}
+
+	/**
+	 * 参照処理を参照用コネクションで実行する。
+	 * <p>
+	 * {@link #newInstance()}で複製したデータアクセスオブジェクトに参照用コネクションプロバイダーから取得したコネクションを設定して実行する。<br/>
+	 * コネクションの取得に失敗した場合、またはコネクションの異常で実行に失敗した場合、失敗を報告した上で自身のコネクションで再実行する。
+	 * SQLの誤りや制約違反など、コネクション以外の理由で失敗した場合は失敗を報告せずに例外を送出する。<br/>
+	 * 参照用コネクションプロバイダーが設定されていない場合または複製できない場合、自身のコネクションで実行する。
+	 * </p>
+	 * 
+	 * @param call 処理
+	 * @return 実行結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	protected final <V> V read(final AsyncCall<V> call) throws DataAccessServiceException {
+		final DatabaseConnectionProvider p = readProvider;
+		final AbstractDatabaseAccessObject dao = (isReadRouting()) ? newInstance() : null;
+		if (null == dao) {
+			return readPrimary(call);
+		}
+		copyTo(dao);
+
+		DatabaseConnection c = null;
+		try {
+			c = p.acquire();
+		} catch (DataAccessServiceException ex) {
+			warn("Read connection error.", ex);
+			return readPrimary(call);
+		}
+
+		try {
+			dao.setConnection(c);
+			V result = call.call(dao);
+			if (p instanceof ReplicaConnectionProvider) {
+				((ReplicaConnectionProvider) p).success(c);
+			}
+			return result;
+		} catch (DataAccessServiceException ex) {
+			if (!isConnectionFailure(ex)) {
+				throw ex;
+			}
+			if (p instanceof ReplicaConnectionProvider) {
+				((ReplicaConnectionProvider) p).failure(c);
+			}
+			warn("Read connection execute error.", ex);
+		} finally {
+			dao.setConnection(null);
+			StatementCacheManager.release(c);
+			p.release(c);
+		}
+		return readPrimary(call);
+	}
+
+	/**
+	 * 参照処理を参照用コネクションへ振り分けずに自身のコネクションで実行する。
+	 * 
+	 * @param call 処理
+	 * @return 実行結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private <V> V readPrimary(final AsyncCall<V> call) throws DataAccessServiceException {
+		boolean saved = primary;
+		primary = true;
+		try {
+			return call.call(this);
+		} finally {
+			primary = saved;
+		}
+	}
+
+	/**
+	 * 例外がコネクションの異常によるものか判断する。
+	 * <p>
+	 * 原因を辿り、接続系の{@link SQLException}またはSQLSTATEのクラスが<code>08</code>(接続例外)の場合にコネクションの異常と判断する。
+	 * </p>
+	 * 
+	 * @param throwable 例外
+	 * @return コネクションの異常の場合、<code>true</code>を返す。
+	 */
+	static boolean isConnectionFailure(final Throwable throwable) {
+		Throwable t = throwable;
+		while (null != t) {
+			if (t instanceof SQLTransientConnectionException || t instanceof SQLNonTransientConnectionException
+					|| t instanceof SQLRecoverableException) {
+				return true;
+			}
+			if (t instanceof SQLException) {
+				String state = ((SQLException) t).getSQLState();
+				if (null != state && state.startsWith("08")) {
+					return true;
+				}
+			}
+			t = (t.getCause() != t) ? t.getCause() : null;
+		}
+		return false;
+	}
+
+	/**
+	 * 処理を非同期で実行する。
+	 * <p>
+	 * コネクションを共有しないよう、{@link #newInstance()}で複製したデータアクセスオブジェクトに
+	 * コネクションプロバイダーから取得したコネクションを設定して実行する。
+	 * 取得したコネクションでは処理ごとに独立したトランザクションとし、成功時にコミット、失敗時にロールバックしてから返却する。<br/>
+	 * コネクションプロバイダーが設定されていない場合または複製できない場合、呼び出し元スレッドで実行する。
+	 * </p>
+	 * 
+	 * @param call 処理
+	 * @return 実行結果
+	 */
+	@Override
+	protected <V> Future<V> submit(final AsyncCall<V> call) {
+		final DatabaseConnectionProvider p = provider;
+		final AbstractDatabaseAccessObject dao = (null != p) ? newInstance() : null;
+
+		Future<V> future = null;
+		if (null != dao) {
+			copyTo(dao);
+			future = AsyncDataAccessManager.submit(new Callable<V>() {
+				@Override
+				public V call() throws Exception {
+					DatabaseConnection c = p.acquire();
+					boolean success = false;
+					try {
+						dao.setConnection(c);
+						V result = call.call(dao);
+						success = true;
+						return result;
+					} finally {
+						try {
+							complete(c.getConnection(), success);
+						} finally {
+							dao.setConnection(null);
+							StatementCacheManager.release(c);
+							p.release(c);
+						}
+					}
+				}
+			});
+		} else {
+			future = super.submit(call);
+		}
+		return future;
+	}
+
+	/**
+	 * 非同期実行用に取得したコネクションのトランザクションを終了する。
+	 * <p>
+	 * 自動コミットでない場合、成功時はコミット、失敗時はロールバックする。
+	 * 終了後、実行結果キャッシュ及び参照用コネクションの振り分けへトランザクションの終了を通知する。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 * @param success 処理が成功した場合、<code>true</code>
+	 * @throws DataAccessServiceException コミットに失敗した場合
+	 */
+	final void complete(final Connection connection, final boolean success) throws DataAccessServiceException {
+		try {
+			if (connection.getAutoCommit()) {
+				return;
+			}
+			if (success) {
+				connection.commit();
+			} else {
+				connection.rollback();
+			}
+		} catch (SQLException ex) {
+			if (success) {
+				fatal("Async commit error.", ex);
+				throw new DataAccessServiceException(ex);
+			}
+			warn("Async rollback error.", ex);
+		} finally {
+			QueryCacheManager.complete(connection);
+			ReadRoutingManager.complete(connection);
+		}
+	}
+
+	/**
+	 * 複製したデータアクセスオブジェクトへ設定を反映する。
+	 * <p>
+	 * コネクション及びコネクションプロバイダーは反映しない。
+	 * </p>
+	 * 
+	 * @param dao データアクセスオブジェクト
+	 */
+	private void copyTo(final AbstractDatabaseAccessObject dao) {
+		dao.setDialect(dialect);
+		dao.setFetchSize(getFetchSize());
+		dao.setBatchSize(getBatchSize());
+		dao.setSpillThreshold(getSpillThreshold());
+	}
+
+	/**
+	 * 非同期実行用及び参照用に同一の処理を行うデータアクセスオブジェクトを生成する。
+	 * <p>
+	 * コネクション、SQL方言、フェッチサイズ及びバッチサイズは呼び出し元で設定する。
+	 * </p>
+	 * 
+	 * @return データアクセスオブジェクト。非同期実行に対応しない場合、<code>null</code>を返す。
+	 */
+	protected AbstractDatabaseAccessObject newInstance() {
+		return null;
+	}
+
 	/**
 	 * {@link ResultSet}を解放する。
 	 * 
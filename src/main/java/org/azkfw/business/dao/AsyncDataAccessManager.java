@@ -0,0 +1,258 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.business.manager.AbstractManager;
+
+/**
+ * このクラスは、データアクセスの非同期実行を管理するマネージャークラスです。
+ * <p>
+ * スレッド数と待機件数が上限に達した場合、またはスレッド数等の変更でエグゼキューターが停止していた場合、呼び出し元スレッドで実行する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class AsyncDataAccessManager extends AbstractManager {
+
+	/**
+	 * デフォルトの待機件数
+	 */
+	public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+	/**
+	 * Instance
+	 */
+	private static final AsyncDataAccessManager INSTANCE = new AsyncDataAccessManager();
+
+	/**
+	 * 実行スレッド判定
+	 */
+	private static final ThreadLocal<Boolean> WORKER = new ThreadLocal<Boolean>();
+
+	/**
+	 * スレッド数
+	 */
+	private int poolSize;
+
+	/**
+	 * 待機件数
+	 */
+	private int queueSize;
+
+	/**
+	 * エグゼキューター
+	 */
+	private ThreadPoolExecutor executor;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private AsyncDataAccessManager() {
+		super(AsyncDataAccessManager.class);
+		poolSize = Runtime.getRuntime().availableProcessors();
+		queueSize = DEFAULT_QUEUE_SIZE;
+		executor = null;
+	}
+
+	/**
+	 * スレッド数を設定する。
+	 * <p>
+	 * 実行中の処理は、変更前のスレッドで継続する。
+	 * </p>
+	 * 
+	 * @param size スレッド数
+	 */
+	public static void setPoolSize(final int size) {
+		INSTANCE.doSetPoolSize(size);
+	}
+
+	/**
+	 * 待機件数を設定する。
+	 * 
+	 * @param size 待機件数
+	 */
+	public static void setQueueSize(final int size) {
+		INSTANCE.doSetQueueSize(size);
+	}
+
+	/**
+	 * 処理を非同期で実行する。
+	 * 
+	 * @param callable 処理
+	 * @return 実行結果
+	 */
+	public static <V> Future<V> submit(final Callable<V> callable) {
+		return INSTANCE.doSubmit(callable);
+	}
+
+	/**
+	 * 現在のスレッドが非同期実行のスレッドか判定する。
+	 * <p>
+	 * 非同期実行中の処理から更に処理を投入して完了を待機すると、スレッドが枯渇した場合にデッドロックとなるため、
+	 * 投入前にこのメソッドで判定し、呼び出し元スレッドで実行すること。
+	 * </p>
+	 * 
+	 * @return 非同期実行のスレッド、または呼び出し元スレッドで非同期実行の処理を実行中の場合、<code>true</code>を返す。
+	 */
+	public static boolean isWorkerThread() {
+		return Boolean.TRUE.equals(WORKER.get());
+	}
+
+	/**
+	 * エグゼキューターを停止する。
+	 * <p>
+	 * 実行中及び待機中の処理は、停止前に完了する。
+	 * </p>
+	 */
+	public static void shutdown() {
+		INSTANCE.doShutdown();
+	}
+
+	/**
+	 * スレッド数を設定する。
+	 * 
+	 * @param size スレッド数
+	 */
+	private void doSetPoolSize(final int size) {
+		if (0 >= size) {
+			throw new IllegalArgumentException("Illegal pool size.[" + size + "]");
+		}
+		synchronized (this) {
+			poolSize = size;
+		}
+		doShutdown();
+	}
+
+	/**
+	 * 待機件数を設定する。
+	 * 
+	 * @param size 待機件数
+	 */
+	private void doSetQueueSize(final int size) {
+		if (0 >= size) {
+			throw new IllegalArgumentException("Illegal queue size.[" + size + "]");
+		}
+		synchronized (this) {
+			queueSize = size;
+		}
+		doShutdown();
+	}
+
+	/**
+	 * 処理を非同期で実行する。
+	 * 
+	 * @param callable 処理
+	 * @return 実行結果
+	 */
+	private <V> Future<V> doSubmit(final Callable<V> callable) {
+		ThreadPoolExecutor e = null;
+		synchronized (this) {
+			if (null == executor) {
+				executor = createExecutor(poolSize, queueSize);
+			}
+			e = executor;
+		}
+		return e.submit(callable);
+	}
+
+	/**
+	 * エグゼキューターを停止する。
+	 */
+	private void doShutdown() {
+		ThreadPoolExecutor e = null;
+		synchronized (this) {
+			e = executor;
+			executor = null;
+		}
+		if (null != e) {
+			e.shutdown();
+		}
+	}
+
+	/**
+	 * エグゼキューターを生成する。
+	 * 
+	 * @param pool スレッド数
+	 * @param queue 待機件数
+	 * @return エグゼキューター
+	 */
+	private static ThreadPoolExecutor createExecutor(final int pool, final int queue) {
+		ThreadPoolExecutor e = new ThreadPoolExecutor(pool, pool, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queue),
+				new ThreadFactory() {
+					private final AtomicInteger number = new AtomicInteger();
+
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(new Runnable() {
+							@Override
+							public void run() {
+								WORKER.set(Boolean.TRUE);
+								runnable.run();
+							}
+						}, "azuki-dao-async-" + number.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				}, new CallerRunsHandler());
+		e.allowCoreThreadTimeOut(true);
+		return e;
+	}
+
+	/**
+	 * このクラスは、受け付けられなかった処理を呼び出し元スレッドで実行するハンドラークラスです。
+	 * <p>
+	 * {@link ThreadPoolExecutor.CallerRunsPolicy}と異なり、エグゼキューターの停止後も処理を破棄せずに実行するため、
+	 * 返却した{@link Future}は必ず完了する。実行中は{@link AsyncDataAccessManager#isWorkerThread()}が<code>true</code>を返す。
+	 * </p>
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	static final class CallerRunsHandler implements RejectedExecutionHandler {
+
+		@Override
+		public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+			Boolean saved = WORKER.get();
+			WORKER.set(Boolean.TRUE);
+			try {
+				runnable.run();
+			} finally {
+				if (null == saved) {
+					WORKER.remove();
+				} else {
+					WORKER.set(saved);
+				}
+			}
+		}
+	}
+}
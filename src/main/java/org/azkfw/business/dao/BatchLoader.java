@@ -0,0 +1,316 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * このクラスは、キーによる1件取得をまとめて実行するローダークラスです。
+ * <p>
+ * {@link #load(Object)}で登録したキーは、いずれかの{@link Result#get()}または{@link #dispatch()}の呼び出し時に
+ * <code>WHERE key IN (...)</code>でまとめて取得する。
+ * 1回に指定するキーの数は方言の上限({@link org.azkfw.business.dao.dialect.Dialect#getMaxInListSize()})で分割する。<br/>
+ * 取得結果はローダー内で保持し、同じキーの再取得ではデータベースへアクセスしない。
+ * 更新後に最新の結果が必要な場合は{@link #clear()}で破棄すること。
+ * </p>
+ * <p>
+ * 数値のキーは型に関わらず値で比較する。キーが一意でない場合、最初に取得したデータを返す。
+ * </p>
+ * <p>
+ * このクラスはスレッドセーフではありません。1つのロジック内で使用すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class BatchLoader {
+
+	/** データアクセスオブジェクト */
+	private final DynamicSQLAccessObject dao;
+
+	/** キーのカラム名 */
+	private final String key;
+
+	/** 取得結果 */
+	private final Map<Object, Result> results;
+
+	/** 未取得の結果 */
+	private final List<Result> pending;
+
+	/** クエリ実行回数 */
+	private long queryCount;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aDao データアクセスオブジェクト。キーで絞り込む前のデータを取得するダイナミックSQLを設定すること。
+	 * @param aKey キーのカラム名
+	 */
+	public BatchLoader(final DynamicSQLAccessObject aDao, final String aKey) {
+		dao = aDao;
+		key = aKey;
+		results = new HashMap<Object, Result>();
+		pending = new ArrayList<Result>();
+		queryCount = 0;
+	}
+
+	/**
+	 * キーを登録する。
+	 * <p>
+	 * データの取得は、戻り値の{@link Result#get()}または{@link #dispatch()}の呼び出し時まで遅延する。
+	 * </p>
+	 * 
+	 * @param id キーの値
+	 * @return 取得結果
+	 */
+	public Result load(final Object id) {
+		Object normalized = normalize(id);
+		Result result = results.get(normalized);
+		if (null == result) {
+			result = new Result(id);
+			results.put(normalized, result);
+			pending.add(result);
+		}
+		return result;
+	}
+
+	/**
+	 * キーに一致するデータを取得する。
+	 * <p>
+	 * 登録済みの未取得のキーも合わせて取得する。
+	 * </p>
+	 * 
+	 * @param id キーの値
+	 * @return データ。存在しない場合、<code>null</code>を返す。
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public Map<String, Object> get(final Object id) throws DataAccessServiceException {
+		return load(id).get();
+	}
+
+	/**
+	 * キーの値ごとにデータを取得する。
+	 * 
+	 * @param ids キーの値リスト
+	 * @return キーの値とデータのマップ。存在しないキーの値は<code>null</code>となる。
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public Map<Object, Map<String, Object>> getAll(final Collection<?> ids) throws DataAccessServiceException {
+		List<Result> list = new ArrayList<Result>(ids.size());
+		for (Object id : ids) {
+			list.add(load(id));
+		}
+		dispatch();
+
+		Map<Object, Map<String, Object>> map = new LinkedHashMap<Object, Map<String, Object>>();
+		for (Result result : list) {
+			map.put(result.id, result.get());
+		}
+		return map;
+	}
+
+	/**
+	 * 未取得のキーのデータを取得する。
+	 * <p>
+	 * 取得に失敗した場合、失敗した分割以降のキーは未取得のまま残る。
+	 * </p>
+	 * 
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public void dispatch() throws DataAccessServiceException {
+		int max = dao.getMaxInListSize();
+		while (0 < pending.size()) {
+			List<Result> chunk = pending.subList(0, Math.min(max, pending.size()));
+
+			List<Object> values = new ArrayList<Object>(chunk.size());
+			for (Result result : chunk) {
+				values.add(result.id);
+			}
+			List<Map.Entry<Object, Map<String, Object>>> entries = dao.queryIn(key, values);
+			queryCount++;
+
+			Map<Object, Map<String, Object>> found = new HashMap<Object, Map<String, Object>>();
+			for (Map.Entry<Object, Map<String, Object>> entry : entries) {
+				Object normalized = normalize(entry.getKey());
+				if (!found.containsKey(normalized)) {
+					found.put(normalized, entry.getValue());
+				}
+			}
+			for (Result result : chunk) {
+				result.data = found.get(normalize(result.id));
+				result.done = true;
+			}
+			chunk.clear();
+		}
+	}
+
+	/**
+	 * 保持している取得結果を破棄する。
+	 * <p>
+	 * 破棄前に取得した{@link Result}は未取得のキーを含め無効となる。
+	 * </p>
+	 */
+	public void clear() {
+		results.clear();
+		pending.clear();
+	}
+
+	/**
+	 * 登録されているキーの数を取得する。
+	 * 
+	 * @return キーの数
+	 */
+	public int size() {
+		return results.size();
+	}
+
+	/**
+	 * 未取得のキーの数を取得する。
+	 * 
+	 * @return キーの数
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * クエリの実行回数を取得する。
+	 * 
+	 * @return 実行回数
+	 */
+	public long getQueryCount() {
+		return queryCount;
+	}
+
+	/**
+	 * キーの値を比較用に正規化する。
+	 * <p>
+	 * ドライバによって数値の型が異なるため、数値は{@link BigDecimal}へ変換する。
+	 * </p>
+	 * 
+	 * @param id キーの値
+	 * @return 正規化した値
+	 */
+	static Object normalize(final Object id) {
+		Object result = id;
+		if (id instanceof BigDecimal) {
+			result = strip((BigDecimal) id);
+		} else if (id instanceof BigInteger) {
+			result = new BigDecimal((BigInteger) id);
+		} else if (id instanceof Long || id instanceof Integer || id instanceof Short || id instanceof Byte) {
+			result = BigDecimal.valueOf(((Number) id).longValue());
+		} else if (id instanceof Double || id instanceof Float) {
+			double value = ((Number) id).doubleValue();
+			if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+				result = strip(BigDecimal.valueOf(value));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 小数部の末尾の0を取り除く。
+	 * 
+	 * @param value 値
+	 * @return 値
+	 */
+	private static BigDecimal strip(final BigDecimal value) {
+		if (0 == value.signum()) {
+			return BigDecimal.ZERO;
+		}
+		BigDecimal result = value.stripTrailingZeros();
+		if (0 > result.scale()) {
+			result = result.setScale(0);
+		}
+		return result;
+	}
+
+	/**
+	 * このクラスは、キーごとの取得結果を表現するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	public final class Result {
+
+		/** キーの値 */
+		private final Object id;
+
+		/** データ */
+		private Map<String, Object> data;
+
+		/** 取得済み */
+		private boolean done;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aId キーの値
+		 */
+		private Result(final Object aId) {
+			id = aId;
+			data = null;
+			done = false;
+		}
+
+		/**
+		 * キーの値を取得する。
+		 * 
+		 * @return キーの値
+		 */
+		public Object getId() {
+			return id;
+		}
+
+		/**
+		 * 取得済みか判断する。
+		 * 
+		 * @return 取得済みの場合、<code>true</code>を返す。
+		 */
+		public boolean isDone() {
+			return done;
+		}
+
+		/**
+		 * データを取得する。
+		 * <p>
+		 * 未取得の場合、ローダーに登録済みの未取得のキーをまとめて取得する。<br/>
+		 * 呼び出し元での変更が影響しないよう、複製を返す。
+		 * </p>
+		 * 
+		 * @return データ。存在しない場合、<code>null</code>を返す。
+		 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+		 */
+		@SuppressWarnings("unchecked")
+		public Map<String, Object> get() throws DataAccessServiceException {
+			if (!done) {
+				dispatch();
+			}
+			return (null != data) ? (Map<String, Object>) QueryCacheManager.copy(data) : null;
+		}
+	}
+}
@@ -0,0 +1,369 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * このクラスは、取得データをBeanへ変換するマッパークラスです。
+ * <p>
+ * キーごとのsetterメソッド(存在しない場合はフィールド)をクラスとキー構成の組み合わせごとに一度だけ解決し、
+ * {@link MethodHandle}として保持する。データごとのリフレクションは行わない。<br/>
+ * Beanは引数なしのコンストラクタを持つこと。対応するプロパティが存在しないキーは無視する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ * @param <T> Beanの型
+ */
+public final class BeanMapper<T> {
+
+	/** 最大キャッシュ件数 */
+	private static final int MAX_SIZE = 1024;
+
+	/** キャッシュ */
+	private static final ConcurrentMap<List<Object>, BeanMapper<?>> MAPPERS = new ConcurrentHashMap<List<Object>, BeanMapper<?>>();
+
+	/** Beanクラス */
+	private final Class<T> clazz;
+
+	/** スキーマ */
+	private final RowSchema schema;
+
+	/** コンストラクタ */
+	private final MethodHandle constructor;
+
+	/** アクセサー(スキーマの格納位置順) */
+	private final Accessor[] accessors;
+
+	/**
+	 * マッパーを取得する。
+	 * 
+	 * @param clazz Beanクラス
+	 * @param schema スキーマ
+	 * @return マッパー
+	 * @throws DataAccessServiceException Beanの解析時に問題が発生した場合
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> BeanMapper<T> get(final Class<T> clazz, final RowSchema schema) throws DataAccessServiceException {
+		List<Object> key = new ArrayList<Object>(schema.size() + 1);
+		key.add(clazz);
+		key.addAll(schema.getKeys());
+
+		BeanMapper<T> mapper = (BeanMapper<T>) MAPPERS.get(key);
+		if (null == mapper) {
+			mapper = new BeanMapper<T>(clazz, schema);
+			if (MAX_SIZE <= MAPPERS.size()) {
+				MAPPERS.clear();
+			}
+			MAPPERS.put(key, mapper);
+		}
+		return mapper;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aClass Beanクラス
+	 * @param aSchema スキーマ
+	 * @throws DataAccessServiceException Beanの解析時に問題が発生した場合
+	 */
+	private BeanMapper(final Class<T> aClass, final RowSchema aSchema) throws DataAccessServiceException {
+		clazz = aClass;
+		schema = aSchema;
+
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			Constructor<T> c = aClass.getDeclaredConstructor();
+			c.setAccessible(true);
+			constructor = lookup.unreflectConstructor(c).asType(MethodType.methodType(Object.class));
+
+			accessors = new Accessor[aSchema.size()];
+			for (int i = 0; i < aSchema.size(); i++) {
+				accessors[i] = createAccessor(lookup, aClass, aSchema.getKey(i));
+			}
+		} catch (NoSuchMethodException ex) {
+			throw new DataAccessServiceException("Not found default constructor.[" + aClass.getName() + "]", ex);
+		} catch (IllegalAccessException ex) {
+			throw new DataAccessServiceException(ex);
+		} catch (SecurityException ex) {
+			throw new DataAccessServiceException(ex);
+		}
+	}
+
+	/**
+	 * データをBeanへ変換する。
+	 * <p>
+	 * 同じスキーマの値を配列で保持しているデータは格納位置で、それ以外(キーの削除等でマップへ移したデータを含む)はキーで値を取得する。
+	 * </p>
+	 * 
+	 * @param data データ
+	 * @return Bean
+	 * @throws DataAccessServiceException Beanの生成または値の設定時に問題が発生した場合
+	 */
+	public T map(final Map<String, Object> data) throws DataAccessServiceException {
+		boolean slot = (data instanceof Row) && ((Row) data).getSchema() == schema && ((Row) data).isCompact();
+
+		Object bean = null;
+		try {
+			bean = constructor.invokeExact();
+		} catch (Throwable ex) {
+			throw new DataAccessServiceException("Bean create error.[" + clazz.getName() + "]", ex);
+		}
+
+		for (int i = 0; i < accessors.length; i++) {
+			Accessor accessor = accessors[i];
+			if (null != accessor) {
+				Object value = (slot) ? ((Row) data).getValue(i) : data.get(schema.getKey(i));
+				accessor.set(bean, value);
+			}
+		}
+		return clazz.cast(bean);
+	}
+
+	/**
+	 * キーに対応するアクセサーを作成する。
+	 * 
+	 * @param lookup ルックアップ
+	 * @param aClass Beanクラス
+	 * @param key キー
+	 * @return アクセサー。対応するプロパティが存在しない場合、<code>null</code>を返す。
+	 * @throws IllegalAccessException アクセスに失敗した場合
+	 */
+	private static Accessor createAccessor(final MethodHandles.Lookup lookup, final Class<?> aClass, final String key)
+			throws IllegalAccessException {
+		if (null == key || 0 == key.length()) {
+			return null;
+		}
+
+		MethodType type = MethodType.methodType(void.class, Object.class, Object.class);
+
+		String setter = "set" + Character.toUpperCase(key.charAt(0)) + key.substring(1);
+		for (Class<?> c = aClass; null != c && Object.class != c; c = c.getSuperclass()) {
+			for (Method method : c.getDeclaredMethods()) {
+				if (setter.equals(method.getName()) && 1 == method.getParameterTypes().length && !Modifier.isStatic(method.getModifiers())) {
+					method.setAccessible(true);
+					MethodHandle handle = lookup.unreflect(method);
+					return new Accessor(key, method.getParameterTypes()[0], handle.asType(type));
+				}
+			}
+		}
+
+		for (Class<?> c = aClass; null != c && Object.class != c; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (key.equals(field.getName()) && !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+					field.setAccessible(true);
+					MethodHandle handle = lookup.unreflectSetter(field);
+					return new Accessor(key, field.getType(), handle.asType(type));
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * このクラスは、Beanのプロパティへ値を設定するアクセサークラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Accessor {
+
+		/** キー */
+		private final String key;
+
+		/** プロパティの型(プリミティブ型はラッパー型) */
+		private final Class<?> type;
+
+		/** プリミティブ型の場合、<code>true</code> */
+		private final boolean primitive;
+
+		/** setter */
+		private final MethodHandle setter;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aKey キー
+		 * @param aType プロパティの型
+		 * @param aSetter setter
+		 */
+		public Accessor(final String aKey, final Class<?> aType, final MethodHandle aSetter) {
+			key = aKey;
+			primitive = aType.isPrimitive();
+			type = (primitive) ? MethodType.methodType(aType).wrap().returnType() : aType;
+			setter = aSetter;
+		}
+
+		/**
+		 * 値を設定する。
+		 * 
+		 * @param bean Bean
+		 * @param value 値
+		 * @throws DataAccessServiceException 値の設定時に問題が発生した場合
+		 */
+		public void set(final Object bean, final Object value) throws DataAccessServiceException {
+			if (null == value && primitive) {
+				return;
+			}
+			try {
+				setter.invokeExact(bean, convert(value));
+			} catch (DataAccessServiceException ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw new DataAccessServiceException("Property set error.[" + key + "]", ex);
+			}
+		}
+
+		/**
+		 * 値をプロパティの型へ変換する。
+		 * 
+		 * @param value 値
+		 * @return 変換後の値
+		 * @throws DataAccessServiceException 変換できない場合
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object convert(final Object value) throws DataAccessServiceException {
+			if (null == value || type.isInstance(value)) {
+				return value;
+			}
+
+			if (value instanceof Number) {
+				Number n = (Number) value;
+				if (Long.class == type || Integer.class == type || Short.class == type || Byte.class == type || BigInteger.class == type) {
+					return narrow(n);
+				} else if (Double.class == type) {
+					return Double.valueOf(n.doubleValue());
+				} else if (Float.class == type) {
+					return Float.valueOf(n.floatValue());
+				} else if (BigDecimal.class == type) {
+					return toBigDecimal(n);
+				} else if (Boolean.class == type) {
+					return Boolean.valueOf(0 != n.intValue());
+				}
+			} else if (value instanceof java.util.Date) {
+				long time = ((java.util.Date) value).getTime();
+				if (java.util.Date.class == type) {
+					return new java.util.Date(time);
+				} else if (java.sql.Timestamp.class == type) {
+					return new java.sql.Timestamp(time);
+				} else if (java.sql.Date.class == type) {
+					return new java.sql.Date(time);
+				} else if (Long.class == type) {
+					return Long.valueOf(time);
+				}
+			} else if (value instanceof String) {
+				String s = (String) value;
+				if (type.isEnum()) {
+					return Enum.valueOf((Class<? extends Enum>) type, s);
+				} else if (Boolean.class == type) {
+					return Boolean.valueOf("1".equals(s) || "true".equalsIgnoreCase(s));
+				} else if (Character.class == type && 0 < s.length()) {
+					return Character.valueOf(s.charAt(0));
+				}
+			}
+
+			if (String.class == type) {
+				return value.toString();
+			}
+
+			throw new DataAccessServiceException(String.format("Unsupported conversion.[%s : %s -> %s]", key, value.getClass().getName(), type.getName()));
+		}
+
+		/**
+		 * 数値を整数型へ変換する。
+		 * <p>
+		 * 小数部を持つ値、範囲外の値は切り捨てずにエラーとする。
+		 * </p>
+		 * 
+		 * @param value 値
+		 * @return 変換後の値
+		 * @throws DataAccessServiceException 変換できない場合
+		 */
+		private Object narrow(final Number value) throws DataAccessServiceException {
+			try {
+				if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+					long n = value.longValue();
+					if (Long.class == type) {
+						return Long.valueOf(n);
+					} else if (Integer.class == type && Integer.MIN_VALUE <= n && n <= Integer.MAX_VALUE) {
+						return Integer.valueOf((int) n);
+					} else if (Short.class == type && Short.MIN_VALUE <= n && n <= Short.MAX_VALUE) {
+						return Short.valueOf((short) n);
+					} else if (Byte.class == type && Byte.MIN_VALUE <= n && n <= Byte.MAX_VALUE) {
+						return Byte.valueOf((byte) n);
+					} else if (BigInteger.class == type) {
+						return BigInteger.valueOf(n);
+					}
+					throw new ArithmeticException("Overflow");
+				}
+
+				BigDecimal n = toBigDecimal(value);
+				if (Long.class == type) {
+					return Long.valueOf(n.longValueExact());
+				} else if (Integer.class == type) {
+					return Integer.valueOf(n.intValueExact());
+				} else if (Short.class == type) {
+					return Short.valueOf(n.shortValueExact());
+				} else if (Byte.class == type) {
+					return Byte.valueOf(n.byteValueExact());
+				} else {
+					return n.toBigIntegerExact();
+				}
+			} catch (ArithmeticException ex) {
+				throw new DataAccessServiceException(String.format("Numeric conversion error.[%s : %s -> %s]", key, value, type.getName()), ex);
+			}
+		}
+
+		/**
+		 * 数値を{@link BigDecimal}へ変換する。
+		 * 
+		 * @param value 値
+		 * @return 変換後の値
+		 * @throws DataAccessServiceException 変換できない場合
+		 */
+		private BigDecimal toBigDecimal(final Number value) throws DataAccessServiceException {
+			if (value instanceof BigDecimal) {
+				return (BigDecimal) value;
+			}
+			try {
+				return new BigDecimal(value.toString());
+			} catch (NumberFormatException ex) {
+				// NaN、Infinity
+				throw new DataAccessServiceException(String.format("Numeric conversion error.[%s : %s -> %s]", key, value, type.getName()), ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.azkfw.business.dao.export.DataExporter;
+
+/**
+ * このクラスは、結果セットから{@link ColumnarResult}を生成するクラスです。
+ * <p>
+ * 整数型、浮動小数点型のカラムは{@link ResultSet#getLong(int)}、{@link ResultSet#getDouble(int)}で直接配列へ格納する。<br/>
+ * 小数部を持つ(またはスケールが不明な){@link Types#NUMERIC}、{@link Types#DECIMAL}は、
+ * 近似値を許可した場合を除き{@link java.math.BigDecimal}のまま保持する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+final class ColumnarExporter implements DataExporter {
+
+	/** 初期容量 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** 小数を浮動小数点数で保持する場合、<code>true</code> */
+	private final boolean approximate;
+
+	/** カラム名 */
+	private String[] names;
+
+	/** 結果セットのカラム位置(1始まり) */
+	private int[] indexes;
+
+	/** カラムの型 */
+	private int[] types;
+
+	/** 整数型カラムの値 */
+	private long[][] longs;
+
+	/** 浮動小数点型カラムの値 */
+	private double[][] doubles;
+
+	/** オブジェクト型カラムの値 */
+	private Object[][] objects;
+
+	/** NULLのビットマップ */
+	private long[][] nulls;
+
+	/** 容量 */
+	private int capacity;
+
+	/** データ件数 */
+	private int rowCount;
+
+	/** 結果 */
+	private ColumnarResult result;
+
+	/**
+	 * コンストラクタ
+	 */
+	public ColumnarExporter() {
+		this(false);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aApproximate 小数部を持つ{@link Types#NUMERIC}、{@link Types#DECIMAL}を浮動小数点数で保持する場合、<code>true</code>
+	 */
+	public ColumnarExporter(final boolean aApproximate) {
+		approximate = aApproximate;
+	}
+
+	@Override
+	public void start(final List<String> aNames, final ResultSetMetaData md) throws SQLException, IOException {
+		List<String> list = new ArrayList<String>();
+		List<Integer> columns = new ArrayList<Integer>();
+		for (int i = 0; i < aNames.size(); i++) {
+			if (null != aNames.get(i)) {
+				list.add(aNames.get(i));
+				columns.add(Integer.valueOf(i + 1));
+			}
+		}
+
+		int size = list.size();
+		names = list.toArray(new String[size]);
+		indexes = new int[size];
+		types = new int[size];
+		longs = new long[size][];
+		doubles = new double[size][];
+		objects = new Object[size][];
+		nulls = new long[size][];
+		capacity = INITIAL_CAPACITY;
+		rowCount = 0;
+		for (int i = 0; i < size; i++) {
+			indexes[i] = columns.get(i).intValue();
+			types[i] = getType(md.getColumnType(indexes[i]), md.getPrecision(indexes[i]), md.getScale(indexes[i]));
+			switch (types[i]) {
+			case ColumnarResult.TYPE_LONG:
+				longs[i] = new long[capacity];
+				break;
+			case ColumnarResult.TYPE_DOUBLE:
+				doubles[i] = new double[capacity];
+				break;
+			default:
+				objects[i] = new Object[capacity];
+				break;
+			}
+			nulls[i] = new long[capacity >>> 6];
+		}
+	}
+
+	@Override
+	public void write(final ResultSet rs) throws SQLException, IOException {
+		if (rowCount == capacity) {
+			grow();
+		}
+
+		int row = rowCount;
+		for (int i = 0; i < indexes.length; i++) {
+			boolean isNull = false;
+			switch (types[i]) {
+			case ColumnarResult.TYPE_LONG:
+				longs[i][row] = rs.getLong(indexes[i]);
+				isNull = rs.wasNull();
+				break;
+			case ColumnarResult.TYPE_DOUBLE:
+				doubles[i][row] = rs.getDouble(indexes[i]);
+				isNull = rs.wasNull();
+				break;
+			default:
+				Object value = rs.getObject(indexes[i]);
+				objects[i][row] = value;
+				isNull = (null == value);
+				break;
+			}
+			if (isNull) {
+				nulls[i][row >>> 6] |= (1L << row);
+			}
+		}
+		rowCount++;
+	}
+
+	@Override
+	public void end() throws IOException {
+		result = new ColumnarResult(names, types, longs, doubles, objects, nulls, rowCount);
+	}
+
+	/**
+	 * 結果を取得する。
+	 * 
+	 * @return 結果
+	 */
+	public ColumnarResult getResult() {
+		return result;
+	}
+
+	/**
+	 * 容量を拡張する。
+	 */
+	private void grow() {
+		capacity = capacity * 2;
+		for (int i = 0; i < indexes.length; i++) {
+			if (null != longs[i]) {
+				longs[i] = Arrays.copyOf(longs[i], capacity);
+			}
+			if (null != doubles[i]) {
+				doubles[i] = Arrays.copyOf(doubles[i], capacity);
+			}
+			if (null != objects[i]) {
+				objects[i] = Arrays.copyOf(objects[i], capacity);
+			}
+			nulls[i] = Arrays.copyOf(nulls[i], capacity >>> 6);
+		}
+	}
+
+	/**
+	 * SQL型から保持する型を決定する。
+	 * <p>
+	 * 浮動小数点数で保持するのは{@link Types#REAL}、{@link Types#FLOAT}、{@link Types#DOUBLE}のみとする。<br/>
+	 * {@link Types#NUMERIC}、{@link Types#DECIMAL}は精度18桁以下の整数の場合のみ整数で保持し、
+	 * それ以外(小数部を持つ場合、精度<code>0</code>やスケール<code>-127</code>等の精度不明の場合)は近似値を許可した場合を除きオブジェクトで保持する。
+	 * </p>
+	 * 
+	 * @param type SQL型({@link Types})
+	 * @param precision 精度
+	 * @param scale スケール
+	 * @return 型
+	 */
+	private int getType(final int type, final int precision, final int scale) {
+		int result = ColumnarResult.TYPE_OBJECT;
+		switch (type) {
+		case Types.TINYINT:
+		case Types.SMALLINT:
+		case Types.INTEGER:
+		case Types.BIGINT:
+			result = ColumnarResult.TYPE_LONG;
+			break;
+		case Types.REAL:
+		case Types.FLOAT:
+		case Types.DOUBLE:
+			result = ColumnarResult.TYPE_DOUBLE;
+			break;
+		case Types.NUMERIC:
+		case Types.DECIMAL:
+			if (0 == scale && 0 < precision && precision <= 18) {
+				result = ColumnarResult.TYPE_LONG;
+			} else if (approximate) {
+				result = ColumnarResult.TYPE_DOUBLE;
+			}
+			break;
+		default:
+			break;
+		}
+		return result;
+	}
+}
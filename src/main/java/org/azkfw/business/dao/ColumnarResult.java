@@ -0,0 +1,324 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * このクラスは、取得データをカラム単位の配列で保持する列指向の結果クラスです。
+ * <p>
+ * 整数型のカラムは<code>long[]</code>、浮動小数点型及び小数部を持つ数値型のカラムは<code>double[]</code>で保持し、
+ * NULLはカラムごとのビットマップで表現する。その他の型のカラムは<code>Object[]</code>で保持する。<br/>
+ * 数値をボクシングせずに保持するため、配列を直接走査する集計処理ではオブジェクトを生成しない。
+ * </p>
+ * 
+ * <pre>
+ * ColumnarResult result = dao.queryColumnar();
+ * int column = result.indexOf(&quot;amount&quot;);
+ * double[] values = result.getDoubles(column);
+ * double total = 0;
+ * for (int row = 0; row &lt; result.getRowCount(); row++) {
+ * 	if (!result.isNull(column, row)) {
+ * 		total += values[row];
+ * 	}
+ * }
+ * </pre>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class ColumnarResult {
+
+	/** 型: オブジェクト */
+	public static final int TYPE_OBJECT = 0;
+
+	/** 型: 整数 */
+	public static final int TYPE_LONG = 1;
+
+	/** 型: 浮動小数点数 */
+	public static final int TYPE_DOUBLE = 2;
+
+	/** カラム名 */
+	private final String[] names;
+
+	/** カラムの型 */
+	private final int[] types;
+
+	/** 整数型カラムの値 */
+	private final long[][] longs;
+
+	/** 浮動小数点型カラムの値 */
+	private final double[][] doubles;
+
+	/** オブジェクト型カラムの値 */
+	private final Object[][] objects;
+
+	/** NULLのビットマップ */
+	private final long[][] nulls;
+
+	/** データ件数 */
+	private final int rowCount;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aNames カラム名
+	 * @param aTypes カラムの型
+	 * @param aLongs 整数型カラムの値
+	 * @param aDoubles 浮動小数点型カラムの値
+	 * @param aObjects オブジェクト型カラムの値
+	 * @param aNulls NULLのビットマップ
+	 * @param aRowCount データ件数
+	 */
+	ColumnarResult(final String[] aNames, final int[] aTypes, final long[][] aLongs, final double[][] aDoubles, final Object[][] aObjects,
+			final long[][] aNulls, final int aRowCount) {
+		names = aNames;
+		types = aTypes;
+		longs = aLongs;
+		doubles = aDoubles;
+		objects = aObjects;
+		nulls = aNulls;
+		rowCount = aRowCount;
+	}
+
+	/**
+	 * データ件数を取得する。
+	 * 
+	 * @return データ件数
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * カラム数を取得する。
+	 * 
+	 * @return カラム数
+	 */
+	public int getColumnCount() {
+		return names.length;
+	}
+
+	/**
+	 * カラム名を取得する。
+	 * 
+	 * @return カラム名
+	 */
+	public List<String> getNames() {
+		return Collections.unmodifiableList(Arrays.asList(names));
+	}
+
+	/**
+	 * カラム名からカラム位置を取得する。
+	 * 
+	 * @param name カラム名
+	 * @return カラム位置(0始まり)。存在しない場合、<code>-1</code>を返す。
+	 */
+	public int indexOf(final String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * カラムの型を取得する。
+	 * 
+	 * @param column カラム位置
+	 * @return 型({@link #TYPE_LONG}、{@link #TYPE_DOUBLE}、{@link #TYPE_OBJECT})
+	 */
+	public int getType(final int column) {
+		return types[column];
+	}
+
+	/**
+	 * 値がNULLか判定する。
+	 * 
+	 * @param column カラム位置
+	 * @param row データ位置
+	 * @return NULLの場合、<code>true</code>を返す。
+	 */
+	public boolean isNull(final int column, final int row) {
+		return 0 != (nulls[column][row >>> 6] & (1L << row));
+	}
+
+	/**
+	 * 整数型カラムの値を取得する。
+	 * 
+	 * @param column カラム位置
+	 * @param row データ位置
+	 * @return 値。NULLの場合、<code>0</code>を返す。
+	 */
+	public long getLong(final int column, final int row) {
+		if (TYPE_DOUBLE == types[column]) {
+			return (long) doubles[column][row];
+		}
+		return longs(column)[row];
+	}
+
+	/**
+	 * 浮動小数点型カラムの値を取得する。
+	 * 
+	 * @param column カラム位置
+	 * @param row データ位置
+	 * @return 値。NULLの場合、<code>0</code>を返す。
+	 */
+	public double getDouble(final int column, final int row) {
+		if (TYPE_LONG == types[column]) {
+			return longs[column][row];
+		}
+		return doubles(column)[row];
+	}
+
+	/**
+	 * 値を取得する。
+	 * <p>
+	 * 数値型カラムの場合はボクシングした値を返す。
+	 * </p>
+	 * 
+	 * @param column カラム位置
+	 * @param row データ位置
+	 * @return 値
+	 */
+	public Object getObject(final int column, final int row) {
+		if (row >= rowCount) {
+			throw new IndexOutOfBoundsException(String.format("Row: %d, Size: %d", row, rowCount));
+		}
+		if (isNull(column, row)) {
+			return null;
+		}
+		switch (types[column]) {
+		case TYPE_LONG:
+			return Long.valueOf(longs[column][row]);
+		case TYPE_DOUBLE:
+			return Double.valueOf(doubles[column][row]);
+		default:
+			return objects[column][row];
+		}
+	}
+
+	/**
+	 * 整数型カラムの値の配列を取得する。
+	 * <p>
+	 * 内部の配列を返すため、変更しないこと。配列長はデータ件数以上となる。
+	 * </p>
+	 * 
+	 * @param column カラム位置
+	 * @return 値の配列。NULLの要素は<code>0</code>となる。
+	 */
+	public long[] getLongs(final int column) {
+		return longs(column);
+	}
+
+	/**
+	 * 浮動小数点型カラムの値の配列を取得する。
+	 * <p>
+	 * 内部の配列を返すため、変更しないこと。配列長はデータ件数以上となる。
+	 * </p>
+	 * 
+	 * @param column カラム位置
+	 * @return 値の配列。NULLの要素は<code>0</code>となる。
+	 */
+	public double[] getDoubles(final int column) {
+		return doubles(column);
+	}
+
+	/**
+	 * NULLでない値の件数を取得する。
+	 * 
+	 * @param column カラム位置
+	 * @return 件数
+	 */
+	public int count(final int column) {
+		int count = rowCount;
+		long[] bitmap = nulls[column];
+		for (int i = 0; i < bitmap.length; i++) {
+			count -= Long.bitCount(bitmap[i]);
+		}
+		return count;
+	}
+
+	/**
+	 * 数値型カラムの合計を求める。
+	 * 
+	 * @param column カラム位置
+	 * @return 合計。NULLは除外する。
+	 */
+	public double sum(final int column) {
+		// NULLの要素は0のため、そのまま加算する
+		double sum = 0;
+		if (TYPE_LONG == types[column]) {
+			long[] values = longs[column];
+			for (int i = 0; i < rowCount; i++) {
+				sum += values[i];
+			}
+		} else {
+			double[] values = doubles(column);
+			for (int i = 0; i < rowCount; i++) {
+				sum += values[i];
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * 整数型カラムの合計を求める。
+	 * 
+	 * @param column カラム位置
+	 * @return 合計。NULLは除外する。
+	 */
+	public long sumLong(final int column) {
+		long sum = 0;
+		long[] values = longs(column);
+		for (int i = 0; i < rowCount; i++) {
+			sum += values[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * 整数型カラムの配列を取得する。
+	 * 
+	 * @param column カラム位置
+	 * @return 配列
+	 */
+	private long[] longs(final int column) {
+		if (TYPE_LONG != types[column]) {
+			throw new IllegalArgumentException(String.format("Not long column.[%s]", names[column]));
+		}
+		return longs[column];
+	}
+
+	/**
+	 * 浮動小数点型カラムの配列を取得する。
+	 * 
+	 * @param column カラム位置
+	 * @return 配列
+	 */
+	private double[] doubles(final int column) {
+		if (TYPE_DOUBLE != types[column]) {
+			throw new IllegalArgumentException(String.format("Not double column.[%s]", names[column]));
+		}
+		return doubles[column];
+	}
+}
@@ -19,11 +19,18 @@ package org.azkfw.business.dao;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
+import org.azkfw.business.dao.export.DataExporter;
 import org.azkfw.business.paging.Paging;
 
 /**
  * このインターフェースは、データアクセス機能を表現したインターフェースです。
+ * <p>
+ * 取得データのキーは、カラムラベル(<code>AS</code>で指定した別名)をキャメルケースに変換した値とする。
+ * 1.6.1より前はカラム名から生成していたため、MySQLなどカラム名とカラムラベルが異なるドライバでは、別名を付けたカラムのキーが変わる。<br/>
+ * 同じキーとなるカラムが複数存在する場合(<code>SELECT a.id, b.id</code>など)、最初のカラムの値を格納する。
+ * </p>
  * 
  * @since 1.0.0
  * @version 1.0.0 2013/02/14
@@ -31,6 +38,35 @@ import org.azkfw.business.paging.Paging;
  */
 public interface DataAccessObject {
 
+	/**
+	 * 一度に読み込むデータ件数のヒントを設定する。
+	 * 
+	 * @param size 件数。<code>0</code>以下の場合、ドライバのデフォルト値を使用する。
+	 */
+	public void setFetchSize(final int size);
+
+	/**
+	 * 一括更新時に一度に送信する件数を設定する。
+	 * 
+	 * @param size 件数。<code>0</code>以下の場合、全件を一度に送信する。
+	 */
+	public void setBatchSize(final int size);
+
+	/**
+	 * 取得データをメモリに保持する上限サイズを設定する。
+	 * <p>
+	 * 上限を超えたデータは一時ファイルへ退避し、{@link #query()}は{@link SpillableList}を返す。<br/>
+	 * 使用後は{@link SpillableList#close()}で一時ファイルを削除すること。
+	 * </p>
+	 * <p>
+	 * 一時ファイルへ退避したデータは取得のたびに新しく生成されるため、取得したデータを直接変更しても反映されない。<br/>
+	 * 値を変更する場合は{@link SpillableList#set(int, Map)}で書き戻すこと。
+	 * </p>
+	 * 
+	 * @param size 推定メモリ使用量(バイト)。<code>0</code>以下の場合、全データをメモリに保持する。
+	 */
+	public void setSpillThreshold(final long size);
+
 	/**
 	 * データに処理を実行する。
 	 * 
@@ -42,11 +78,19 @@ public interface DataAccessObject {
 	/**
 	 * データを更新する。
 	 * 
-	 * @return 更新件数
+	 * @return 更新件数。更新を遅延送信する場合、{@link java.sql.Statement#SUCCESS_NO_INFO}を返す。
 	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
 	 */
 	public int update() throws DataAccessServiceException;
 
+	/**
+	 * データを一括更新する。
+	 * 
+	 * @return 更新件数(パラメータごと)
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public int[] updateBatch() throws DataAccessServiceException;
+
 	/**
 	 * データの件数を取得する。
 	 * 
@@ -63,6 +107,15 @@ public interface DataAccessObject {
 	 */
 	public Map<String, Object> get() throws DataAccessServiceException;
 
+	/**
+	 * データをBeanとして取得する。
+	 * 
+	 * @param clazz Beanクラス
+	 * @return Bean。データが存在しない場合、<code>null</code>を返す。
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public <T> T get(final Class<T> clazz) throws DataAccessServiceException;
+
 	/**
 	 * データを取得する。
 	 * 
@@ -79,4 +132,175 @@ public interface DataAccessObject {
 	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
 	 */
 	public List<Map<String, Object>> query(final Paging paging) throws DataAccessServiceException;
+
+	/**
+	 * ページのデータと総件数を取得する。
+	 * <p>
+	 * 可能な場合、総件数はデータと同一のSQLで取得する。
+	 * </p>
+	 * 
+	 * @param paging ページング情報
+	 * @return 取得結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public PagedResult queryPage(final Paging paging) throws DataAccessServiceException;
+
+	/**
+	 * データをBeanとして取得する。
+	 * 
+	 * @param clazz Beanクラス
+	 * @return Beanリスト
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public <T> List<T> query(final Class<T> clazz) throws DataAccessServiceException;
+
+	/**
+	 * データをBeanとして取得する。
+	 * 
+	 * @param paging ページング情報
+	 * @param clazz Beanクラス
+	 * @return Beanリスト
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public <T> List<T> query(final Paging paging, final Class<T> clazz) throws DataAccessServiceException;
+
+	/**
+	 * データを1件ずつ処理する。
+	 * 
+	 * @param handler ハンドラー
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public void query(final RowHandler handler) throws DataAccessServiceException;
+
+	/**
+	 * データを1件ずつ処理する。
+	 * 
+	 * @param paging ページング情報
+	 * @param handler ハンドラー
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public void query(final Paging paging, final RowHandler handler) throws DataAccessServiceException;
+
+	/**
+	 * データを1件ずつ読み込むカーソルを取得する。
+	 * 
+	 * @return カーソル
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public DataCursor cursor() throws DataAccessServiceException;
+
+	/**
+	 * データを1件ずつ読み込むカーソルを取得する。
+	 * 
+	 * @param paging ページング情報
+	 * @return カーソル
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public DataCursor cursor(final Paging paging) throws DataAccessServiceException;
+
+	/**
+	 * データを出力する。
+	 * <p>
+	 * データを{@link Map}へ変換せず、1件ずつ出力する。
+	 * </p>
+	 * 
+	 * @param exporter 出力先
+	 * @return 出力件数
+	 * @throws DataAccessServiceException データへのアクセス時または出力時に問題が発生した場合
+	 */
+	public long export(final DataExporter exporter) throws DataAccessServiceException;
+
+	/**
+	 * データを出力する。
+	 * 
+	 * @param paging ページング情報
+	 * @param exporter 出力先
+	 * @return 出力件数
+	 * @throws DataAccessServiceException データへのアクセス時または出力時に問題が発生した場合
+	 * @see #export(DataExporter)
+	 */
+	public long export(final Paging paging, final DataExporter exporter) throws DataAccessServiceException;
+
+	/**
+	 * データを列指向の形式で取得する。
+	 * <p>
+	 * 整数型、浮動小数点型のカラムをボクシングせずにプリミティブ型の配列で保持する。<br/>
+	 * 小数部を持つ(または精度が不明な)NUMERIC、DECIMAL型のカラムは{@link java.math.BigDecimal}のまま保持する。
+	 * </p>
+	 * 
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public ColumnarResult queryColumnar() throws DataAccessServiceException;
+
+	/**
+	 * データを列指向の形式で取得する。
+	 * 
+	 * @param paging ページング情報
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 * @see #queryColumnar()
+	 */
+	public ColumnarResult queryColumnar(final Paging paging) throws DataAccessServiceException;
+
+	/**
+	 * データを列指向の形式で取得する。
+	 * <p>
+	 * <code>approximate</code>に<code>true</code>を指定した場合、小数部を持つ(または精度が不明な)NUMERIC、DECIMAL型のカラムも
+	 * 浮動小数点数で保持する。値は近似値となるため、金額等の厳密な値が必要なカラムには使用しないこと。
+	 * </p>
+	 * 
+	 * @param paging ページング情報
+	 * @param approximate 小数を浮動小数点数で保持する場合、<code>true</code>
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 * @see #queryColumnar()
+	 */
+	public ColumnarResult queryColumnar(final Paging paging, final boolean approximate) throws DataAccessServiceException;
+
+	/**
+	 * データを非同期で更新する。
+	 * <p>
+	 * コネクションプロバイダーが設定されている場合、プロバイダーから取得した別のコネクションで実行する。
+	 * この場合、更新は呼び出し元のトランザクションとは独立したトランザクションとなり、
+	 * 成功時にコミット、失敗時にロールバックする。呼び出し元のロールバックでは取り消されない。<br/>
+	 * 設定されていない場合、呼び出し元スレッドで呼び出し元のコネクションを使用して実行する。
+	 * </p>
+	 * 
+	 * @return 更新件数
+	 */
+	public Future<Integer> updateAsync();
+
+	/**
+	 * データの件数を非同期で取得する。
+	 * 
+	 * @return 件数
+	 * @see #updateAsync()
+	 */
+	public Future<Long> countAsync();
+
+	/**
+	 * データを非同期で取得する。
+	 * 
+	 * @return データ
+	 * @see #updateAsync()
+	 */
+	public Future<Map<String, Object>> getAsync();
+
+	/**
+	 * データを非同期で取得する。
+	 * 
+	 * @return データ
+	 * @see #updateAsync()
+	 */
+	public Future<List<Map<String, Object>>> queryAsync();
+
+	/**
+	 * データを非同期で取得する。
+	 * 
+	 * @param paging ページング情報
+	 * @return データ
+	 * @see #updateAsync()
+	 */
+	public Future<List<Map<String, Object>>> queryAsync(final Paging paging);
 }
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * このインターフェースは、取得データを1件ずつ読み込むカーソル機能を定義したインターフェースです。
+ * <p>
+ * 使用後は必ず{@link #close()}を呼び出してリソースを解放すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public interface DataCursor extends Closeable {
+
+	/**
+	 * 次のデータへ移動する。
+	 * 
+	 * @return 次のデータが存在する場合、<code>true</code>を返す。
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public boolean next() throws DataAccessServiceException;
+
+	/**
+	 * 現在のデータを取得する。
+	 * 
+	 * @return データ
+	 */
+	public Map<String, Object> get();
+
+	/**
+	 * カーソルを閉じる。
+	 */
+	@Override
+	public void close();
+}
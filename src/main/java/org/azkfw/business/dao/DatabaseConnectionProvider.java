@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このインターフェースは、コネクションを提供するためのインターフェースです。
+ * <p>
+ * 非同期実行などで、呼び出し元とは別のコネクションが必要な場合に使用する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public interface DatabaseConnectionProvider {
+
+	/**
+	 * コネクションを取得する。
+	 * 
+	 * @return コネクション
+	 * @throws DataAccessServiceException コネクションの取得に失敗した場合
+	 */
+	public DatabaseConnection acquire() throws DataAccessServiceException;
+
+	/**
+	 * コネクションを返却する。
+	 * 
+	 * @param connection コネクション
+	 */
+	public void release(final DatabaseConnection connection);
+}
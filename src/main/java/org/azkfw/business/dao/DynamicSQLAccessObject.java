@@ -17,15 +17,22 @@
  */
 package org.azkfw.business.dao;
 
+import java.io.IOException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
+import org.azkfw.business.dao.dialect.DialectUtility;
+import org.azkfw.business.dao.export.DataExporter;
+import org.azkfw.business.paging.KeysetPaging;
 import org.azkfw.business.paging.Paging;
 import org.azkfw.dsql.DynamicSQL;
 import org.azkfw.util.StringUtility;
@@ -39,11 +46,26 @@ import org.azkfw.util.StringUtility;
  */
 public class DynamicSQLAccessObject extends AbstractDatabaseAccessObject {
 
+	/**
+	 * 総件数のカラムラベル
+	 */
+	private static final String TOTAL_LABEL = "PAGED_TOTAL_";
+
+	/**
+	 * 一括取得時のキーのカラムラベル
+	 */
+	private static final String BATCH_KEY_LABEL = "BATCH_KEY_";
+
 	/**
 	 * DynamicSQL情報
 	 */
 	private DynamicSQL dsql;
 
+	/**
+	 * 一括更新用DynamicSQL情報
+	 */
+	private List<DynamicSQL> dsqls;
+
 	/**
 	 * コンストラクタ
 	 * 
@@ -52,6 +74,28 @@ public class DynamicSQLAccessObject extends AbstractDatabaseAccessObject {
 	public DynamicSQLAccessObject(final DynamicSQL dynamicSQL) {
 		super(DynamicSQLAccessObject.class);
 		dsql = dynamicSQL;
+		dsqls = new ArrayList<DynamicSQL>();
+		dsqls.add(dynamicSQL);
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 一括更新({@link #updateBatch()})用のデータアクセスオブジェクトを生成する。<br/>
+	 * 一括更新以外の処理は、先頭のDynamicSQL情報で実行する。
+	 * </p>
+	 * 
+	 * @param dynamicSQLs DynamicSQL情報リスト
+	 */
+	public DynamicSQLAccessObject(final List<DynamicSQL> dynamicSQLs) {
+		super(DynamicSQLAccessObject.class);
+		dsql = dynamicSQLs.get(0);
+		dsqls = new ArrayList<DynamicSQL>(dynamicSQLs);
+	}
+
+	@Override
+	protected AbstractDatabaseAccessObject newInstance() {
+		return new DynamicSQLAccessObject(dsqls);
 	}
 
 	@Override
@@ -60,20 +104,20 @@ public class DynamicSQLAccessObject extends AbstractDatabaseAccessObject {
 
 		PreparedStatement stat = null;
 		try {
-			stat = getConnection().getConnection().prepareStatement(dsql.getExecuteSQL());
-			List<Object> parameters = dsql.getParameters();
-			if (null != parameters) {
-				for (int i = 0; i < parameters.size(); i++) {
-					stat.setObject(i + 1, parameters.get(i));
-				}
-			}
+			Trace trace = new Trace(dsql.getName(), dsql.getExecuteSQL(), dsql.getParameters());
+			stat = prepare();
+			trace.prepared();
 
 			result = stat.execute();
+			trace.executed();
+			trace.record(0);
+
+			invalidate(dsql.getExecuteSQL());
 		} catch (SQLException ex) {
 			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
 			throw new DataAccessServiceException(ex);
 		} finally {
-			release(stat);
+			release(dsql.getExecuteSQL(), stat);
 		}
 
 		return result;
@@ -81,24 +125,91 @@ public class DynamicSQLAccessObject extends AbstractDatabaseAccessObject {
 
 	@Override
 	protected int doUpdate() throws DataAccessServiceException {
+		WriteBehindBuffer buffer = getWriteBehindBuffer();
+		if (null != buffer) {
+			// 更新件数は送信まで確定しない
+			invalidate(dsql.getExecuteSQL());
+			try {
+				buffer.add(getConnection(), dsql.getName(), dsql.getExecuteSQL(), dsql.getParameters());
+			} catch (SQLException ex) {
+				fatal(ex.getMessage(), ex);
+				throw new DataAccessServiceException(ex);
+			}
+			return Statement.SUCCESS_NO_INFO;
+		}
+
 		int result = -1;
 
 		PreparedStatement stat = null;
 		try {
-			stat = getConnection().getConnection().prepareStatement(dsql.getExecuteSQL());
-			List<Object> parameters = dsql.getParameters();
-			if (null != parameters) {
-				for (int i = 0; i < parameters.size(); i++) {
-					stat.setObject(i + 1, parameters.get(i));
-				}
-			}
+			Trace trace = new Trace(dsql.getName(), dsql.getExecuteSQL(), dsql.getParameters());
+			stat = prepare();
+			trace.prepared();
 
 			result = stat.executeUpdate();
+			trace.executed();
+			trace.record(result);
+
+			invalidate(dsql.getExecuteSQL());
 		} catch (SQLException ex) {
 			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
 			throw new DataAccessServiceException(ex);
 		} finally {
-			release(stat);
+			release(dsql.getExecuteSQL(), stat);
+		}
+
+		return result;
+	}
+
+	@Override
+	protected int[] doUpdateBatch() throws DataAccessServiceException {
+		int[] result = new int[dsqls.size()];
+
+		int index = 0;
+		while (index < dsqls.size()) {
+			// 同一SQLが連続する範囲をまとめて送信する
+			DynamicSQL target = dsqls.get(index);
+			String sql = target.getExecuteSQL();
+
+			PreparedStatement stat = null;
+			try {
+				Trace trace = new Trace(dsql.getName(), sql, null);
+				stat = prepare(sql);
+
+				int offset = index;
+				int count = 0;
+				int start = index;
+				while (index < dsqls.size() && sql.equals(dsqls.get(index).getExecuteSQL())) {
+					target = dsqls.get(index);
+					bind(stat, target.getParameters());
+					stat.addBatch();
+					index++;
+					count++;
+
+					if (0 < getBatchSize() && count >= getBatchSize()) {
+						trace.prepared();
+						int[] counts = stat.executeBatch();
+						trace.executed();
+						System.arraycopy(counts, 0, result, offset, counts.length);
+						offset = index;
+						count = 0;
+					}
+				}
+				if (0 < count) {
+					trace.prepared();
+					int[] counts = stat.executeBatch();
+					trace.executed();
+					System.arraycopy(counts, 0, result, offset, counts.length);
+				}
+				trace.record(sum(result, start, index));
+
+				invalidate(sql);
+			} catch (SQLException ex) {
+				fatal(String.format("%s : %s", target.getName(), sql), ex);
+				throw new DataAccessServiceException(ex);
+			} finally {
+				release(sql, stat);
+			}
 		}
 
 		return result;
@@ -106,72 +217,204 @@ public class DynamicSQLAccessObject extends AbstractDatabaseAccessObject {
 
 	@Override
 	protected long doCount() throws DataAccessServiceException {
+		if (isReadRouting()) {
+			return read(new AsyncCall<Long>() {
+				@Override
+				public Long call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+					return Long.valueOf(dao.count());
+				}
+			}).longValue();
+		}
+
+		long result = -1;
+
+		if (QueryCacheManager.isCacheable(dsql.getName())) {
+			List<Object> key = getCacheKey("count", null);
+			Long value = (Long) QueryCacheManager.get(key);
+			if (null != value) {
+				result = value.longValue();
+			} else {
+				result = coalesceCount();
+				QueryCacheManager.put(getJdbcConnection(), key, Long.valueOf(result));
+			}
+		} else {
+			result = coalesceCount();
+		}
+
+		return result;
+	}
+
+	@Override
+	protected Map<String, Object> doGet() throws DataAccessServiceException {
+		IdentityMap identityMap = getIdentityMap();
+		if (null != identityMap) {
+			// トランザクション内の更新を参照するため、参照用コネクションは使用しない
+			List<Object> key = getCacheKey("get", null);
+			if (identityMap.contains(key)) {
+				return identityMap.get(key);
+			}
+			Map<String, Object> result = loadGet();
+			identityMap.put(key, dsql.getExecuteSQL(), result);
+			return result;
+		}
+
+		if (isReadRouting()) {
+			return read(new AsyncCall<Map<String, Object>>() {
+				@Override
+				public Map<String, Object> call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+					return dao.get();
+				}
+			});
+		}
+
+		return loadGet();
+	}
+
+	/**
+	 * データを取得する。
+	 * <p>
+	 * 実行結果キャッシュの対象の場合、キャッシュから取得する。
+	 * </p>
+	 * 
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> loadGet() throws DataAccessServiceException {
+		Map<String, Object> result = null;
+
+		if (QueryCacheManager.isCacheable(dsql.getName())) {
+			List<Object> key = getCacheKey("get", null);
+			result = (Map<String, Object>) QueryCacheManager.get(key);
+			if (null == result) {
+				result = coalesceGet();
+				QueryCacheManager.put(getJdbcConnection(), key, result);
+			}
+		} else {
+			result = coalesceGet();
+		}
+
+		return result;
+	}
+
+	/**
+	 * データの件数を取得する。
+	 * <p>
+	 * 同時実行をまとめる対象の場合、実行中の同一クエリの結果を共有する。
+	 * </p>
+	 * 
+	 * @return 件数
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private long coalesceCount() throws DataAccessServiceException {
+		if (SingleFlightManager.isRegistered(dsql.getName())) {
+			Long value = SingleFlightManager.execute(getFlightKey("count", null), new Callable<Long>() {
+				@Override
+				public Long call() throws DataAccessServiceException {
+					return Long.valueOf(executeCount(dsql.getExecuteSQL(), dsql.getParameters()));
+				}
+			});
+			return value.longValue();
+		}
+		return executeCount(dsql.getExecuteSQL(), dsql.getParameters());
+	}
+
+	/**
+	 * データを取得する。
+	 * <p>
+	 * 同時実行をまとめる対象の場合、実行中の同一クエリの結果を共有する。
+	 * </p>
+	 * 
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private Map<String, Object> coalesceGet() throws DataAccessServiceException {
+		if (SingleFlightManager.isRegistered(dsql.getName())) {
+			return SingleFlightManager.execute(getFlightKey("get", null), new Callable<Map<String, Object>>() {
+				@Override
+				public Map<String, Object> call() throws DataAccessServiceException {
+					return executeGet();
+				}
+			});
+		}
+		return executeGet();
+	}
+
+	/**
+	 * データの件数を取得する。
+	 * 
+	 * @param sql SQL
+	 * @param parameters パラメータ
+	 * @return 件数
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private long executeCount(final String sql, final List<Object> parameters) throws DataAccessServiceException {
 		long result = -1;
 
 		PreparedStatement stat = null;
 		ResultSet rs = null;
 		try {
-			stat = getConnection().getConnection().prepareStatement(dsql.getExecuteSQL());
-			List<Object> parameters = dsql.getParameters();
-			if (null != parameters) {
-				for (int i = 0; i < parameters.size(); i++) {
-					stat.setObject(i + 1, parameters.get(i));
-				}
-			}
+			Trace trace = new Trace(dsql.getName(), sql, parameters);
+			stat = prepare(sql, parameters);
+			trace.prepared();
 
 			rs = stat.executeQuery();
+			trace.executed();
 
 			if (rs.next()) {
 				result = rs.getLong(1);
 			}
+			trace.fetched();
+			trace.record(1);
 		} catch (SQLException ex) {
-			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
+			fatal(String.format("%s : %s", dsql.getName(), sql), ex);
 			throw new DataAccessServiceException(ex);
 		} finally {
 			release(rs);
-			release(stat);
+			release(sql, stat);
 		}
 
 		return result;
 	}
 
-	@Override
-	protected Map<String, Object> doGet() throws DataAccessServiceException {
-		Map<String, Object> result = new HashMap<String, Object>();
+	/**
+	 * データを取得する。
+	 * 
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private Map<String, Object> executeGet() throws DataAccessServiceException {
+		Map<String, Object> result = null;
 
 		PreparedStatement stat = null;
 		ResultSet rs = null;
 		try {
-			stat = getConnection().getConnection().prepareStatement(dsql.getExecuteSQL());
-			List<Object> parameters = dsql.getParameters();
-			if (null != parameters) {
-				for (int i = 0; i < parameters.size(); i++) {
-					stat.setObject(i + 1, parameters.get(i));
-				}
-			}
+			Trace trace = new Trace(dsql.getName(), dsql.getExecuteSQL(), dsql.getParameters());
+			stat = prepare();
+			trace.prepared();
 
 			rs = stat.executeQuery();
 
-			ResultSetMetaData md = rs.getMetaData();
-			List<String> columns = new ArrayList<String>();
-			List<String> keys = new ArrayList<String>();
-			for (int i = 0; i < md.getColumnCount(); i++) {
-				String column = md.getColumnName(i + 1);
-				columns.add(column);
-				keys.add(StringUtility.toCamelcase(column));
-			}
+			RowSchema schema = RowSchemaCache.get(dsql.getName(), dsql.getExecuteSQL(), rs.getMetaData());
+			trace.executed();
 
+			Row row = new Row(schema);
 			if (rs.next()) {
-				for (int i = 0; i < columns.size(); i++) {
-					result.put(keys.get(i), rs.getObject(columns.get(i)));
+				for (int i = 0; i < schema.getColumnCount(); i++) {
+					row.setColumnValue(i, rs.getObject(i + 1));
 				}
+				result = row;
+			} else {
+				result = new HashMap<String, Object>();
 			}
+			trace.fetched();
+			trace.record(result.isEmpty() ? 0 : 1);
 		} catch (SQLException ex) {
 			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
 			throw new DataAccessServiceException(ex);
 		} finally {
 			release(rs);
-			release(stat);
+			release(dsql.getExecuteSQL(), stat);
 		}
 
 		return result;
@@ -184,75 +427,904 @@ public class DynamicSQLAccessObject extends AbstractDatabaseAccessObject {
 
 	@Override
 	protected List<Map<String, Object>> doQuery(final Paging paging) throws DataAccessServiceException {
-		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+		if (isReadRouting()) {
+			return read(new AsyncCall<List<Map<String, Object>>>() {
+				@Override
+				public List<Map<String, Object>> call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+					return dao.query(paging);
+				}
+			});
+		}
+
+		// 一時ファイルへ退避する結果は呼び出し元ごとに削除するため共有しない
+		if (0 >= getSpillThreshold() && SingleFlightManager.isRegistered(dsql.getName())) {
+			return SingleFlightManager.execute(getFlightKey("query", paging), new Callable<List<Map<String, Object>>>() {
+				@Override
+				public List<Map<String, Object>> call() throws DataAccessServiceException {
+					return executeQuery(paging);
+				}
+			});
+		}
+		return executeQuery(paging);
+	}
+
+	/**
+	 * データを取得する。
+	 * 
+	 * @param paging ページ情報
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private List<Map<String, Object>> executeQuery(final Paging paging) throws DataAccessServiceException {
+		final List<Map<String, Object>> result;
+		if (0 < getSpillThreshold()) {
+			result = new SpillableList(getSpillThreshold());
+		} else {
+			result = new ArrayList<Map<String, Object>>();
+		}
 
-		PreparedStatement stat = null;
-		ResultSet rs = null;
 		try {
-			stat = getConnection().getConnection().prepareStatement(dsql.getExecuteSQL());
-			List<Object> parameters = dsql.getParameters();
-			if (null != parameters) {
-				for (int i = 0; i < parameters.size(); i++) {
-					stat.setObject(i + 1, parameters.get(i));
+			doQuery(paging, new RowHandler() {
+				@Override
+				public boolean handle(final Map<String, Object> data) {
+					result.add(data);
+					return true;
 				}
-			}
+			});
+		} catch (DataAccessServiceException ex) {
+			result.clear();
+			throw ex;
+		} catch (IllegalStateException ex) {
+			// 一時ファイルへの書き込みエラー
+			result.clear();
+			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
+			throw new DataAccessServiceException(ex);
+		}
 
-			rs = stat.executeQuery();
+		if (result instanceof SpillableList && 0 < ((SpillableList) result).getPinnedCount()) {
+			warn(String.format("%s : %d rows kept on heap. Values are not serializable.", dsql.getName(),
+					((SpillableList) result).getPinnedCount()));
+		}
+		return result;
+	}
 
-			ResultSetMetaData md = rs.getMetaData();
-			List<String> columns = new ArrayList<String>();
-			List<String> keys = new ArrayList<String>();
-			for (int i = 0; i < md.getColumnCount(); i++) {
-				String column = md.getColumnName(i + 1);
-				columns.add(column);
-				keys.add(StringUtility.toCamelcase(column));
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void doQuery(final Paging paging, final RowHandler handler) throws DataAccessServiceException {
+		if (QueryCacheManager.isCacheable(dsql.getName())) {
+			List<Object> key = getCacheKey("query", paging);
+			List<Map<String, Object>> list = (List<Map<String, Object>>) QueryCacheManager.get(key);
+			if (null == list) {
+				list = new ArrayList<Map<String, Object>>();
+				DataCursor cursor = doCursor(paging);
+				try {
+					while (cursor.next()) {
+						list.add(cursor.get());
+					}
+				} finally {
+					cursor.close();
+				}
+				QueryCacheManager.put(getJdbcConnection(), key, list);
 			}
+			for (Map<String, Object> data : list) {
+				if (!handler.handle(data)) {
+					break;
+				}
+			}
+		} else {
+			handle(doCursor(paging), handler);
+		}
+	}
 
-			// TODO ページング対応
-			if (null != paging) {
-				if (StringUtility.isNotEmpty(paging.getKey())) {
-					if (StringUtility.isNotEmpty(paging.getSinceId())) {
-						throw new DataAccessServiceException("Unsupported since pageing.");
-					} else if (StringUtility.isNotEmpty(paging.getMaxId())) {
-						throw new DataAccessServiceException("Unsupported max pageing.");
-					} else {
-						throw new DataAccessServiceException("Unsupported pageing setting.");
-					}
-				} else {
-					long start = paging.getPage() * paging.getSize();
-					long end = (paging.getPage() + 1) * paging.getSize();
-					long count = 0;
-					while (rs.next()) {
-						if (count >= end) {
-							break;
-						} else if (count >= start) {
-							Map<String, Object> data = new HashMap<String, Object>();
-							for (int i = 0; i < columns.size(); i++) {
-								data.put(keys.get(i), rs.getObject(columns.get(i)));
-							}
-							result.add(data);
-						}
-						count++;
-					}
+	/**
+	 * カーソルのデータをハンドラへ1件ずつ渡す。
+	 * <p>
+	 * ハンドラが<code>false</code>を返した場合は以降のデータを読み込まない。カーソルは終了時に必ずクローズする。
+	 * </p>
+	 * 
+	 * @param cursor カーソル
+	 * @param handler ハンドラ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	static void handle(final DataCursor cursor, final RowHandler handler) throws DataAccessServiceException {
+		try {
+			while (cursor.next()) {
+				if (!handler.handle(cursor.get())) {
+					break;
 				}
-			} else {
-				while (rs.next()) {
-					Map<String, Object> data = new HashMap<String, Object>();
-					for (int i = 0; i < columns.size(); i++) {
-						data.put(keys.get(i), rs.getObject(columns.get(i)));
+			}
+		} finally {
+			cursor.close();
+		}
+	}
+
+	@Override
+	protected PagedResult doQueryPage(final Paging paging) throws DataAccessServiceException {
+		if (isReadRouting()) {
+			return read(new AsyncCall<PagedResult>() {
+				@Override
+				public PagedResult call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+					return dao.queryPage(paging);
+				}
+			});
+		}
+
+		List<Map<String, Object>> data = null;
+		long total = -1;
+
+		// 総件数をウィンドウ関数でデータと同時に取得する
+		String sql = null;
+		if (null != paging && null != getDialect() && getDialect().supportsWindowFunction() && !QueryCacheManager.isCacheable(dsql.getName())) {
+			sql = DialectUtility.appendSelectColumn(dsql.getExecuteSQL(), "COUNT(*) OVER() AS " + TOTAL_LABEL);
+		}
+
+		if (null != sql) {
+			data = new ArrayList<Map<String, Object>>();
+			DynamicSQLCursor cursor = openCursor(sql, paging, TOTAL_LABEL);
+			try {
+				while (cursor.next()) {
+					if (0 > total) {
+						total = cursor.getLong(TOTAL_LABEL);
 					}
-					result.add(data);
+					data.add(cursor.get());
 				}
+			} finally {
+				cursor.close();
+			}
+			if (0 > total && 0 == paging.getPage() && !StringUtility.isNotEmpty(paging.getKey())) {
+				total = 0;
+			}
+		} else {
+			data = doQuery(paging);
+		}
+
+		// 範囲外のページなど取得できなかった場合は、件数を取得する
+		if (0 > total) {
+			total = getTotal();
+		}
+
+		return new PagedResult(data, total, paging);
+	}
+
+	/**
+	 * キーの値のいずれかに一致するデータを取得する。
+	 * <p>
+	 * ダイナミックSQLを副問合せとし、<code>WHERE key IN (...)</code>で絞り込んで1回で取得する。<br/>
+	 * ステートメントを再利用できるよう、値の数は2の累乗に切り上げ、末尾の値を繰り返して埋める。<br/>
+	 * トランザクション内キャッシュが設定されていない場合、参照用コネクションを使用する。
+	 * </p>
+	 * 
+	 * @param key キーのカラム名
+	 * @param values キーの値リスト。{@link #getMaxInListSize()}以下であること。
+	 * @return キーの値とデータの組のリスト
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	List<Map.Entry<Object, Map<String, Object>>> queryIn(final String key, final List<Object> values) throws DataAccessServiceException {
+		if (!DialectUtility.isIdentifier(key)) {
+			throw new DataAccessServiceException("Illegal batch key.[" + key + "]");
+		}
+		if (null == getIdentityMap() && isReadRouting()) {
+			return read(new AsyncCall<List<Map.Entry<Object, Map<String, Object>>>>() {
+				@Override
+				public List<Map.Entry<Object, Map<String, Object>>> call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+					return ((DynamicSQLAccessObject) dao).queryIn(key, values);
+				}
+			});
+		}
+
+		List<Map.Entry<Object, Map<String, Object>>> result = new ArrayList<Map.Entry<Object, Map<String, Object>>>();
+		if (values.isEmpty()) {
+			return result;
+		}
+
+		int size = values.size();
+		if (1 < size) {
+			size = Math.min(Integer.highestOneBit(size - 1) << 1, Math.max(getMaxInListSize(), size));
+		}
+
+		List<Object> parameters = (null != dsql.getParameters()) ? new ArrayList<Object>(dsql.getParameters()) : new ArrayList<Object>();
+		StringBuilder s = new StringBuilder();
+		s.append("SELECT BATCH_.*, BATCH_.").append(key).append(" AS ").append(BATCH_KEY_LABEL);
+		s.append(" FROM (").append(DialectUtility.removeOrderBy(dsql.getExecuteSQL())).append(") BATCH_");
+		s.append(" WHERE BATCH_.").append(key).append(" IN (");
+		for (int i = 0; i < size; i++) {
+			s.append((0 == i) ? "?" : ", ?");
+			parameters.add(values.get(Math.min(i, values.size() - 1)));
+		}
+		s.append(")");
+
+		DynamicSQLCursor cursor = openCursor(s.toString(), parameters, null, BATCH_KEY_LABEL);
+		try {
+			while (cursor.next()) {
+				result.add(new AbstractMap.SimpleImmutableEntry<Object, Map<String, Object>>(cursor.getObject(BATCH_KEY_LABEL), cursor.get()));
 			}
+		} finally {
+			cursor.close();
+		}
+		return result;
+	}
+
+	/**
+	 * {@link #queryIn(String, List)}で1回に指定できるキーの値の最大数を取得する。
+	 * <p>
+	 * 方言の上限からダイナミックSQL自身のパラメータ数を除いた数を返す。
+	 * </p>
+	 * 
+	 * @return 最大数
+	 */
+	int getMaxInListSize() {
+		int size = (null != getDialect()) ? getDialect().getMaxInListSize() : DialectUtility.DEFAULT_MAX_IN_LIST_SIZE;
+		if (null != dsql.getParameters()) {
+			size -= dsql.getParameters().size();
+		}
+		return Math.max(size, 1);
+	}
+
+	/**
+	 * ページングを行わない場合の総件数を取得する。
+	 * 
+	 * @return 総件数
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private long getTotal() throws DataAccessServiceException {
+		long result = -1;
+
+		String sql = "SELECT COUNT(*) FROM (" + DialectUtility.removeOrderBy(dsql.getExecuteSQL()) + ") COUNT_";
+		if (QueryCacheManager.isCacheable(dsql.getName())) {
+			List<Object> key = getCacheKey("total", null);
+			Long value = (Long) QueryCacheManager.get(key);
+			if (null != value) {
+				result = value.longValue();
+			} else {
+				result = executeCount(sql, dsql.getParameters());
+				QueryCacheManager.put(getJdbcConnection(), key, Long.valueOf(result));
+			}
+		} else {
+			result = executeCount(sql, dsql.getParameters());
+		}
+
+		return result;
+	}
+
+	@Override
+	protected DataCursor doCursor(final Paging paging) throws DataAccessServiceException {
+		return openCursor(dsql.getExecuteSQL(), paging, null);
+	}
+
+	@Override
+	protected long doExport(final Paging paging, final DataExporter exporter) throws DataAccessServiceException {
+		long result = 0;
+
+		DynamicSQLCursor cursor = openCursor(dsql.getExecuteSQL(), paging, null);
+		try {
+			exporter.start(cursor.getNames(), cursor.getResultSet().getMetaData());
+			while (cursor.move()) {
+				exporter.write(cursor.getResultSet());
+				result++;
+			}
+			exporter.end();
 		} catch (SQLException ex) {
 			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
 			throw new DataAccessServiceException(ex);
+		} catch (IOException ex) {
+			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
+			throw new DataAccessServiceException(ex);
 		} finally {
+			cursor.close();
+		}
+
+		return result;
+	}
+
+	/**
+	 * データを1件ずつ読み込むカーソルを生成する。
+	 * 
+	 * @param baseSQL SQL
+	 * @param paging ページ情報
+	 * @param exclude データへ格納しないカラムのラベル
+	 * @return カーソル
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private DynamicSQLCursor openCursor(final String baseSQL, final Paging paging, final String exclude) throws DataAccessServiceException {
+		return openCursor(baseSQL, dsql.getParameters(), paging, exclude);
+	}
+
+	/**
+	 * データを1件ずつ読み込むカーソルを生成する。
+	 * 
+	 * @param baseSQL SQL
+	 * @param baseParameters パラメータリスト
+	 * @param paging ページ情報
+	 * @param exclude データへ格納しないカラムのラベル
+	 * @return カーソル
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private DynamicSQLCursor openCursor(final String baseSQL, final List<Object> baseParameters, final Paging paging, final String exclude)
+			throws DataAccessServiceException {
+		String sql = baseSQL;
+		List<Object> parameters = baseParameters;
+		String limitLabel = null;
+		long start = 0;
+		long end = Long.MAX_VALUE;
+		if (null != paging) {
+			parameters = (null != parameters) ? new ArrayList<Object>(parameters) : new ArrayList<Object>();
+			long offset = paging.getPage() * paging.getSize();
+			if (StringUtility.isNotEmpty(paging.getKey())) {
+				sql = getKeysetSQL(sql, paging, parameters);
+				offset = 0;
+			}
+			String limitSQL = null;
+			if (null != getDialect()) {
+				limitSQL = getDialect().getLimitSQL(sql, offset, paging.getSize(), parameters);
+			}
+			if (null != limitSQL) {
+				sql = limitSQL;
+				limitLabel = getDialect().getLimitColumnLabel();
+			} else {
+				start = offset;
+				end = offset + paging.getSize();
+			}
+		}
+
+		DynamicSQLCursor cursor = null;
+
+		PreparedStatement stat = null;
+		try {
+			Trace trace = new Trace(dsql.getName(), sql, parameters);
+			stat = prepare(sql, parameters);
+			trace.prepared();
+
+			cursor = openCursor(sql, stat, trace, start, end, exclude, limitLabel);
+		} catch (SQLException ex) {
+			fatal(String.format("%s : %s", dsql.getName(), sql), ex);
+			release(sql, stat);
+			throw new DataAccessServiceException(ex);
+		}
+
+		return cursor;
+	}
+
+	/**
+	 * フェッチサイズを設定してステートメントを実行し、結果を1件ずつ読み込むカーソルを生成する。
+	 * 
+	 * @param sql SQL
+	 * @param stat パラメータ設定済みのステートメント
+	 * @param trace 計測情報
+	 * @param start 開始位置
+	 * @param end 終了位置
+	 * @param exclude データへ格納しないカラムのラベル
+	 * @param limitLabel 件数制限用カラムのラベル
+	 * @return カーソル
+	 * @throws SQLException SQL実行中に問題が発生した場合
+	 */
+	DynamicSQLCursor openCursor(final String sql, final PreparedStatement stat, final Trace trace, final long start, final long end,
+			final String exclude, final String limitLabel) throws SQLException {
+		ResultSet rs = null;
+		try {
+			stat.setFetchSize(Math.max(getFetchSize(), 0));
+			rs = stat.executeQuery();
+
+			RowSchema schema = RowSchemaCache.get(trace.getName(), sql, rs.getMetaData(), exclude, limitLabel);
+			trace.executed();
+
+			return new DynamicSQLCursor(sql, stat, rs, schema, start, end, trace);
+		} catch (SQLException ex) {
 			release(rs);
-			release(stat);
+			throw ex;
+		}
+	}
+
+	/**
+	 * 実行結果キャッシュのキーを生成する。
+	 * 
+	 * @param type 処理種別
+	 * @param paging ページ情報
+	 * @return キー
+	 */
+	private List<Object> getCacheKey(final String type, final Paging paging) {
+		List<Object> key = new ArrayList<Object>();
+		key.add(dsql.getName());
+		key.add(type);
+		key.add(dsql.getExecuteSQL());
+		if (null != dsql.getParameters()) {
+			key.addAll(dsql.getParameters());
+		}
+		if (null != paging) {
+			key.add(Long.valueOf(paging.getPage()));
+			key.add(Long.valueOf(paging.getSize()));
+			key.add(paging.getKey());
+			key.add(paging.getSinceId());
+			key.add(paging.getMaxId());
+		}
+		return key;
+	}
+
+	/**
+	 * 同時実行をまとめるためのキーを生成する。
+	 * <p>
+	 * 異なるデータベースのクエリをまとめないよう、接続先URLを含める。
+	 * </p>
+	 * 
+	 * @param type 処理種別
+	 * @param paging ページ情報
+	 * @return キー
+	 * @throws DataAccessServiceException 接続先の取得時に問題が発生した場合
+	 */
+	private List<Object> getFlightKey(final String type, final Paging paging) throws DataAccessServiceException {
+		List<Object> key = getCacheKey(type, paging);
+		try {
+			key.add(getConnection().getConnection().getMetaData().getURL());
+		} catch (SQLException ex) {
+			fatal(String.format("%s : %s", dsql.getName(), dsql.getExecuteSQL()), ex);
+			throw new DataAccessServiceException(ex);
+		}
+		return key;
+	}
+
+	/**
+	 * JDBCのコネクションを取得する。
+	 * 
+	 * @return コネクション。設定されていない場合、<code>null</code>を返す。
+	 */
+	private Connection getJdbcConnection() {
+		return (null != getConnection()) ? getConnection().getConnection() : null;
+	}
+
+	/**
+	 * 更新SQLの対象テーブルに依存する実行結果キャッシュ及びトランザクション内キャッシュを破棄する。
+	 * <p>
+	 * 以降の参照で更新を参照するため、トランザクションの終了まで参照用コネクションへの振り分けを停止する。
+	 * </p>
+	 * 
+	 * @param sql 更新SQL
+	 */
+	private void invalidate(final String sql) {
+		if (null != getReadConnectionProvider()) {
+			ReadRoutingManager.written(getJdbcConnection());
+		}
+		if (QueryCacheManager.isEnabled()) {
+			QueryCacheManager.invalidateBySQL(getJdbcConnection(), sql);
+		}
+		if (null != getIdentityMap()) {
+			getIdentityMap().invalidate(sql);
 		}
+	}
+
+	/**
+	 * キー値を基準に取得範囲を限定したSQLを生成する。
+	 * 
+	 * @param sql SQL
+	 * @param paging ページ情報
+	 * @param parameters パラメータリスト
+	 * @return SQL
+	 * @throws DataAccessServiceException キーが識別子として不正な場合
+	 */
+	private String getKeysetSQL(final String sql, final Paging paging, final List<Object> parameters) throws DataAccessServiceException {
+		String key = paging.getKey();
+		if (!DialectUtility.isIdentifier(key)) {
+			throw new DataAccessServiceException("Illegal paging key.[" + key + "]");
+		}
+
+		Object sinceId = paging.getSinceId();
+		Object maxId = paging.getMaxId();
+		if (paging instanceof KeysetPaging) {
+			sinceId = ((KeysetPaging) paging).getSinceIdValue();
+			maxId = ((KeysetPaging) paging).getMaxIdValue();
+		}
+
+		StringBuilder s = new StringBuilder();
+		s.append("SELECT * FROM (").append(DialectUtility.removeOrderBy(sql)).append(") KEYSET_");
+		if (null != sinceId) {
+			s.append(" WHERE KEYSET_.").append(key).append(" > ?");
+			parameters.add(sinceId);
+			if (null != maxId) {
+				s.append(" AND KEYSET_.").append(key).append(" < ?");
+				parameters.add(maxId);
+			}
+			s.append(" ORDER BY KEYSET_.").append(key).append(" ASC");
+		} else if (null != maxId) {
+			s.append(" WHERE KEYSET_.").append(key).append(" < ?");
+			parameters.add(maxId);
+			s.append(" ORDER BY KEYSET_.").append(key).append(" DESC");
+		} else {
+			s.append(" ORDER BY KEYSET_.").append(key).append(" ASC");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * ステートメントを生成し、パラメータを設定する。
+	 * 
+	 * @return ステートメント
+	 * @throws SQLException SQL実行中に問題が発生した場合
+	 */
+	private PreparedStatement prepare() throws SQLException {
+		return prepare(dsql.getExecuteSQL(), dsql.getParameters());
+	}
+
+	/**
+	 * ステートメントを生成し、パラメータを設定する。
+	 * 
+	 * @param sql SQL
+	 * @param parameters パラメータ
+	 * @return ステートメント
+	 * @throws SQLException SQL実行中に問題が発生した場合
+	 */
+	private PreparedStatement prepare(final String sql, final List<Object> parameters) throws SQLException {
+		PreparedStatement stat = prepare(sql);
+		try {
+			bind(stat, parameters);
+		} catch (SQLException ex) {
+			release(sql, stat);
+			throw ex;
+		}
+		return stat;
+	}
 
+	/**
+	 * ステートメントを生成する。
+	 * <p>
+	 * ステートメントキャッシュを使用している場合、キャッシュから取得する。<br/>
+	 * 更新の遅延送信用バッファを使用している場合、SQLが参照する可能性のある未送信の更新を先に送信する。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @return ステートメント
+	 * @throws SQLException SQL実行中に問題が発生した場合
+	 */
+	private PreparedStatement prepare(final String sql) throws SQLException {
+		WriteBehindBuffer buffer = getWriteBehindBuffer();
+		if (null != buffer) {
+			buffer.flushBefore(getConnection(), sql);
+		}
+
+		StatementCache cache = StatementCacheManager.get(getConnection());
+		PreparedStatement stat = null;
+		if (null != cache) {
+			stat = cache.prepare(sql);
+		} else {
+			stat = getConnection().getConnection().prepareStatement(sql);
+		}
+		return stat;
+	}
+
+	/**
+	 * ステートメントへパラメータを設定する。
+	 * 
+	 * @param stat ステートメント
+	 * @param parameters パラメータ
+	 * @throws SQLException SQL実行中に問題が発生した場合
+	 */
+	private void bind(final PreparedStatement stat, final List<Object> parameters) throws SQLException {
+		if (null != parameters) {
+			for (int i = 0; i < parameters.size(); i++) {
+				ParameterBinder.bind(stat, i + 1, parameters.get(i));
+			}
+		}
+	}
+
+	/**
+	 * ステートメントを解放する。
+	 * <p>
+	 * ステートメントキャッシュを使用している場合、キャッシュへ戻す。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @param stat ステートメント
+	 */
+	private void release(final String sql, final PreparedStatement stat) {
+		if (null != stat) {
+			StatementCache cache = StatementCacheManager.get(getConnection());
+			if (null != cache) {
+				cache.release(sql, stat);
+			} else {
+				release(stat);
+			}
+		}
+	}
+
+	/**
+	 * 更新件数を合計する。
+	 * 
+	 * @param counts 更新件数
+	 * @param start 開始位置
+	 * @param end 終了位置
+	 * @return 合計件数。件数が不明な要素は含めない。
+	 */
+	private static long sum(final int[] counts, final int start, final int end) {
+		long result = 0;
+		for (int i = start; i < end; i++) {
+			if (0 < counts[i]) {
+				result += counts[i];
+			}
+		}
 		return result;
 	}
 
+	/**
+	 * このクラスは、SQLの処理時間を段階ごとに計測するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	static final class Trace {
+
+		/** ダイナミックSQL名 */
+		private final String name;
+
+		/** SQL */
+		private final String sql;
+
+		/** パラメータ */
+		private final List<Object> parameters;
+
+		/** 計測開始時刻 */
+		private long time;
+
+		/** 準備時間 */
+		private long prepare;
+
+		/** 実行時間 */
+		private long execute;
+
+		/** 読み込み時間 */
+		private long fetch;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aName ダイナミックSQL名
+		 * @param aSql SQL
+		 * @param aParameters パラメータ
+		 */
+		public Trace(final String aName, final String aSql, final List<Object> aParameters) {
+			name = aName;
+			sql = aSql;
+			parameters = aParameters;
+			time = System.nanoTime();
+		}
+
+		/**
+		 * ダイナミックSQL名を取得する。
+		 * 
+		 * @return ダイナミックSQL名
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * 計測開始時刻を現在時刻にする。
+		 */
+		public void mark() {
+			time = System.nanoTime();
+		}
+
+		/**
+		 * 前回の計測からの経過時間を準備時間に加算する。
+		 */
+		public void prepared() {
+			long now = System.nanoTime();
+			prepare += now - time;
+			time = now;
+		}
+
+		/**
+		 * 前回の計測からの経過時間を実行時間に加算する。
+		 */
+		public void executed() {
+			long now = System.nanoTime();
+			execute += now - time;
+			time = now;
+		}
+
+		/**
+		 * 前回の計測からの経過時間を読み込み時間に加算する。
+		 */
+		public void fetched() {
+			long now = System.nanoTime();
+			fetch += now - time;
+			time = now;
+		}
+
+		/**
+		 * 計測結果を記録する。
+		 * 
+		 * @param rows 処理件数
+		 */
+		public void record(final long rows) {
+			QueryStatisticsManager.record(name, sql, parameters, prepare, execute, fetch, rows);
+		}
+	}
+
+	/**
+	 * このクラスは、ダイナミックSQLの実行結果を1件ずつ読み込むカーソルクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	class DynamicSQLCursor implements DataCursor {
+
+		/** SQL */
+		private String sql;
+
+		/** ステートメント */
+		private PreparedStatement stat;
+
+		/** 結果セット */
+		private ResultSet rs;
+
+		/** スキーマ */
+		private RowSchema schema;
+
+		/** 開始位置 */
+		private long start;
+
+		/** 終了位置 */
+		private long end;
+
+		/** 読み込み位置 */
+		private long count;
+
+		/** 現在のデータ */
+		private Map<String, Object> data;
+
+		/** 読み込み件数 */
+		private long rows;
+
+		/** 計測情報 */
+		private Trace trace;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aSql SQL
+		 * @param aStat ステートメント
+		 * @param aResultSet 結果セット
+		 * @param aSchema スキーマ
+		 * @param aStart 開始位置
+		 * @param aEnd 終了位置
+		 * @param aTrace 計測情報
+		 */
+		public DynamicSQLCursor(final String aSql, final PreparedStatement aStat, final ResultSet aResultSet, final RowSchema aSchema,
+				final long aStart, final long aEnd, final Trace aTrace) {
+			sql = aSql;
+			stat = aStat;
+			rs = aResultSet;
+			schema = aSchema;
+			start = aStart;
+			end = aEnd;
+			count = 0;
+			data = null;
+			rows = 0;
+			trace = aTrace;
+		}
+
+		@Override
+		public boolean next() throws DataAccessServiceException {
+			data = null;
+			if (move()) {
+				try {
+					Row row = new Row(schema);
+					for (int i = 0; i < schema.getColumnCount(); i++) {
+						row.setColumnValue(i, rs.getObject(i + 1));
+					}
+					data = row;
+				} catch (SQLException ex) {
+					fatal(String.format("%s : %s", trace.getName(), sql), ex);
+					close();
+					throw new DataAccessServiceException(ex);
+				}
+			}
+			return (null != data);
+		}
+
+		/**
+		 * 次の行へ移動する。
+		 * <p>
+		 * 行のデータは読み込まない。
+		 * </p>
+		 * 
+		 * @return 次の行が存在する場合、<code>true</code>を返す。
+		 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+		 */
+		public boolean move() throws DataAccessServiceException {
+			if (null == rs) {
+				return false;
+			}
+			boolean result = false;
+			try {
+				trace.mark();
+				while (count < end && rs.next()) {
+					count++;
+					if (count > start) {
+						rows++;
+						result = true;
+						break;
+					}
+				}
+				trace.fetched();
+			} catch (SQLException ex) {
+				fatal(String.format("%s : %s", trace.getName(), sql), ex);
+				close();
+				throw new DataAccessServiceException(ex);
+			}
+			return result;
+		}
+
+		/**
+		 * 結果セットを取得する。
+		 * 
+		 * @return 結果セット
+		 */
+		public ResultSet getResultSet() {
+			return rs;
+		}
+
+		/**
+		 * カラムごとのキーを取得する。
+		 * 
+		 * @return キーリスト。データへ格納しないカラムは<code>null</code>
+		 */
+		public List<String> getNames() {
+			List<String> names = new ArrayList<String>(schema.getColumnCount());
+			for (int i = 0; i < schema.getColumnCount(); i++) {
+				int slot = schema.getSlot(i);
+				names.add((0 <= slot) ? schema.getKey(slot) : null);
+			}
+			return names;
+		}
+
+		@Override
+		public Map<String, Object> get() {
+			return data;
+		}
+
+		/**
+		 * 現在の行のカラムの値を取得する。
+		 * 
+		 * @param label カラムラベル
+		 * @return 値
+		 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+		 */
+		public long getLong(final String label) throws DataAccessServiceException {
+			try {
+				return rs.getLong(label);
+			} catch (SQLException ex) {
+				fatal(String.format("%s : %s", trace.getName(), sql), ex);
+				close();
+				throw new DataAccessServiceException(ex);
+			}
+		}
+
+		/**
+		 * 現在の行のカラムの値を取得する。
+		 * 
+		 * @param label カラムラベル
+		 * @return 値
+		 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+		 */
+		public Object getObject(final String label) throws DataAccessServiceException {
+			try {
+				return rs.getObject(label);
+			} catch (SQLException ex) {
+				fatal(String.format("%s : %s", trace.getName(), sql), ex);
+				close();
+				throw new DataAccessServiceException(ex);
+			}
+		}
+
+		@Override
+		public void close() {
+			if (null != rs) {
+				trace.record(rows);
+			}
+			release(rs);
+			release(sql, stat);
+			rs = null;
+			stat = null;
+		}
+	}
 }
@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.azkfw.business.manager.AbstractManager;
+import org.azkfw.dsql.DynamicSQL;
+import org.azkfw.dsql.DynamicSQLManager;
+import org.azkfw.dsql.Group;
+import org.azkfw.dsql.Parameter;
+
+/**
+ * このクラスは、生成したダイナミックSQLのキャッシュを管理するマネージャークラスです。
+ * <p>
+ * パラメータを指定しない生成結果はダイナミックSQL名とグループで一意に決まるため、
+ * 生成結果をキャッシュしテンプレートの解析を省略する。<br/>
+ * パラメータを指定した生成はキャッシュしない。{@link DynamicSQLManager}はテンプレートの解析とパラメータの適用を分けて呼び出せず、
+ * 生成結果もパラメータの値によって変わるため、毎回{@link DynamicSQLManager#generate(String, Group, Parameter)}を呼び出す。<br/>
+ * 最大件数に<code>1</code>以上を設定した場合にキャッシュを使用する(デフォルトは未使用)。
+ * ダイナミックSQLの定義を再読み込みした場合は{@link #clear()}を呼び出すこと。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class DynamicSQLCacheManager extends AbstractManager {
+
+	/**
+	 * Instance
+	 */
+	private static final DynamicSQLCacheManager INSTANCE = new DynamicSQLCacheManager();
+
+	/**
+	 * 最大キャッシュ件数
+	 */
+	private int maxSize;
+
+	/**
+	 * キャッシュ情報
+	 */
+	private final Map<List<Object>, DynamicSQL> cache;
+
+	/**
+	 * ヒット数
+	 */
+	private long hitCount;
+
+	/**
+	 * ミス数
+	 */
+	private long missCount;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private DynamicSQLCacheManager() {
+		super(DynamicSQLCacheManager.class);
+		maxSize = 0;
+		cache = new LinkedHashMap<List<Object>, DynamicSQL>(16, 0.75f, true) {
+			/** serialVersionUID */
+			private static final long serialVersionUID = -5204637408413376124L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<List<Object>, DynamicSQL> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * 最大キャッシュ件数を設定する。
+	 * 
+	 * @param size 最大件数。<code>0</code>以下の場合、キャッシュを使用しない。
+	 */
+	public static void setMaxSize(final int size) {
+		synchronized (INSTANCE) {
+			INSTANCE.maxSize = size;
+			INSTANCE.cache.clear();
+		}
+	}
+
+	/**
+	 * ダイナミックSQLを生成する。
+	 * <p>
+	 * パラメータを指定しない場合、キャッシュした生成結果を返す。
+	 * </p>
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @param group グループ
+	 * @param parameter パラメータ
+	 * @return ダイナミックSQL。存在しない場合、<code>null</code>を返す。
+	 */
+	public static DynamicSQL generate(final String name, final Group group, final Parameter parameter) {
+		return INSTANCE.doGenerate(name, group, parameter);
+	}
+
+	/**
+	 * キャッシュを全て破棄する。
+	 */
+	public static void clear() {
+		synchronized (INSTANCE) {
+			INSTANCE.cache.clear();
+		}
+	}
+
+	/**
+	 * ヒット数を取得する。
+	 * 
+	 * @return ヒット数
+	 */
+	public static long getHitCount() {
+		synchronized (INSTANCE) {
+			return INSTANCE.hitCount;
+		}
+	}
+
+	/**
+	 * ミス数を取得する。
+	 * 
+	 * @return ミス数
+	 */
+	public static long getMissCount() {
+		synchronized (INSTANCE) {
+			return INSTANCE.missCount;
+		}
+	}
+
+	/**
+	 * ダイナミックSQLを生成する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @param group グループ
+	 * @param parameter パラメータ
+	 * @return ダイナミックSQL
+	 */
+	private DynamicSQL doGenerate(final String name, final Group group, final Parameter parameter) {
+		List<Object> key = null;
+		synchronized (this) {
+			if (null == parameter && 0 < maxSize) {
+				key = Arrays.<Object> asList(name, group);
+				DynamicSQL dsql = cache.get(key);
+				if (null != dsql) {
+					hitCount++;
+					return dsql;
+				}
+				missCount++;
+			}
+		}
+
+		DynamicSQL dsql = DynamicSQLManager.generate(name, group, parameter);
+		if (null != key && null != dsql) {
+			synchronized (this) {
+				if (0 < maxSize) {
+					cache.put(key, dsql);
+				}
+			}
+		}
+		return dsql;
+	}
+}
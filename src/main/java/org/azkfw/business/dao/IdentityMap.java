@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * このクラスは、トランザクション内の1件取得結果を保持するキャッシュクラスです。
+ * <p>
+ * 同一のダイナミックSQL名、SQL及びパラメータでの1件取得をメモリから応答する。<br/>
+ * 同じキャッシュを設定したデータアクセスオブジェクトで更新した場合、更新対象テーブルを参照する結果を破棄する。
+ * 参照テーブルまたは更新対象テーブルが判定できない場合は全ての結果を破棄する。<br/>
+ * コミット及びロールバック時に{@link #clear()}で破棄すること。
+ * </p>
+ * <p>
+ * このクラスはスレッドセーフではありません。1つのトランザクション(ロジック)内で使用すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class IdentityMap {
+
+	/** 別名(SQLのキーワードを除く) */
+	private static final String ALIAS = "(?:\\s+(?:AS\\s+)?(?!(?:JOIN|INNER|LEFT|RIGHT|FULL|CROSS|OUTER|NATURAL|STRAIGHT_JOIN|ON|USING|WHERE|GROUP|ORDER|HAVING"
+			+ "|UNION|INTERSECT|EXCEPT|MINUS|LIMIT|OFFSET|FETCH|FOR|WINDOW|START|CONNECT|APPLY|LATERAL|PIVOT|UNPIVOT|SAMPLE|TABLESAMPLE|PARTITION"
+			+ "|QUALIFY|WITH|RETURNING)\\b)\\w+)?";
+
+	/** 参照テーブル抽出パターン */
+	private static final Pattern PTN_QUERY_TABLE = Pattern.compile("\\b(?:FROM|JOIN)\\s+([\\w.\"`\\[\\]$]+)" + ALIAS + "((?:\\s*,\\s*[\\w.\"`\\[\\]$]+"
+			+ ALIAS + ")*)", Pattern.CASE_INSENSITIVE);
+
+	/** テーブルを指定するキーワード抽出パターン */
+	private static final Pattern PTN_TABLE_KEYWORD = Pattern.compile("\\b(?:FROM|JOIN|APPLY)\\b", Pattern.CASE_INSENSITIVE);
+
+	/** 取得結果 */
+	private final Map<List<Object>, Entry> entries;
+
+	/** ヒット数 */
+	private long hitCount;
+
+	/** ミス数 */
+	private long missCount;
+
+	/**
+	 * コンストラクタ
+	 */
+	public IdentityMap() {
+		entries = new HashMap<List<Object>, Entry>();
+		hitCount = 0;
+		missCount = 0;
+	}
+
+	/**
+	 * 取得結果を保持しているか判定する。
+	 * 
+	 * @param key キー
+	 * @return 保持している場合、<code>true</code>を返す。
+	 */
+	public boolean contains(final List<Object> key) {
+		boolean result = entries.containsKey(key);
+		if (result) {
+			hitCount++;
+		} else {
+			missCount++;
+		}
+		return result;
+	}
+
+	/**
+	 * 取得結果を取得する。
+	 * <p>
+	 * 呼び出し元での変更が影響しないよう、複製を返す。
+	 * </p>
+	 * 
+	 * @param key キー
+	 * @return 取得結果。データが存在しなかった場合、<code>null</code>を返す。
+	 */
+	public Map<String, Object> get(final List<Object> key) {
+		Entry entry = entries.get(key);
+		return (null != entry) ? copy(entry.data) : null;
+	}
+
+	/**
+	 * 取得結果を登録する。
+	 * 
+	 * @param key キー
+	 * @param sql 取得SQL
+	 * @param data 取得結果。データが存在しなかった場合、<code>null</code>
+	 */
+	public void put(final List<Object> key, final String sql, final Map<String, Object> data) {
+		entries.put(key, new Entry(getQueryTables(sql), copy(data)));
+	}
+
+	/**
+	 * 更新SQLの対象テーブルを参照する取得結果を破棄する。
+	 * 
+	 * @param sql 更新SQL
+	 */
+	public void invalidate(final String sql) {
+		String table = QueryCacheManager.getUpdateTable(sql);
+		if (null == table) {
+			entries.clear();
+			return;
+		}
+		Iterator<Entry> it = entries.values().iterator();
+		while (it.hasNext()) {
+			Set<String> tables = it.next().tables;
+			if (tables.isEmpty() || tables.contains(table)) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * 全ての取得結果を破棄する。
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * 保持している取得結果の件数を取得する。
+	 * 
+	 * @return 件数
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * ヒット数を取得する。
+	 * 
+	 * @return ヒット数
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * ミス数を取得する。
+	 * 
+	 * @return ミス数
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * 取得SQLの参照テーブル名を取得する。
+	 * <p>
+	 * FROM句、JOIN句の全てのテーブルを判定できた場合のみテーブル名を返す。<br/>
+	 * テーブル関数やAPPLY句等、判定できない参照を含む場合は空のセットを返す。副問い合わせは内側のFROM句から判定する。
+	 * </p>
+	 * 
+	 * @param sql 取得SQL
+	 * @return テーブル名(大文字)。判定できない場合、空のセットを返す。
+	 */
+	static Set<String> getQueryTables(final String sql) {
+		Set<String> tables = new HashSet<String>();
+		if (null != sql) {
+			Matcher k = PTN_TABLE_KEYWORD.matcher(sql);
+			Matcher m = PTN_QUERY_TABLE.matcher(sql);
+			m.useTransparentBounds(true);
+			while (k.find()) {
+				if ('(' == nextChar(sql, k.end())) {
+					// 副問い合わせ
+					continue;
+				}
+				m.region(k.start(), sql.length());
+				if (!m.lookingAt() || !isDelimiter(sql, m.end(1)) || '(' == nextChar(sql, m.end())) {
+					return Collections.emptySet();
+				}
+				tables.add(QueryCacheManager.normalize(m.group(1)));
+				String others = m.group(2);
+				if (null != others && 0 < others.length()) {
+					for (String other : others.split(",")) {
+						String s = other.trim();
+						if (0 < s.length()) {
+							tables.add(QueryCacheManager.normalize(s.split("\\s+")[0]));
+						}
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableSet(tables);
+	}
+
+	/**
+	 * テーブル名の終端か判断する。
+	 * 
+	 * @param s 文字列
+	 * @param index 位置
+	 * @return 終端の場合、<code>true</code>を返す。
+	 */
+	private static boolean isDelimiter(final String s, final int index) {
+		if (index >= s.length()) {
+			return true;
+		}
+		char c = s.charAt(index);
+		return Character.isWhitespace(c) || ',' == c || ')' == c || ';' == c;
+	}
+
+	/**
+	 * 空白を除いた次の文字を取得する。
+	 * 
+	 * @param s 文字列
+	 * @param index 開始位置
+	 * @return 文字。存在しない場合、<code>0</code>を返す。
+	 */
+	private static char nextChar(final String s, final int index) {
+		for (int i = index; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (!Character.isWhitespace(c)) {
+				return c;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * 取得結果を複製する。
+	 * 
+	 * @param data 取得結果
+	 * @return 複製
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> copy(final Map<String, Object> data) {
+		return (null != data) ? (Map<String, Object>) QueryCacheManager.copy(data) : null;
+	}
+
+	/**
+	 * このクラスは、取得結果を保持するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Entry {
+
+		/** 参照テーブル */
+		private final Set<String> tables;
+
+		/** 取得結果 */
+		private final Map<String, Object> data;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aTables 参照テーブル
+		 * @param aData 取得結果
+		 */
+		private Entry(final Set<String> aTables, final Map<String, Object> aData) {
+			tables = aTables;
+			data = aData;
+		}
+	}
+}
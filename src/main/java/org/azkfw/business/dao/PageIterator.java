@@ -0,0 +1,308 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.azkfw.business.paging.KeysetPaging;
+import org.azkfw.business.paging.PagePaging;
+import org.azkfw.business.paging.Paging;
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、データをページ単位で先読みしながら走査するクラスです。
+ * <p>
+ * 呼び出し元が現在のページを処理している間に、次のページを{@link DataAccessObject#queryAsync(Paging)}で取得する。<br/>
+ * {@link PagePaging}の場合は先読み数までのページを並行して取得する。
+ * {@link KeysetPaging}の場合は前ページの最後のキー値が次ページの条件となるため、ページ取得直後に次の1ページを取得する。<br/>
+ * データアクセスオブジェクトにコネクションプロバイダが設定されていない場合、先読みは行われず呼び出し元スレッドで順に取得する。
+ * </p>
+ * 
+ * <pre>
+ * PageIterator pages = new PageIterator(dao, &quot;ID&quot;, 1000, 2);
+ * try {
+ * 	while (pages.next()) {
+ * 		for (Map&lt;String, Object&gt; data : pages.get()) {
+ * 			...
+ * 		}
+ * 	}
+ * } finally {
+ * 	pages.close();
+ * }
+ * </pre>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class PageIterator implements Closeable {
+
+	/** データアクセスオブジェクト */
+	private final DataAccessObject dao;
+
+	/** 先読み数 */
+	private final int depth;
+
+	/** 取得中のページ */
+	private final Deque<Page> pending;
+
+	/** 次に取得するページ情報 */
+	private Paging paging;
+
+	/** ページサイズ */
+	private final long size;
+
+	/** 現在のページ */
+	private List<Map<String, Object>> page;
+
+	/** 取得ページ数 */
+	private long pageCount;
+
+	/** 取得データ件数 */
+	private long rowCount;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * キー値を基準としたページ(キーセットページング)で先頭から走査する。
+	 * </p>
+	 * 
+	 * @param aDao データアクセスオブジェクト
+	 * @param aKey キー
+	 * @param aSize ページサイズ
+	 * @param aDepth 先読み数
+	 */
+	public PageIterator(final DataAccessObject aDao, final String aKey, final long aSize, final int aDepth) {
+		this(aDao, new KeysetPaging(aKey, aSize), aDepth);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aDao データアクセスオブジェクト
+	 * @param aPaging 最初のページ情報
+	 * @param aDepth 先読み数
+	 */
+	public PageIterator(final DataAccessObject aDao, final Paging aPaging, final int aDepth) {
+		dao = aDao;
+		depth = Math.max(aDepth, 1);
+		pending = new ArrayDeque<Page>();
+		paging = aPaging;
+		size = aPaging.getSize();
+		page = null;
+		pageCount = 0;
+		rowCount = 0;
+	}
+
+	/**
+	 * 次のページへ移動する。
+	 * 
+	 * @return 次のページが存在する場合、<code>true</code>を返す。
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public boolean next() throws DataAccessServiceException {
+		page = null;
+		prefetch();
+
+		Page next = pending.poll();
+		if (null == next) {
+			return false;
+		}
+		List<Map<String, Object>> data = get(next.future);
+
+		if (data.isEmpty()) {
+			cancel();
+			return false;
+		}
+		if (0 >= size || data.size() < size) {
+			// 最終ページ
+			cancel();
+		} else if (isKeyset(next.paging)) {
+			paging = nextKeyset(next.paging, data.get(data.size() - 1));
+		}
+		// 呼び出し元の処理中に次のページを取得する
+		prefetch();
+
+		page = data;
+		pageCount++;
+		rowCount += data.size();
+		return true;
+	}
+
+	/**
+	 * 現在のページのデータを取得する。
+	 * 
+	 * @return データ
+	 */
+	public List<Map<String, Object>> get() {
+		return page;
+	}
+
+	/**
+	 * 取得したページ数を取得する。
+	 * 
+	 * @return ページ数
+	 */
+	public long getPageCount() {
+		return pageCount;
+	}
+
+	/**
+	 * 取得したデータ件数を取得する。
+	 * 
+	 * @return データ件数
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * 先読みを中断する。
+	 */
+	@Override
+	public void close() {
+		page = null;
+		cancel();
+	}
+
+	/**
+	 * 先読み数までページの取得を開始する。
+	 */
+	private void prefetch() {
+		while (null != paging && pending.size() < depth) {
+			pending.add(new Page(paging, dao.queryAsync(paging)));
+			if (isKeyset(paging)) {
+				// 次のページ情報は取得結果の最後のキー値で決まる
+				paging = null;
+			} else {
+				paging = new PagePaging(paging.getPage() + 1, size);
+			}
+		}
+	}
+
+	/**
+	 * 取得を開始していないページ及び取得中のページを破棄する。
+	 */
+	private void cancel() {
+		paging = null;
+		Page item = null;
+		while (null != (item = pending.poll())) {
+			item.future.cancel(false);
+		}
+	}
+
+	/**
+	 * ページの取得結果を待機する。
+	 * 
+	 * @param future 取得結果
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private List<Map<String, Object>> get(final Future<List<Map<String, Object>>> future) throws DataAccessServiceException {
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			cancel();
+			Thread.currentThread().interrupt();
+			throw new DataAccessServiceException(ex);
+		} catch (ExecutionException ex) {
+			cancel();
+			if (ex.getCause() instanceof DataAccessServiceException) {
+				throw (DataAccessServiceException) ex.getCause();
+			}
+			throw new DataAccessServiceException(ex.getCause());
+		}
+	}
+
+	/**
+	 * キー値を基準としたページ情報か判定する。
+	 * 
+	 * @param aPaging ページ情報
+	 * @return キー値を基準とする場合、<code>true</code>を返す。
+	 */
+	private static boolean isKeyset(final Paging aPaging) {
+		return StringUtility.isNotEmpty(aPaging.getKey());
+	}
+
+	/**
+	 * ページの最後のデータから次のページ情報を生成する。
+	 * 
+	 * @param aPaging ページ情報
+	 * @param aLast ページの最後のデータ
+	 * @return 次のページ情報
+	 * @throws DataAccessServiceException キー値が取得できない場合
+	 */
+	private static Paging nextKeyset(final Paging aPaging, final Map<String, Object> aLast) throws DataAccessServiceException {
+		String key = aPaging.getKey();
+		Object value = null;
+		String label = StringUtility.toCamelcase(key);
+		if (aLast.containsKey(label)) {
+			value = aLast.get(label);
+		} else if (aLast.containsKey(key)) {
+			value = aLast.get(key);
+		}
+		if (null == value) {
+			throw new DataAccessServiceException("Not found paging key value.[" + key + "]");
+		}
+
+		Object sinceId = aPaging.getSinceId();
+		Object maxId = aPaging.getMaxId();
+		if (aPaging instanceof KeysetPaging) {
+			sinceId = ((KeysetPaging) aPaging).getSinceIdValue();
+			maxId = ((KeysetPaging) aPaging).getMaxIdValue();
+		}
+		if (null == sinceId && null != maxId) {
+			// 降順
+			return new KeysetPaging(key, null, value, aPaging.getSize());
+		}
+		return new KeysetPaging(key, value, maxId, aPaging.getSize());
+	}
+
+	/**
+	 * このクラスは、取得中のページを表現するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Page {
+
+		/** ページ情報 */
+		private final Paging paging;
+
+		/** 取得結果 */
+		private final Future<List<Map<String, Object>>> future;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aPaging ページ情報
+		 * @param aFuture 取得結果
+		 */
+		private Page(final Paging aPaging, final Future<List<Map<String, Object>>> aFuture) {
+			paging = aPaging;
+			future = aFuture;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.List;
+import java.util.Map;
+
+import org.azkfw.business.paging.Paging;
+
+/**
+ * このクラスは、ページ単位の取得結果を保持するクラスです。
+ * <p>
+ * ページのデータと、ページングを行わない場合の総件数を保持する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class PagedResult {
+
+	/**
+	 * データ
+	 */
+	private final List<Map<String, Object>> data;
+
+	/**
+	 * 総件数
+	 */
+	private final long total;
+
+	/**
+	 * ページ番号
+	 */
+	private final long page;
+
+	/**
+	 * ページサイズ
+	 */
+	private final long size;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aData データ
+	 * @param aTotal 総件数
+	 * @param aPaging ページング情報
+	 */
+	public PagedResult(final List<Map<String, Object>> aData, final long aTotal, final Paging aPaging) {
+		data = aData;
+		total = aTotal;
+		if (null != aPaging) {
+			page = aPaging.getPage();
+			size = aPaging.getSize();
+		} else {
+			page = 0;
+			size = aTotal;
+		}
+	}
+
+	/**
+	 * データを取得する。
+	 * 
+	 * @return データ
+	 */
+	public List<Map<String, Object>> getData() {
+		return data;
+	}
+
+	/**
+	 * 総件数を取得する。
+	 * 
+	 * @return 総件数
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * ページ番号を取得する。
+	 * 
+	 * @return ページ番号(0始まり)
+	 */
+	public long getPage() {
+		return page;
+	}
+
+	/**
+	 * ページサイズを取得する。
+	 * 
+	 * @return ページサイズ
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * ページ数を取得する。
+	 * 
+	 * @return ページ数
+	 */
+	public long getPageCount() {
+		long count = 0;
+		if (0 < size) {
+			count = (total + size - 1) / size;
+		}
+		return count;
+	}
+
+	/**
+	 * 次のページが存在するか判断する。
+	 * 
+	 * @return 存在する場合、<code>true</code>を返す。
+	 */
+	public boolean hasNext() {
+		return page + 1 < getPageCount();
+	}
+
+	/**
+	 * 前のページが存在するか判断する。
+	 * 
+	 * @return 存在する場合、<code>true</code>を返す。
+	 */
+	public boolean hasPrevious() {
+		return 0 < page;
+	}
+}
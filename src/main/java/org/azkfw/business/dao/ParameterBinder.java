@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * このクラスは、パラメータ値の型に応じてステートメントへ値を設定するクラスです。
+ * <p>
+ * {@link PreparedStatement#setObject(int, Object)}による型推論を避けるため、
+ * 値のクラスごとに<code>setLong</code>、<code>setString</code>、<code>setTimestamp</code>等を使用する。<br/>
+ * {@link TypedParameter}の場合は指定したSQL型で設定する。対応しないクラスの場合は<code>setObject</code>で設定する。
+ * </p>
+ * <p>
+ * {@link java.util.Date}は、DATE型の列との比較で索引が使用されなくなるデータベースがあるため<code>setTimestamp</code>は使用せず、
+ * 従来どおり<code>setObject</code>で設定する。TIMESTAMP型で設定する場合は{@link TypedParameter}で{@link Types#TIMESTAMP}を指定すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class ParameterBinder {
+
+	/** String */
+	private static final int STRING = 1;
+	/** Integer */
+	private static final int INTEGER = 2;
+	/** Long */
+	private static final int LONG = 3;
+	/** Short */
+	private static final int SHORT = 4;
+	/** Byte */
+	private static final int BYTE = 5;
+	/** Boolean */
+	private static final int BOOLEAN = 6;
+	/** Double */
+	private static final int DOUBLE = 7;
+	/** Float */
+	private static final int FLOAT = 8;
+	/** BigDecimal */
+	private static final int BIG_DECIMAL = 9;
+	/** BigInteger */
+	private static final int BIG_INTEGER = 10;
+	/** java.sql.Timestamp */
+	private static final int TIMESTAMP = 11;
+	/** java.sql.Date */
+	private static final int SQL_DATE = 12;
+	/** java.sql.Time */
+	private static final int TIME = 13;
+	/** byte[] */
+	private static final int BYTES = 14;
+	/** Character */
+	private static final int CHARACTER = 15;
+	/** TypedParameter */
+	private static final int TYPED = 16;
+
+	/**
+	 * クラスと種別のマップ
+	 */
+	private static final Map<Class<?>, Integer> KINDS;
+
+	static {
+		Map<Class<?>, Integer> kinds = new IdentityHashMap<Class<?>, Integer>();
+		kinds.put(String.class, STRING);
+		kinds.put(Integer.class, INTEGER);
+		kinds.put(Long.class, LONG);
+		kinds.put(Short.class, SHORT);
+		kinds.put(Byte.class, BYTE);
+		kinds.put(Boolean.class, BOOLEAN);
+		kinds.put(Double.class, DOUBLE);
+		kinds.put(Float.class, FLOAT);
+		kinds.put(BigDecimal.class, BIG_DECIMAL);
+		kinds.put(BigInteger.class, BIG_INTEGER);
+		kinds.put(Timestamp.class, TIMESTAMP);
+		kinds.put(java.sql.Date.class, SQL_DATE);
+		kinds.put(Time.class, TIME);
+		kinds.put(byte[].class, BYTES);
+		kinds.put(Character.class, CHARACTER);
+		kinds.put(TypedParameter.class, TYPED);
+		KINDS = kinds;
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private ParameterBinder() {
+
+	}
+
+	/**
+	 * ステートメントへパラメータ値を設定する。
+	 * 
+	 * @param stat ステートメント
+	 * @param index パラメータ位置(1始まり)
+	 * @param value 値
+	 * @throws SQLException SQL実行中に問題が発生した場合
+	 */
+	public static void bind(final PreparedStatement stat, final int index, final Object value) throws SQLException {
+		if (null == value) {
+			stat.setObject(index, null);
+			return;
+		}
+
+		Integer kind = KINDS.get(value.getClass());
+		if (null == kind) {
+			stat.setObject(index, value);
+			return;
+		}
+
+		switch (kind.intValue()) {
+		case STRING:
+			stat.setString(index, (String) value);
+			break;
+		case INTEGER:
+			stat.setInt(index, ((Integer) value).intValue());
+			break;
+		case LONG:
+			stat.setLong(index, ((Long) value).longValue());
+			break;
+		case SHORT:
+			stat.setShort(index, ((Short) value).shortValue());
+			break;
+		case BYTE:
+			stat.setByte(index, ((Byte) value).byteValue());
+			break;
+		case BOOLEAN:
+			stat.setBoolean(index, ((Boolean) value).booleanValue());
+			break;
+		case DOUBLE:
+			stat.setDouble(index, ((Double) value).doubleValue());
+			break;
+		case FLOAT:
+			stat.setFloat(index, ((Float) value).floatValue());
+			break;
+		case BIG_DECIMAL:
+			stat.setBigDecimal(index, (BigDecimal) value);
+			break;
+		case BIG_INTEGER:
+			stat.setBigDecimal(index, new BigDecimal((BigInteger) value));
+			break;
+		case TIMESTAMP:
+			stat.setTimestamp(index, (Timestamp) value);
+			break;
+		case SQL_DATE:
+			stat.setDate(index, (java.sql.Date) value);
+			break;
+		case TIME:
+			stat.setTime(index, (Time) value);
+			break;
+		case BYTES:
+			stat.setBytes(index, (byte[]) value);
+			break;
+		case CHARACTER:
+			stat.setString(index, value.toString());
+			break;
+		case TYPED:
+			bind(stat, index, (TypedParameter) value);
+			break;
+		default:
+			stat.setObject(index, value);
+			break;
+		}
+	}
+
+	/**
+	 * ステートメントへ型を指定したパラメータ値を設定する。
+	 * 
+	 * @param stat ステートメント
+	 * @param index パラメータ位置(1始まり)
+	 * @param parameter パラメータ値
+	 * @throws SQLException SQL実行中に問題が発生した場合
+	 */
+	private static void bind(final PreparedStatement stat, final int index, final TypedParameter parameter) throws SQLException {
+		Object value = parameter.getValue();
+		if (null == value) {
+			stat.setNull(index, parameter.getSqlType());
+		} else if (Types.TIMESTAMP == parameter.getSqlType() && value.getClass() == java.util.Date.class) {
+			stat.setTimestamp(index, new Timestamp(((java.util.Date) value).getTime()));
+		} else {
+			stat.setObject(index, value, parameter.getSqlType());
+		}
+	}
+}
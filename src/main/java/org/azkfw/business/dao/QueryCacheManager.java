@@ -0,0 +1,631 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.azkfw.business.manager.AbstractManager;
+
+/**
+ * このクラスは、ダイナミックSQLの実行結果のキャッシュを管理するマネージャークラスです。
+ * <p>
+ * {@link #register(String, long, String...)}で登録したダイナミックSQLの実行結果を、SQLとパラメータをキーにキャッシュする。<br/>
+ * キャッシュは有効期間の経過または最大件数の超過で破棄する。
+ * また、{@link DynamicSQLAccessObject}で更新したテーブルを依存テーブルに持つキャッシュを破棄する。
+ * </p>
+ * <p>
+ * 未コミットの更新を含む実行結果をキャッシュしないため、更新したテーブルをコネクションごとに記録し、
+ * コミットまたはロールバックまで同じコネクションで取得した依存する実行結果はキャッシュしない。<br/>
+ * コミットまたはロールバック後に{@link #complete(Connection)}を呼び出すこと。記録したテーブルに依存するキャッシュを再度破棄する。
+ * </p>
+ * <p>
+ * キャッシュの破棄は同一プロセス内の更新のみを対象とするため、マスタ等の参照データに限定して使用すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class QueryCacheManager extends AbstractManager {
+
+	/**
+	 * Instance
+	 */
+	private static final QueryCacheManager INSTANCE = new QueryCacheManager();
+
+	/**
+	 * デフォルトの最大キャッシュ件数
+	 */
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	/**
+	 * 更新対象テーブル抽出パターン
+	 */
+	private static final Pattern PTN_UPDATE_TABLE = Pattern.compile(
+			"^(?:INSERT\\s+INTO|REPLACE\\s+INTO|UPDATE|DELETE\\s+FROM|DELETE|MERGE\\s+INTO|TRUNCATE\\s+TABLE)\\s+([^\\s(]+)", Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * 対象テーブルが判定できない更新を表すテーブル名
+	 */
+	private static final String ANY_TABLE = "*";
+
+	/**
+	 * 先頭コメント抽出パターン
+	 */
+	private static final Pattern PTN_LEADING_COMMENT = Pattern.compile("^(?:\\s+|/\\*.*?\\*/|--[^\\n]*\\n?)+", Pattern.DOTALL);
+
+	/**
+	 * キャッシュ設定(ダイナミックSQL名)
+	 */
+	private final ConcurrentMap<String, Setting> settings;
+
+	/**
+	 * キャッシュ
+	 */
+	private final LinkedHashMap<List<Object>, CacheEntry> entries;
+
+	/**
+	 * 未コミットの更新対象テーブル(コネクション単位)
+	 */
+	private final Map<Connection, Set<String>> pendings;
+
+	/**
+	 * 最大キャッシュ件数
+	 */
+	private int maxSize;
+
+	/** ヒット数 */
+	private long hitCount;
+
+	/** ミス数 */
+	private long missCount;
+
+	/** 追い出し数 */
+	private long evictionCount;
+
+	/** 破棄数(更新によるもの) */
+	private long invalidationCount;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private QueryCacheManager() {
+		super(QueryCacheManager.class);
+		settings = new ConcurrentHashMap<String, Setting>();
+		pendings = new WeakHashMap<Connection, Set<String>>();
+		maxSize = DEFAULT_MAX_SIZE;
+		entries = new LinkedHashMap<List<Object>, CacheEntry>(16, 0.75f, true) {
+			/** serialVersionUID */
+			private static final long serialVersionUID = -4826015640290829410L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<List<Object>, CacheEntry> eldest) {
+				boolean result = false;
+				if (size() > maxSize) {
+					evictionCount++;
+					result = true;
+				}
+				return result;
+			}
+		};
+	}
+
+	/**
+	 * ダイナミックSQLをキャッシュ対象に登録する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @param ttl 有効期間(ミリ秒)。<code>0</code>以下の場合、無期限とする。
+	 * @param tables 依存テーブル名
+	 */
+	public static void register(final String name, final long ttl, final String... tables) {
+		Set<String> set = new HashSet<String>();
+		for (String table : tables) {
+			set.add(normalize(table));
+		}
+		INSTANCE.settings.put(name, new Setting(ttl, set));
+	}
+
+	/**
+	 * ダイナミックSQLをキャッシュ対象から除外する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 */
+	public static void unregister(final String name) {
+		INSTANCE.settings.remove(name);
+		INSTANCE.doRemove(name);
+	}
+
+	/**
+	 * 最大キャッシュ件数を設定する。
+	 * 
+	 * @param size 最大件数
+	 */
+	public static void setMaxSize(final int size) {
+		synchronized (INSTANCE.entries) {
+			INSTANCE.maxSize = size;
+			Iterator<List<Object>> it = INSTANCE.entries.keySet().iterator();
+			while (INSTANCE.entries.size() > size && it.hasNext()) {
+				it.next();
+				it.remove();
+				INSTANCE.evictionCount++;
+			}
+		}
+	}
+
+	/**
+	 * キャッシュ対象が登録されているか判断する。
+	 * 
+	 * @return 登録されている場合、<code>true</code>を返す。
+	 */
+	public static boolean isEnabled() {
+		return !INSTANCE.settings.isEmpty();
+	}
+
+	/**
+	 * ダイナミックSQLがキャッシュ対象か判断する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @return キャッシュ対象の場合、<code>true</code>を返す。
+	 */
+	public static boolean isCacheable(final String name) {
+		return null != name && INSTANCE.settings.containsKey(name);
+	}
+
+	/**
+	 * キャッシュから実行結果を取得する。
+	 * 
+	 * @param key キー(先頭要素はダイナミックSQL名)
+	 * @return 実行結果の複製。キャッシュに存在しない場合、<code>null</code>を返す。
+	 */
+	public static Object get(final List<Object> key) {
+		return INSTANCE.doGet(key);
+	}
+
+	/**
+	 * 実行結果をキャッシュする。
+	 * 
+	 * @param key キー(先頭要素はダイナミックSQL名)
+	 * @param value 実行結果
+	 */
+	public static void put(final List<Object> key, final Object value) {
+		INSTANCE.doPut(null, key, value);
+	}
+
+	/**
+	 * 実行結果をキャッシュする。
+	 * <p>
+	 * コネクションに未コミットの更新があり、そのテーブルに依存する場合はキャッシュしない。
+	 * </p>
+	 * 
+	 * @param connection 取得に使用したコネクション
+	 * @param key キー(先頭要素はダイナミックSQL名)
+	 * @param value 実行結果
+	 */
+	public static void put(final Connection connection, final List<Object> key, final Object value) {
+		INSTANCE.doPut(connection, key, value);
+	}
+
+	/**
+	 * テーブルに依存するキャッシュを破棄する。
+	 * 
+	 * @param table テーブル名
+	 */
+	public static void invalidate(final String table) {
+		INSTANCE.doInvalidate(normalize(table));
+	}
+
+	/**
+	 * 更新SQLの対象テーブルに依存するキャッシュを破棄する。
+	 * 
+	 * @param sql 更新SQL
+	 */
+	public static void invalidateBySQL(final String sql) {
+		invalidateBySQL(null, sql);
+	}
+
+	/**
+	 * 更新SQLの対象テーブルに依存するキャッシュを破棄する。
+	 * <p>
+	 * 自動コミットでない場合、対象テーブルを未コミットの更新としてコネクションに記録する。
+	 * </p>
+	 * 
+	 * @param connection 更新に使用したコネクション
+	 * @param sql 更新SQL
+	 */
+	public static void invalidateBySQL(final Connection connection, final String sql) {
+		String table = getUpdateTable(sql);
+		if (null != table) {
+			INSTANCE.doInvalidate(table);
+		}
+		if (null != connection) {
+			INSTANCE.doPending(connection, (null != table) ? table : ANY_TABLE);
+		}
+	}
+
+	/**
+	 * コネクションのトランザクション終了を通知する。
+	 * <p>
+	 * 記録した未コミットの更新対象テーブルに依存するキャッシュを破棄し、記録を削除する。<br/>
+	 * 更新からコミットまでの間に他のコネクションでキャッシュした更新前の実行結果を破棄するため、コミットまたはロールバック後に呼び出すこと。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 */
+	public static void complete(final Connection connection) {
+		INSTANCE.doComplete(connection);
+	}
+
+	/**
+	 * キャッシュを全て破棄する。
+	 */
+	public static void clear() {
+		synchronized (INSTANCE.entries) {
+			INSTANCE.entries.clear();
+		}
+	}
+
+	/**
+	 * ヒット数を取得する。
+	 * 
+	 * @return ヒット数
+	 */
+	public static long getHitCount() {
+		synchronized (INSTANCE.entries) {
+			return INSTANCE.hitCount;
+		}
+	}
+
+	/**
+	 * ミス数を取得する。
+	 * 
+	 * @return ミス数
+	 */
+	public static long getMissCount() {
+		synchronized (INSTANCE.entries) {
+			return INSTANCE.missCount;
+		}
+	}
+
+	/**
+	 * ヒット率を取得する。
+	 * 
+	 * @return ヒット率(0.0 ~ 1.0)
+	 */
+	public static double getHitRate() {
+		synchronized (INSTANCE.entries) {
+			long total = INSTANCE.hitCount + INSTANCE.missCount;
+			return (0 < total) ? (double) INSTANCE.hitCount / (double) total : 0.0;
+		}
+	}
+
+	/**
+	 * 追い出し数を取得する。
+	 * 
+	 * @return 追い出し数
+	 */
+	public static long getEvictionCount() {
+		synchronized (INSTANCE.entries) {
+			return INSTANCE.evictionCount;
+		}
+	}
+
+	/**
+	 * 更新による破棄数を取得する。
+	 * 
+	 * @return 破棄数
+	 */
+	public static long getInvalidationCount() {
+		synchronized (INSTANCE.entries) {
+			return INSTANCE.invalidationCount;
+		}
+	}
+
+	/**
+	 * 更新SQLの対象テーブル名を取得する。
+	 * 
+	 * @param sql 更新SQL
+	 * @return テーブル名(大文字)。判定できない場合、<code>null</code>を返す。
+	 */
+	public static String getUpdateTable(final String sql) {
+		String table = null;
+		if (null != sql) {
+			String s = PTN_LEADING_COMMENT.matcher(sql).replaceFirst("");
+			Matcher m = PTN_UPDATE_TABLE.matcher(s);
+			if (m.find()) {
+				table = normalize(m.group(1));
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * テーブル名を正規化する。
+	 * <p>
+	 * 引用符とスキーマ名を取り除き、大文字に変換する。
+	 * </p>
+	 * 
+	 * @param table テーブル名
+	 * @return テーブル名
+	 */
+	static String normalize(final String table) {
+		String s = table.replaceAll("[\"`\\[\\]]", "");
+		int index = s.lastIndexOf('.');
+		if (0 <= index) {
+			s = s.substring(index + 1);
+		}
+		return s.toUpperCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * 実行結果を複製する。
+	 * 
+	 * @param value 実行結果
+	 * @return 複製
+	 */
+	@SuppressWarnings("unchecked")
+	static Object copy(final Object value) {
+		Object result = value;
+		if (value instanceof List) {
+			List<Map<String, Object>> src = (List<Map<String, Object>>) value;
+			List<Map<String, Object>> dst = new ArrayList<Map<String, Object>>(src.size());
+			for (Map<String, Object> data : src) {
+				dst.add(copy(data));
+			}
+			result = dst;
+		} else if (value instanceof Map) {
+			result = copy((Map<String, Object>) value);
+		}
+		return result;
+	}
+
+	/**
+	 * データを複製する。
+	 * 
+	 * @param data データ
+	 * @return 複製
+	 */
+	private static Map<String, Object> copy(final Map<String, Object> data) {
+		return (data instanceof Row) ? ((Row) data).copy() : new HashMap<String, Object>(data);
+	}
+
+	/**
+	 * キャッシュから実行結果を取得する。
+	 * 
+	 * @param key キー
+	 * @return 実行結果の複製
+	 */
+	private Object doGet(final List<Object> key) {
+		CacheEntry entry = null;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (null != entry && entry.isExpired(System.currentTimeMillis())) {
+				entries.remove(key);
+				entry = null;
+			}
+			if (null != entry) {
+				hitCount++;
+			} else {
+				missCount++;
+			}
+		}
+		return (null != entry) ? copy(entry.value) : null;
+	}
+
+	/**
+	 * 実行結果をキャッシュする。
+	 * 
+	 * @param key キー
+	 * @param value 実行結果
+	 */
+	private void doPut(final Connection connection, final List<Object> key, final Object value) {
+		Setting setting = settings.get(key.get(0));
+		if (null != setting && null != value && !isPending(connection, setting.tables)) {
+			long expire = (0 < setting.ttl) ? System.currentTimeMillis() + setting.ttl : Long.MAX_VALUE;
+			CacheEntry entry = new CacheEntry(copy(value), setting.tables, expire);
+			synchronized (entries) {
+				entries.put(new ArrayList<Object>(key), entry);
+			}
+		}
+	}
+
+	/**
+	 * 未コミットの更新対象テーブルを記録する。
+	 * 
+	 * @param connection コネクション
+	 * @param table テーブル名(正規化済み)
+	 */
+	private void doPending(final Connection connection, final String table) {
+		try {
+			if (connection.getAutoCommit()) {
+				return;
+			}
+		} catch (SQLException ex) {
+			// 判定できない場合は未コミットとして扱う
+		}
+		synchronized (pendings) {
+			Set<String> tables = pendings.get(connection);
+			if (null == tables) {
+				tables = new HashSet<String>();
+				pendings.put(connection, tables);
+			}
+			tables.add(table);
+		}
+	}
+
+	/**
+	 * コネクションに依存テーブルの未コミットの更新があるか判断する。
+	 * 
+	 * @param connection コネクション
+	 * @param tables 依存テーブル
+	 * @return 未コミットの更新がある場合、<code>true</code>を返す。
+	 */
+	private boolean isPending(final Connection connection, final Set<String> tables) {
+		if (null == connection) {
+			return false;
+		}
+		synchronized (pendings) {
+			if (pendings.isEmpty()) {
+				return false;
+			}
+			Set<String> pending = pendings.get(connection);
+			return null != pending && (pending.contains(ANY_TABLE) || !Collections.disjoint(pending, tables));
+		}
+	}
+
+	/**
+	 * コネクションのトランザクション終了を通知する。
+	 * 
+	 * @param connection コネクション
+	 */
+	private void doComplete(final Connection connection) {
+		Set<String> tables = null;
+		synchronized (pendings) {
+			if (!pendings.isEmpty()) {
+				tables = pendings.remove(connection);
+			}
+		}
+		if (null != tables) {
+			for (String table : tables) {
+				if (!ANY_TABLE.equals(table)) {
+					doInvalidate(table);
+				}
+			}
+		}
+	}
+
+	/**
+	 * ダイナミックSQLのキャッシュを破棄する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 */
+	private void doRemove(final String name) {
+		synchronized (entries) {
+			Iterator<List<Object>> it = entries.keySet().iterator();
+			while (it.hasNext()) {
+				if (name.equals(it.next().get(0))) {
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * テーブルに依存するキャッシュを破棄する。
+	 * 
+	 * @param table テーブル名(正規化済み)
+	 */
+	private void doInvalidate(final String table) {
+		synchronized (entries) {
+			Iterator<CacheEntry> it = entries.values().iterator();
+			while (it.hasNext()) {
+				if (it.next().tables.contains(table)) {
+					it.remove();
+					invalidationCount++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、キャッシュ設定を保持するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Setting {
+
+		/** 有効期間(ミリ秒) */
+		private final long ttl;
+
+		/** 依存テーブル */
+		private final Set<String> tables;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aTtl 有効期間(ミリ秒)
+		 * @param aTables 依存テーブル
+		 */
+		public Setting(final long aTtl, final Set<String> aTables) {
+			ttl = aTtl;
+			tables = Collections.unmodifiableSet(aTables);
+		}
+	}
+
+	/**
+	 * このクラスは、キャッシュした実行結果を保持するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class CacheEntry {
+
+		/** 実行結果 */
+		private final Object value;
+
+		/** 依存テーブル */
+		private final Set<String> tables;
+
+		/** 有効期限 */
+		private final long expire;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aValue 実行結果
+		 * @param aTables 依存テーブル
+		 * @param aExpire 有効期限
+		 */
+		public CacheEntry(final Object aValue, final Set<String> aTables, final long aExpire) {
+			value = aValue;
+			tables = aTables;
+			expire = aExpire;
+		}
+
+		/**
+		 * 有効期限を過ぎているか判断する。
+		 * 
+		 * @param now 現在時刻
+		 * @return 有効期限を過ぎている場合、<code>true</code>を返す。
+		 */
+		public boolean isExpired(final long now) {
+			return expire < now;
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * このクラスは、計測値の分布を記録するヒストグラムクラスです。
+ * <p>
+ * 2のべき乗ごとの範囲を8分割したバケットで記録するため、パーセンタイルの誤差は最大で12.5%となる。<br/>
+ * 記録はロックを使用せずに行う。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class QueryHistogram {
+
+	/** 値をそのまま記録する範囲 */
+	private static final int LINEAR = 16;
+
+	/** 2のべき乗ごとの分割ビット数 */
+	private static final int SUB_BITS = 3;
+
+	/** 2のべき乗ごとの分割数 */
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+
+	/** 最小の指数 */
+	private static final int MIN_EXPONENT = 4;
+
+	/** バケット数 */
+	private static final int BUCKET_COUNT = LINEAR + (63 - MIN_EXPONENT) * SUB_COUNT;
+
+	/** バケット */
+	private final AtomicLongArray buckets;
+
+	/** 件数 */
+	private final AtomicLong count;
+
+	/** 合計値 */
+	private final AtomicLong sum;
+
+	/** 最大値 */
+	private final AtomicLong max;
+
+	/**
+	 * コンストラクタ
+	 */
+	public QueryHistogram() {
+		buckets = new AtomicLongArray(BUCKET_COUNT);
+		count = new AtomicLong();
+		sum = new AtomicLong();
+		max = new AtomicLong();
+	}
+
+	/**
+	 * 値を記録する。
+	 * 
+	 * @param value 値。負数の場合、<code>0</code>として記録する。
+	 */
+	public void record(final long value) {
+		long v = Math.max(value, 0L);
+		buckets.incrementAndGet(indexOf(v));
+		count.incrementAndGet();
+		sum.addAndGet(v);
+		long m = max.get();
+		while (v > m && !max.compareAndSet(m, v)) {
+			m = max.get();
+		}
+	}
+
+	/**
+	 * 記録件数を取得する。
+	 * 
+	 * @return 件数
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * 合計値を取得する。
+	 * 
+	 * @return 合計値
+	 */
+	public long getSum() {
+		return sum.get();
+	}
+
+	/**
+	 * 最大値を取得する。
+	 * 
+	 * @return 最大値
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * 平均値を取得する。
+	 * 
+	 * @return 平均値
+	 */
+	public double getMean() {
+		long c = count.get();
+		return (0 < c) ? (double) sum.get() / c : 0.0;
+	}
+
+	/**
+	 * パーセンタイル値を取得する。
+	 * 
+	 * @param percentile パーセンタイル(0～100)
+	 * @return 値。該当するバケットの上限値を返す。
+	 */
+	public long getPercentile(final double percentile) {
+		long total = 0;
+		long[] values = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			values[i] = buckets.get(i);
+			total += values[i];
+		}
+		if (0 == total) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(total * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0);
+		rank = Math.max(rank, 1);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += values[i];
+			if (seen >= rank) {
+				return Math.min(upperOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * 記録を破棄する。
+	 */
+	public void clear() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * 値を記録するバケットの位置を取得する。
+	 * 
+	 * @param value 値
+	 * @return 位置
+	 */
+	static int indexOf(final long value) {
+		if (value < LINEAR) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+		return LINEAR + (exponent - MIN_EXPONENT) * SUB_COUNT + sub;
+	}
+
+	/**
+	 * バケットの上限値を取得する。
+	 * 
+	 * @param index 位置
+	 * @return 上限値
+	 */
+	static long upperOf(final int index) {
+		if (index < LINEAR) {
+			return index;
+		}
+		int exponent = (index - LINEAR) / SUB_COUNT + MIN_EXPONENT;
+		int sub = (index - LINEAR) % SUB_COUNT;
+		long width = 1L << (exponent - SUB_BITS);
+		long lower = (SUB_COUNT + sub) * width;
+		return lower + width - 1;
+	}
+}
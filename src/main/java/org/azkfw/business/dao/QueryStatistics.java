@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+/**
+ * このクラスは、ダイナミックSQLごとの実行統計を保持するクラスです。
+ * <p>
+ * 処理時間はマイクロ秒単位で記録する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class QueryStatistics {
+
+	/** ダイナミックSQL名 */
+	private final String name;
+
+	/** 準備時間(ステートメント生成及びパラメータ設定) */
+	private final QueryHistogram prepareTime;
+
+	/** 実行時間 */
+	private final QueryHistogram executeTime;
+
+	/** 読み込み時間 */
+	private final QueryHistogram fetchTime;
+
+	/** 合計時間 */
+	private final QueryHistogram totalTime;
+
+	/** 処理件数 */
+	private final QueryHistogram rows;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aName ダイナミックSQL名
+	 */
+	public QueryStatistics(final String aName) {
+		name = aName;
+		prepareTime = new QueryHistogram();
+		executeTime = new QueryHistogram();
+		fetchTime = new QueryHistogram();
+		totalTime = new QueryHistogram();
+		rows = new QueryHistogram();
+	}
+
+	/**
+	 * 実行結果を記録する。
+	 * 
+	 * @param prepare 準備時間(マイクロ秒)
+	 * @param execute 実行時間(マイクロ秒)
+	 * @param fetch 読み込み時間(マイクロ秒)
+	 * @param count 処理件数
+	 */
+	void record(final long prepare, final long execute, final long fetch, final long count) {
+		prepareTime.record(prepare);
+		executeTime.record(execute);
+		fetchTime.record(fetch);
+		totalTime.record(prepare + execute + fetch);
+		rows.record(count);
+	}
+
+	/**
+	 * ダイナミックSQL名を取得する。
+	 * 
+	 * @return ダイナミックSQL名
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 実行回数を取得する。
+	 * 
+	 * @return 実行回数
+	 */
+	public long getCount() {
+		return totalTime.getCount();
+	}
+
+	/**
+	 * 準備時間(ステートメント生成及びパラメータ設定)の分布を取得する。
+	 * 
+	 * @return 分布(マイクロ秒)
+	 */
+	public QueryHistogram getPrepareTime() {
+		return prepareTime;
+	}
+
+	/**
+	 * 実行時間の分布を取得する。
+	 * 
+	 * @return 分布(マイクロ秒)
+	 */
+	public QueryHistogram getExecuteTime() {
+		return executeTime;
+	}
+
+	/**
+	 * 読み込み時間の分布を取得する。
+	 * 
+	 * @return 分布(マイクロ秒)
+	 */
+	public QueryHistogram getFetchTime() {
+		return fetchTime;
+	}
+
+	/**
+	 * 合計時間の分布を取得する。
+	 * 
+	 * @return 分布(マイクロ秒)
+	 */
+	public QueryHistogram getTotalTime() {
+		return totalTime;
+	}
+
+	/**
+	 * 処理件数の分布を取得する。
+	 * 
+	 * @return 分布
+	 */
+	public QueryHistogram getRows() {
+		return rows;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s : count=%d, p50=%dus, p99=%dus, max=%dus, rows(p50/max)=%d/%d", name, getCount(), totalTime.getPercentile(50),
+				totalTime.getPercentile(99), totalTime.getMax(), rows.getPercentile(50), rows.getMax());
+	}
+}
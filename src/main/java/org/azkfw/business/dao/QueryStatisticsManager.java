@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.business.manager.AbstractManager;
+
+/**
+ * このクラスは、ダイナミックSQLの実行統計の管理を行うマネージャークラスです。
+ * <p>
+ * ダイナミックSQL名ごとに準備、実行、読み込みの処理時間と処理件数を記録する。<br/>
+ * 閾値を設定した場合、閾値を超えたSQLをパラメータと共にスロークエリとしてログ出力する(デフォルトは出力しない)。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class QueryStatisticsManager extends AbstractManager {
+
+	/**
+	 * Instance
+	 */
+	private static final QueryStatisticsManager INSTANCE = new QueryStatisticsManager();
+
+	/**
+	 * 記録有無
+	 */
+	private volatile boolean enabled;
+
+	/**
+	 * スロークエリの閾値(ナノ秒)
+	 */
+	private volatile long slowQueryThreshold;
+
+	/**
+	 * 実行統計
+	 */
+	private final ConcurrentMap<String, QueryStatistics> statistics;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private QueryStatisticsManager() {
+		super(QueryStatisticsManager.class);
+		enabled = true;
+		slowQueryThreshold = 0;
+		statistics = new ConcurrentHashMap<String, QueryStatistics>();
+	}
+
+	/**
+	 * 実行統計の記録有無を設定する。
+	 * 
+	 * @param enable 記録する場合、<code>true</code>
+	 */
+	public static void setEnabled(final boolean enable) {
+		INSTANCE.enabled = enable;
+	}
+
+	/**
+	 * 実行統計を記録するか判断する。
+	 * 
+	 * @return 記録する場合、<code>true</code>を返す。
+	 */
+	public static boolean isEnabled() {
+		return INSTANCE.enabled;
+	}
+
+	/**
+	 * スロークエリの閾値を設定する。
+	 * 
+	 * @param millis 閾値(ミリ秒)。<code>0</code>以下の場合、スロークエリを出力しない。
+	 */
+	public static void setSlowQueryThreshold(final long millis) {
+		INSTANCE.slowQueryThreshold = TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0L));
+	}
+
+	/**
+	 * 実行結果を記録する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @param sql SQL
+	 * @param parameters パラメータ
+	 * @param prepare 準備時間(ナノ秒)
+	 * @param execute 実行時間(ナノ秒)
+	 * @param fetch 読み込み時間(ナノ秒)
+	 * @param rows 処理件数
+	 */
+	public static void record(final String name, final String sql, final List<Object> parameters, final long prepare, final long execute,
+			final long fetch, final long rows) {
+		INSTANCE.doRecord(name, sql, parameters, prepare, execute, fetch, rows);
+	}
+
+	/**
+	 * ダイナミックSQLの実行統計を取得する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @return 実行統計。記録が存在しない場合、<code>null</code>を返す。
+	 */
+	public static QueryStatistics get(final String name) {
+		return INSTANCE.statistics.get(name);
+	}
+
+	/**
+	 * 全ての実行統計を合計時間の多い順に取得する。
+	 * 
+	 * @return 実行統計リスト
+	 */
+	public static List<QueryStatistics> getAll() {
+		List<QueryStatistics> list = new ArrayList<QueryStatistics>(INSTANCE.statistics.values());
+		Collections.sort(list, new Comparator<QueryStatistics>() {
+			@Override
+			public int compare(final QueryStatistics o1, final QueryStatistics o2) {
+				long s1 = o1.getTotalTime().getSum();
+				long s2 = o2.getTotalTime().getSum();
+				return (s1 > s2) ? -1 : ((s1 < s2) ? 1 : 0);
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * 全ての実行統計を破棄する。
+	 */
+	public static void clear() {
+		INSTANCE.statistics.clear();
+	}
+
+	/**
+	 * 実行結果を記録する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @param sql SQL
+	 * @param parameters パラメータ
+	 * @param prepare 準備時間(ナノ秒)
+	 * @param execute 実行時間(ナノ秒)
+	 * @param fetch 読み込み時間(ナノ秒)
+	 * @param rows 処理件数
+	 */
+	private void doRecord(final String name, final String sql, final List<Object> parameters, final long prepare, final long execute,
+			final long fetch, final long rows) {
+		if (!enabled || null == name) {
+			return;
+		}
+
+		QueryStatistics stats = statistics.get(name);
+		if (null == stats) {
+			stats = new QueryStatistics(name);
+			QueryStatistics old = statistics.putIfAbsent(name, stats);
+			if (null != old) {
+				stats = old;
+			}
+		}
+		stats.record(prepare / 1000L, execute / 1000L, fetch / 1000L, rows);
+
+		long total = prepare + execute + fetch;
+		if (0 < slowQueryThreshold && total >= slowQueryThreshold) {
+			warn(String.format("Slow query %s : %d ms (prepare %d ms, execute %d ms, fetch %d ms, rows %d) : %s : %s", name,
+					TimeUnit.NANOSECONDS.toMillis(total), TimeUnit.NANOSECONDS.toMillis(prepare), TimeUnit.NANOSECONDS.toMillis(execute),
+					TimeUnit.NANOSECONDS.toMillis(fetch), rows, sql, parameters));
+		}
+	}
+}
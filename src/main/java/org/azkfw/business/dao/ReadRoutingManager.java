@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.azkfw.business.manager.AbstractManager;
+
+/**
+ * このクラスは、参照用コネクションへの振り分けを停止するコネクションを管理するマネージャークラスです。
+ * <p>
+ * 参照用コネクションにはコネクションで未コミットの更新が反映されないため、
+ * 更新したコネクションをコミットまたはロールバックまで記録し、そのコネクションを使用する参照処理は振り分けない。<br/>
+ * コミットまたはロールバック後に{@link #complete(Connection)}を呼び出すこと。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class ReadRoutingManager extends AbstractManager {
+
+	/**
+	 * Instance
+	 */
+	private static final ReadRoutingManager INSTANCE = new ReadRoutingManager();
+
+	/**
+	 * 未コミットの更新があるコネクション
+	 */
+	private final Map<Connection, Boolean> connections;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private ReadRoutingManager() {
+		super(ReadRoutingManager.class);
+		connections = new WeakHashMap<Connection, Boolean>();
+	}
+
+	/**
+	 * コネクションで更新したことを記録する。
+	 * <p>
+	 * 自動コミットの場合は記録しない。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 */
+	public static void written(final Connection connection) {
+		INSTANCE.doWritten(connection);
+	}
+
+	/**
+	 * コネクションに未コミットの更新があるか判断する。
+	 * 
+	 * @param connection コネクション
+	 * @return 未コミットの更新がある場合、<code>true</code>を返す。
+	 */
+	public static boolean isWritten(final Connection connection) {
+		return INSTANCE.doIsWritten(connection);
+	}
+
+	/**
+	 * コネクションのトランザクション終了を通知する。
+	 * 
+	 * @param connection コネクション
+	 */
+	public static void complete(final Connection connection) {
+		INSTANCE.doComplete(connection);
+	}
+
+	/**
+	 * コネクションで更新したことを記録する。
+	 * 
+	 * @param connection コネクション
+	 */
+	private void doWritten(final Connection connection) {
+		if (null == connection) {
+			return;
+		}
+		try {
+			if (connection.getAutoCommit()) {
+				return;
+			}
+		} catch (SQLException ex) {
+			// 判定できない場合は未コミットとして扱う
+		}
+		synchronized (connections) {
+			connections.put(connection, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * コネクションに未コミットの更新があるか判断する。
+	 * 
+	 * @param connection コネクション
+	 * @return 未コミットの更新がある場合、<code>true</code>を返す。
+	 */
+	private boolean doIsWritten(final Connection connection) {
+		if (null == connection) {
+			return false;
+		}
+		synchronized (connections) {
+			return !connections.isEmpty() && connections.containsKey(connection);
+		}
+	}
+
+	/**
+	 * コネクションのトランザクション終了を通知する。
+	 * 
+	 * @param connection コネクション
+	 */
+	private void doComplete(final Connection connection) {
+		synchronized (connections) {
+			if (!connections.isEmpty()) {
+				connections.remove(connection);
+			}
+		}
+	}
+}
@@ -0,0 +1,266 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このクラスは、複数のレプリカから重み付きラウンドロビンでコネクションを提供するクラスです。
+ * <p>
+ * 各レプリカは設定した重みに比例して選択される(smooth weighted round-robin)。<br/>
+ * 失敗を報告されたレプリカは実効重みを半減し、連続で失敗した場合は一定時間選択対象から除外する。
+ * 成功を報告されるごとに実効重みを1ずつ回復する。<br/>
+ * 全てのレプリカが除外されている場合、{@link #acquire()}は例外をスローする。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class ReplicaConnectionProvider extends LoggingObject implements DatabaseConnectionProvider {
+
+	/** デフォルトの除外時間(ミリ秒) */
+	public static final long DEFAULT_QUARANTINE = 30 * 1000L;
+
+	/** 除外するまでの連続失敗回数 */
+	private static final int FAILURE_THRESHOLD = 3;
+
+	/** レプリカ */
+	private final List<Replica> replicas;
+
+	/** 貸出中のコネクション */
+	private final Map<DatabaseConnection, Replica> borrowed;
+
+	/** 除外時間(ミリ秒) */
+	private long quarantine;
+
+	/**
+	 * コンストラクタ
+	 */
+	public ReplicaConnectionProvider() {
+		super(ReplicaConnectionProvider.class);
+		replicas = new ArrayList<Replica>();
+		borrowed = new IdentityHashMap<DatabaseConnection, Replica>();
+		quarantine = DEFAULT_QUARANTINE;
+	}
+
+	/**
+	 * レプリカを追加する。
+	 * 
+	 * @param name 名前
+	 * @param provider レプリカのコネクションプロバイダー
+	 * @param weight 重み
+	 */
+	public synchronized void addReplica(final String name, final DatabaseConnectionProvider provider, final int weight) {
+		if (0 >= weight) {
+			throw new IllegalArgumentException("Illegal weight.[" + weight + "]");
+		}
+		replicas.add(new Replica(name, provider, weight));
+	}
+
+	/**
+	 * 除外時間を設定する。
+	 * 
+	 * @param millis 除外時間(ミリ秒)
+	 */
+	public synchronized void setQuarantine(final long millis) {
+		quarantine = millis;
+	}
+
+	@Override
+	public DatabaseConnection acquire() throws DataAccessServiceException {
+		DataAccessServiceException error = null;
+		int count;
+		synchronized (this) {
+			count = replicas.size();
+		}
+		for (int i = 0; i < count; i++) {
+			Replica replica = select();
+			if (null == replica) {
+				break;
+			}
+			try {
+				DatabaseConnection connection = replica.provider.acquire();
+				synchronized (this) {
+					borrowed.put(connection, replica);
+				}
+				return connection;
+			} catch (DataAccessServiceException ex) {
+				warn(String.format("Replica connection error.[%s]", replica.name), ex);
+				failure(replica);
+				error = ex;
+			}
+		}
+		if (null != error) {
+			throw error;
+		}
+		throw new DataAccessServiceException("No available replica.");
+	}
+
+	@Override
+	public void release(final DatabaseConnection connection) {
+		Replica replica = null;
+		synchronized (this) {
+			replica = borrowed.remove(connection);
+		}
+		if (null != replica) {
+			replica.provider.release(connection);
+		}
+	}
+
+	/**
+	 * コネクションでの実行成功を報告する。
+	 * 
+	 * @param connection コネクション
+	 */
+	public void success(final DatabaseConnection connection) {
+		synchronized (this) {
+			Replica replica = borrowed.get(connection);
+			if (null != replica) {
+				replica.failures = 0;
+				replica.effectiveWeight = Math.min(replica.effectiveWeight + 1, replica.weight);
+			}
+		}
+	}
+
+	/**
+	 * コネクションでの実行失敗を報告する。
+	 * 
+	 * @param connection コネクション
+	 */
+	public void failure(final DatabaseConnection connection) {
+		Replica replica = null;
+		synchronized (this) {
+			replica = borrowed.get(connection);
+		}
+		if (null != replica) {
+			failure(replica);
+		}
+	}
+
+	/**
+	 * レプリカの実効重みを取得する。
+	 * 
+	 * @param name 名前
+	 * @return 実効重み。除外中の場合、<code>0</code>を返す。存在しない場合、<code>-1</code>を返す。
+	 */
+	public synchronized int getEffectiveWeight(final String name) {
+		long now = System.currentTimeMillis();
+		for (Replica replica : replicas) {
+			if (replica.name.equals(name)) {
+				return (replica.quarantineUntil > now) ? 0 : replica.effectiveWeight;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * レプリカを選択する。
+	 * 
+	 * @return レプリカ。選択可能なレプリカが存在しない場合、<code>null</code>を返す。
+	 */
+	private synchronized Replica select() {
+		long now = System.currentTimeMillis();
+		Replica best = null;
+		int total = 0;
+		for (Replica replica : replicas) {
+			if (replica.quarantineUntil > now) {
+				continue;
+			}
+			replica.currentWeight += replica.effectiveWeight;
+			total += replica.effectiveWeight;
+			if (null == best || replica.currentWeight > best.currentWeight) {
+				best = replica;
+			}
+		}
+		if (null != best) {
+			best.currentWeight -= total;
+		}
+		return best;
+	}
+
+	/**
+	 * レプリカの失敗を記録する。
+	 * 
+	 * @param replica レプリカ
+	 */
+	private synchronized void failure(final Replica replica) {
+		replica.failures++;
+		replica.effectiveWeight = Math.max(replica.effectiveWeight / 2, 1);
+		if (FAILURE_THRESHOLD <= replica.failures) {
+			replica.failures = 0;
+			replica.currentWeight = 0;
+			replica.quarantineUntil = System.currentTimeMillis() + quarantine;
+			warn(String.format("Replica quarantined.[%s]", replica.name));
+		}
+	}
+
+	/**
+	 * このクラスは、レプリカの状態を保持するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Replica {
+
+		/** 名前 */
+		private final String name;
+
+		/** コネクションプロバイダー */
+		private final DatabaseConnectionProvider provider;
+
+		/** 重み */
+		private final int weight;
+
+		/** 実効重み */
+		private int effectiveWeight;
+
+		/** 現在の重み */
+		private int currentWeight;
+
+		/** 連続失敗回数 */
+		private int failures;
+
+		/** 除外終了時刻 */
+		private long quarantineUntil;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aName 名前
+		 * @param aProvider コネクションプロバイダー
+		 * @param aWeight 重み
+		 */
+		private Replica(final String aName, final DatabaseConnectionProvider aProvider, final int aWeight) {
+			name = aName;
+			provider = aProvider;
+			weight = aWeight;
+			effectiveWeight = aWeight;
+			currentWeight = 0;
+			failures = 0;
+			quarantineUntil = 0;
+		}
+	}
+}
@@ -0,0 +1,369 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * このクラスは、取得データを配列で保持するマップクラスです。
+ * <p>
+ * キー情報は{@link RowSchema}で共有し、値のみを配列で保持することでデータごとのメモリ使用量を抑える。<br/>
+ * スキーマに存在しないキーを設定した場合、またはキーを削除した場合は通常のマップと同様に動作する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class Row extends AbstractMap<String, Object> implements Serializable {
+
+	/** serialVersionUID */
+	private static final long serialVersionUID = 8313616431314651046L;
+
+	/** スキーマ */
+	private final RowSchema schema;
+
+	/** 値。キーを削除した場合、<code>null</code>となる。 */
+	private Object[] values;
+
+	/** スキーマに存在しないキーの値 */
+	private Map<String, Object> extra;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aSchema スキーマ
+	 */
+	public Row(final RowSchema aSchema) {
+		schema = aSchema;
+		values = new Object[aSchema.size()];
+		extra = null;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aSchema スキーマ
+	 * @param aValues 値(格納位置順)
+	 */
+	Row(final RowSchema aSchema, final Object[] aValues) {
+		schema = aSchema;
+		values = aValues;
+		extra = null;
+	}
+
+	/**
+	 * スキーマを取得する。
+	 * 
+	 * @return スキーマ
+	 */
+	public RowSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * 格納位置の値を取得する。
+	 * 
+	 * @param index 格納位置
+	 * @return 値
+	 */
+	public Object getValue(final int index) {
+		return values[index];
+	}
+
+	/**
+	 * 全ての値を配列で保持しているか判定する。
+	 * 
+	 * @return 配列で保持している場合、<code>true</code>を返す。
+	 */
+	boolean isCompact() {
+		return null != values && null == extra;
+	}
+
+	/**
+	 * カラムの値を設定する。
+	 * 
+	 * @param column カラム位置(0始まり)
+	 * @param value 値
+	 */
+	void setColumnValue(final int column, final Object value) {
+		int slot = schema.getSlot(column);
+		if (0 <= slot) {
+			values[slot] = value;
+		}
+	}
+
+	/**
+	 * データを複製する。
+	 * 
+	 * @return データ
+	 */
+	Row copy() {
+		Row row = null;
+		if (isCompact()) {
+			row = new Row(schema, values.clone());
+		} else {
+			row = new Row(schema);
+			row.values = null;
+			row.extra = new LinkedHashMap<String, Object>(this);
+		}
+		return row;
+	}
+
+	@Override
+	public int size() {
+		int size = (null != extra) ? extra.size() : 0;
+		if (null != values) {
+			size += values.length;
+		}
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		if (null != values && 0 <= schema.indexOf(key)) {
+			return true;
+		}
+		return (null != extra) && extra.containsKey(key);
+	}
+
+	@Override
+	public Object get(final Object key) {
+		if (null != values) {
+			int index = schema.indexOf(key);
+			if (0 <= index) {
+				return values[index];
+			}
+		}
+		return (null != extra) ? extra.get(key) : null;
+	}
+
+	@Override
+	public Object put(final String key, final Object value) {
+		if (null != values) {
+			int index = schema.indexOf(key);
+			if (0 <= index) {
+				Object old = values[index];
+				values[index] = value;
+				return old;
+			}
+		}
+		if (null == extra) {
+			extra = new LinkedHashMap<String, Object>();
+		}
+		return extra.put(key, value);
+	}
+
+	@Override
+	public Object remove(final Object key) {
+		if (null != values && 0 <= schema.indexOf(key)) {
+			detach();
+		}
+		return (null != extra) ? extra.remove(key) : null;
+	}
+
+	@Override
+	public void clear() {
+		values = null;
+		extra = null;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<Map.Entry<String, Object>>() {
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return Row.this.size();
+			}
+		};
+	}
+
+	/**
+	 * 配列で保持している値をマップへ移し、通常のマップとして動作させる。
+	 */
+	private void detach() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < values.length; i++) {
+			map.put(schema.getKey(i), values[i]);
+		}
+		if (null != extra) {
+			map.putAll(extra);
+		}
+		values = null;
+		extra = map;
+	}
+
+	/**
+	 * このクラスは、データのエントリーを走査するイテレータークラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+		/** 次の格納位置 */
+		private int index;
+
+		/** 直前に返した格納位置。配列の値を返していない場合、<code>-1</code> */
+		private int last;
+
+		/** スキーマに存在しないキーのイテレーター */
+		private Iterator<Map.Entry<String, Object>> extraIterator;
+
+		/**
+		 * コンストラクタ
+		 */
+		public EntryIterator() {
+			index = (null != values) ? 0 : Integer.MAX_VALUE;
+			last = -1;
+			extraIterator = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (null != values && index < values.length) {
+				return true;
+			}
+			return null != extra && extraIterator().hasNext();
+		}
+
+		@Override
+		public Map.Entry<String, Object> next() {
+			if (null != values && index < values.length) {
+				last = index;
+				return new SlotEntry(index++);
+			}
+			if (null == extra) {
+				throw new NoSuchElementException();
+			}
+			last = -1;
+			return extraIterator().next();
+		}
+
+		@Override
+		public void remove() {
+			if (0 <= last) {
+				// Row#remove(Object)と同様にマップへ移してから削除し、続きをマップから走査する
+				String key = schema.getKey(last);
+				last = -1;
+				detach();
+				extraIterator = extra.entrySet().iterator();
+				while (!key.equals(extraIterator.next().getKey())) {
+					// 削除するエントリーまで進める
+				}
+				extraIterator.remove();
+				return;
+			}
+			if (null == extraIterator) {
+				throw new IllegalStateException();
+			}
+			extraIterator.remove();
+		}
+
+		/**
+		 * スキーマに存在しないキーのイテレーターを取得する。
+		 * 
+		 * @return イテレーター
+		 */
+		private Iterator<Map.Entry<String, Object>> extraIterator() {
+			if (null == extraIterator) {
+				extraIterator = extra.entrySet().iterator();
+			}
+			return extraIterator;
+		}
+	}
+
+	/**
+	 * このクラスは、配列で保持している値のエントリークラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private final class SlotEntry implements Map.Entry<String, Object> {
+
+		/** 格納位置 */
+		private final int index;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aIndex 格納位置
+		 */
+		public SlotEntry(final int aIndex) {
+			index = aIndex;
+		}
+
+		@Override
+		public String getKey() {
+			return schema.getKey(index);
+		}
+
+		@Override
+		public Object getValue() {
+			if (null == values) {
+				return Row.this.get(getKey());
+			}
+			return values[index];
+		}
+
+		@Override
+		public Object setValue(final Object value) {
+			if (null == values) {
+				return Row.this.put(getKey(), value);
+			}
+			Object old = values[index];
+			values[index] = value;
+			return old;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+			Object value = getValue();
+			return getKey().equals(e.getKey()) && ((null == value) ? null == e.getValue() : value.equals(e.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			Object value = getValue();
+			return getKey().hashCode() ^ ((null == value) ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+}
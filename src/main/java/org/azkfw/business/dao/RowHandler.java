@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.Map;
+
+/**
+ * このインターフェースは、取得データを1件ずつ処理するハンドラー機能を定義したインターフェースです。
+ * <p>
+ * 全件をメモリ上に保持せずにデータを処理する場合に使用する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public interface RowHandler {
+
+	/**
+	 * データを処理する。
+	 * 
+	 * @param data データ
+	 * @return 処理を継続する場合、<code>true</code>を返す。以降のデータを読み飛ばす場合、<code>false</code>を返す。
+	 * @throws DataAccessServiceException データの処理時に問題が発生した場合
+	 */
+	public boolean handle(final Map<String, Object> data) throws DataAccessServiceException;
+}
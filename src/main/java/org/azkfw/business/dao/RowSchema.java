@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * このクラスは、取得データのキー情報を保持するスキーマクラスです。
+ * <p>
+ * 同一の実行結果の全データで共有し、キーから値の格納位置を求める。<br/>
+ * 同じキーとなるカラムが複数存在する場合、名前で値を取得した場合と同様に最初のカラムの値を格納する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class RowSchema implements Serializable {
+
+	/** serialVersionUID */
+	private static final long serialVersionUID = -2360307569227658035L;
+
+	/** キー(重複なし) */
+	private final String[] keys;
+
+	/** キーと格納位置のマップ */
+	private final Map<String, Integer> indexes;
+
+	/** カラムごとの格納位置 */
+	private final int[] slots;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aKeys カラムごとのキー。<code>null</code>のカラム及びキーが重複する2番目以降のカラムはデータへ格納しない。
+	 */
+	public RowSchema(final List<String> aKeys) {
+		List<String> list = new ArrayList<String>();
+		indexes = new HashMap<String, Integer>();
+		slots = new int[aKeys.size()];
+		for (int i = 0; i < aKeys.size(); i++) {
+			String key = aKeys.get(i);
+			if (null == key) {
+				slots[i] = -1;
+				continue;
+			}
+			if (indexes.containsKey(key)) {
+				slots[i] = -1;
+				continue;
+			}
+			Integer index = Integer.valueOf(list.size());
+			list.add(key);
+			indexes.put(key, index);
+			slots[i] = index.intValue();
+		}
+		keys = list.toArray(new String[list.size()]);
+	}
+
+	/**
+	 * キー数を取得する。
+	 * 
+	 * @return キー数
+	 */
+	public int size() {
+		return keys.length;
+	}
+
+	/**
+	 * カラム数を取得する。
+	 * 
+	 * @return カラム数
+	 */
+	public int getColumnCount() {
+		return slots.length;
+	}
+
+	/**
+	 * キーを取得する。
+	 * 
+	 * @param index 格納位置
+	 * @return キー
+	 */
+	public String getKey(final int index) {
+		return keys[index];
+	}
+
+	/**
+	 * キー一覧を取得する。
+	 * 
+	 * @return キー一覧
+	 */
+	public List<String> getKeys() {
+		List<String> list = new ArrayList<String>(keys.length);
+		Collections.addAll(list, keys);
+		return list;
+	}
+
+	/**
+	 * キーの格納位置を取得する。
+	 * 
+	 * @param key キー
+	 * @return 格納位置。キーが存在しない場合、<code>-1</code>を返す。
+	 */
+	public int indexOf(final Object key) {
+		Integer index = indexes.get(key);
+		return (null != index) ? index.intValue() : -1;
+	}
+
+	/**
+	 * カラムの値の格納位置を取得する。
+	 * 
+	 * @param column カラム位置(0始まり)
+	 * @return 格納位置。データへ格納しないカラムの場合、<code>-1</code>を返す。
+	 */
+	public int getSlot(final int column) {
+		return slots[column];
+	}
+}
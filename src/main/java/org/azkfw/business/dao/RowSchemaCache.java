@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、SQLごとに取得データのスキーマをキャッシュするクラスです。
+ * <p>
+ * カラムラベルからキー(キャメルケース)への変換を実行ごとに行わないようにする。<br/>
+ * カラム数が変化した場合はスキーマを再作成する。テーブル定義を変更した場合は{@link #clear()}を呼び出すこと。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class RowSchemaCache {
+
+	/**
+	 * 最大キャッシュ件数
+	 */
+	private static final int MAX_SIZE = 4096;
+
+	/**
+	 * キャッシュ
+	 */
+	private static final ConcurrentMap<String, RowSchema> SCHEMAS = new ConcurrentHashMap<String, RowSchema>();
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private RowSchemaCache() {
+
+	}
+
+	/**
+	 * スキーマを取得する。
+	 * <p>
+	 * キャッシュに存在しない場合、メタデータからスキーマを作成する。
+	 * </p>
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @param sql SQL
+	 * @param md メタデータ
+	 * @return スキーマ
+	 * @throws SQLException メタデータの取得時に問題が発生した場合
+	 */
+	public static RowSchema get(final String name, final String sql, final ResultSetMetaData md) throws SQLException {
+		return get(name, sql, md, new String[0]);
+	}
+
+	/**
+	 * スキーマを取得する。
+	 * <p>
+	 * キャッシュに存在しない場合、メタデータからスキーマを作成する。
+	 * </p>
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @param sql SQL
+	 * @param md メタデータ
+	 * @param excludes データへ格納しないカラムのラベル
+	 * @return スキーマ
+	 * @throws SQLException メタデータの取得時に問題が発生した場合
+	 */
+	public static RowSchema get(final String name, final String sql, final ResultSetMetaData md, final String... excludes) throws SQLException {
+		String key = name + "\n" + sql;
+		int count = md.getColumnCount();
+
+		RowSchema schema = SCHEMAS.get(key);
+		if (null == schema || schema.getColumnCount() != count) {
+			schema = create(md, excludes);
+
+			if (MAX_SIZE <= SCHEMAS.size()) {
+				Iterator<String> it = SCHEMAS.keySet().iterator();
+				if (it.hasNext()) {
+					SCHEMAS.remove(it.next());
+				}
+			}
+			SCHEMAS.put(key, schema);
+		}
+		return schema;
+	}
+
+	/**
+	 * メタデータからスキーマを作成する。
+	 * 
+	 * @param md メタデータ
+	 * @return スキーマ
+	 * @throws SQLException メタデータの取得時に問題が発生した場合
+	 */
+	public static RowSchema create(final ResultSetMetaData md) throws SQLException {
+		return create(md, new String[0]);
+	}
+
+	/**
+	 * メタデータからスキーマを作成する。
+	 * 
+	 * @param md メタデータ
+	 * @param excludes データへ格納しないカラムのラベル
+	 * @return スキーマ
+	 * @throws SQLException メタデータの取得時に問題が発生した場合
+	 */
+	public static RowSchema create(final ResultSetMetaData md, final String... excludes) throws SQLException {
+		int count = md.getColumnCount();
+		List<String> keys = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++) {
+			String label = md.getColumnLabel(i + 1);
+			if (isExcluded(label, excludes)) {
+				keys.add(null);
+			} else {
+				keys.add(StringUtility.toCamelcase(label));
+			}
+		}
+		return new RowSchema(keys);
+	}
+
+	/**
+	 * データへ格納しないカラムか判断する。
+	 * 
+	 * @param label カラムラベル
+	 * @param excludes データへ格納しないカラムのラベル
+	 * @return 格納しない場合、<code>true</code>を返す。
+	 */
+	private static boolean isExcluded(final String label, final String[] excludes) {
+		if (null != excludes) {
+			for (String exclude : excludes) {
+				if (null != exclude && exclude.equalsIgnoreCase(label)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * キャッシュを全て破棄する。
+	 */
+	public static void clear() {
+		SCHEMAS.clear();
+	}
+}
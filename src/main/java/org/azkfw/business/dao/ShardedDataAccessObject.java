@@ -0,0 +1,790 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.azkfw.business.dao.export.DataExporter;
+import org.azkfw.business.paging.KeysetPaging;
+import org.azkfw.business.paging.PagePaging;
+import org.azkfw.business.paging.Paging;
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、複数のデータベースに分割されたデータへアクセスするデータアクセスオブジェクトクラスです。
+ * <p>
+ * シャードキーを設定した場合、{@link ShardRouter}で決定した1つのシャードで実行する。<br/>
+ * シャードキーを設定しない場合、参照系の処理は全シャードで並行して実行し、結果を統合する。件数は合計し、データは並び順に従ってマージする。
+ * 更新系の処理はシャードキーが必須となる。
+ * </p>
+ * <p>
+ * ページングは各シャードから先頭ページから対象ページまでのデータを取得し、マージ後に対象ページを切り出す。
+ * キーセットページングの場合はキーの並び順でマージする。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class ShardedDataAccessObject extends AbstractDataAccessObject {
+
+	/** デフォルトのルーター(シャードキーのハッシュ値) */
+	private static final ShardRouter DEFAULT_ROUTER = new ShardRouter() {
+		@Override
+		public int route(final Object key, final int count) {
+			return (key.hashCode() & Integer.MAX_VALUE) % count;
+		}
+	};
+
+	/** シャードごとのデータアクセスオブジェクト */
+	private final List<DataAccessObject> shards;
+
+	/** ルーター */
+	private ShardRouter router;
+
+	/** シャードキー */
+	private Object shardKey;
+
+	/** 並び順 */
+	private Comparator<Map<String, Object>> comparator;
+
+	/** 並び順のキー */
+	private final List<String> orderKeys;
+
+	/** 並び順の昇順フラグ */
+	private final List<Boolean> orderAscendings;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aShards シャードごとのデータアクセスオブジェクト
+	 */
+	public ShardedDataAccessObject(final List<DataAccessObject> aShards) {
+		super(ShardedDataAccessObject.class);
+		if (null == aShards || 0 == aShards.size()) {
+			throw new IllegalArgumentException("Shards is empty.");
+		}
+		shards = new ArrayList<DataAccessObject>(aShards);
+		router = DEFAULT_ROUTER;
+		shardKey = null;
+		comparator = null;
+		orderKeys = new ArrayList<String>();
+		orderAscendings = new ArrayList<Boolean>();
+	}
+
+	/**
+	 * シャード数を取得する。
+	 * 
+	 * @return シャード数
+	 */
+	public final int getShardCount() {
+		return shards.size();
+	}
+
+	/**
+	 * ルーターを設定する。
+	 * 
+	 * @param aRouter ルーター
+	 */
+	public final void setShardRouter(final ShardRouter aRouter) {
+		router = (null != aRouter) ? aRouter : DEFAULT_ROUTER;
+	}
+
+	/**
+	 * シャードキーを設定する。
+	 * 
+	 * @param aKey シャードキー。<code>null</code>の場合、全シャードで実行する。
+	 */
+	public final void setShardKey(final Object aKey) {
+		shardKey = aKey;
+	}
+
+	/**
+	 * マージ時の並び順を設定する。
+	 * <p>
+	 * 各シャードのSQLは同じ並び順でデータを返すこと。
+	 * </p>
+	 * 
+	 * @param aComparator 並び順
+	 */
+	public final void setComparator(final Comparator<Map<String, Object>> aComparator) {
+		comparator = aComparator;
+		orderKeys.clear();
+		orderAscendings.clear();
+	}
+
+	/**
+	 * マージ時の並び順のキーを追加する。
+	 * <p>
+	 * 各シャードのSQLは同じ並び順(ORDER BY)でデータを返すこと。
+	 * </p>
+	 * 
+	 * @param key キー
+	 * @param ascending 昇順の場合、<code>true</code>
+	 */
+	public final void addOrder(final String key, final boolean ascending) {
+		orderKeys.add(key);
+		orderAscendings.add(Boolean.valueOf(ascending));
+		comparator = new KeyComparator(new ArrayList<String>(orderKeys), new ArrayList<Boolean>(orderAscendings));
+	}
+
+	@Override
+	protected boolean doExecute() throws DataAccessServiceException {
+		return route().execute();
+	}
+
+	@Override
+	protected int doUpdate() throws DataAccessServiceException {
+		return route().update();
+	}
+
+	@Override
+	protected int[] doUpdateBatch() throws DataAccessServiceException {
+		return route().updateBatch();
+	}
+
+	@Override
+	protected long doCount() throws DataAccessServiceException {
+		if (null != shardKey) {
+			return route().count();
+		}
+
+		long result = 0;
+		for (Long count : scatter(new ShardCall<Long>() {
+			@Override
+			public Long call(final DataAccessObject dao) throws DataAccessServiceException {
+				return Long.valueOf(dao.count());
+			}
+		})) {
+			result += count.longValue();
+		}
+		return result;
+	}
+
+	@Override
+	protected Map<String, Object> doGet() throws DataAccessServiceException {
+		if (null != shardKey) {
+			return route().get();
+		}
+
+		for (Map<String, Object> data : scatter(new ShardCall<Map<String, Object>>() {
+			@Override
+			public Map<String, Object> call(final DataAccessObject dao) throws DataAccessServiceException {
+				return dao.get();
+			}
+		})) {
+			if (null != data) {
+				return data;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	protected List<Map<String, Object>> doQuery() throws DataAccessServiceException {
+		return doQuery(null);
+	}
+
+	@Override
+	protected List<Map<String, Object>> doQuery(final Paging paging) throws DataAccessServiceException {
+		if (null != shardKey) {
+			return route().query(paging);
+		}
+
+		if (null == paging) {
+			List<List<Map<String, Object>>> lists = scatter(new ShardCall<List<Map<String, Object>>>() {
+				@Override
+				public List<Map<String, Object>> call(final DataAccessObject dao) throws DataAccessServiceException {
+					return dao.query();
+				}
+			});
+			return merge(lists, comparator, 0, Long.MAX_VALUE);
+		}
+
+		if (StringUtility.isNotEmpty(paging.getKey())) {
+			// 各シャードのページをキーの並び順でマージする
+			List<List<Map<String, Object>>> lists = scatter(new ShardCall<List<Map<String, Object>>>() {
+				@Override
+				public List<Map<String, Object>> call(final DataAccessObject dao) throws DataAccessServiceException {
+					return dao.query(paging);
+				}
+			});
+			boolean ascending = true;
+			if (paging instanceof KeysetPaging) {
+				KeysetPaging keyset = (KeysetPaging) paging;
+				ascending = (null != keyset.getSinceIdValue() || null == keyset.getMaxIdValue());
+			} else {
+				ascending = (null != paging.getSinceId() || null == paging.getMaxId());
+			}
+			List<String> keys = new ArrayList<String>();
+			keys.add(paging.getKey());
+			List<Boolean> ascendings = new ArrayList<Boolean>();
+			ascendings.add(Boolean.valueOf(ascending));
+			return merge(lists, new KeyComparator(keys, ascendings), 0, paging.getSize());
+		}
+
+		// 各シャードから対象ページまでのデータを取得し、マージ後に切り出す
+		final long offset = paging.getPage() * paging.getSize();
+		final Paging head = new PagePaging(0, offset + paging.getSize());
+		List<List<Map<String, Object>>> lists = scatter(new ShardCall<List<Map<String, Object>>>() {
+			@Override
+			public List<Map<String, Object>> call(final DataAccessObject dao) throws DataAccessServiceException {
+				return dao.query(head);
+			}
+		});
+		return merge(lists, comparator, offset, paging.getSize());
+	}
+
+	@Override
+	protected void doQuery(final Paging paging, final RowHandler handler) throws DataAccessServiceException {
+		DataCursor cursor = doCursor(paging);
+		try {
+			while (cursor.next()) {
+				if (!handler.handle(cursor.get())) {
+					break;
+				}
+			}
+		} finally {
+			cursor.close();
+		}
+	}
+
+	@Override
+	protected PagedResult doQueryPage(final Paging paging) throws DataAccessServiceException {
+		if (null != shardKey) {
+			return route().queryPage(paging);
+		}
+
+		long total = doCount();
+		List<Map<String, Object>> data = doQuery(paging);
+		return new PagedResult(data, total, paging);
+	}
+
+	@Override
+	protected DataCursor doCursor(final Paging paging) throws DataAccessServiceException {
+		if (null != shardKey) {
+			return route().cursor(paging);
+		}
+		if (null != paging) {
+			return new ListCursor(doQuery(paging));
+		}
+
+		List<DataCursor> cursors = new ArrayList<DataCursor>();
+		try {
+			for (DataAccessObject dao : shards) {
+				configure(dao);
+				cursors.add(dao.cursor());
+			}
+		} catch (DataAccessServiceException ex) {
+			for (DataCursor cursor : cursors) {
+				cursor.close();
+			}
+			throw ex;
+		}
+		return new MergeCursor(cursors, comparator);
+	}
+
+	@Override
+	protected long doExport(final Paging paging, final DataExporter exporter) throws DataAccessServiceException {
+		if (null != shardKey) {
+			return route().export(paging, exporter);
+		}
+		if (null != paging || null != comparator) {
+			throw new DataAccessServiceException("Unsupported sharded export with paging or order.");
+		}
+
+		// 出力の開始と終了は1回のみ通知する
+		long result = 0;
+		ShardExporter shardExporter = new ShardExporter(exporter);
+		for (DataAccessObject dao : shards) {
+			configure(dao);
+			result += dao.export(shardExporter);
+		}
+		try {
+			if (shardExporter.started) {
+				exporter.end();
+			}
+		} catch (IOException ex) {
+			fatal(ex);
+			throw new DataAccessServiceException(ex);
+		}
+		return result;
+	}
+
+	/**
+	 * シャードキーから実行先のシャードを取得する。
+	 * 
+	 * @return データアクセスオブジェクト
+	 * @throws DataAccessServiceException シャードキーが設定されていない場合
+	 */
+	private DataAccessObject route() throws DataAccessServiceException {
+		if (null == shardKey) {
+			throw new DataAccessServiceException("Shard key is not set.");
+		}
+		int index = router.route(shardKey, shards.size());
+		if (0 > index || index >= shards.size()) {
+			throw new DataAccessServiceException(String.format("Illegal shard.[key: %s, shard: %d]", shardKey, index));
+		}
+		DataAccessObject dao = shards.get(index);
+		configure(dao);
+		return dao;
+	}
+
+	/**
+	 * シャードのデータアクセスオブジェクトへ設定を反映する。
+	 * 
+	 * @param dao データアクセスオブジェクト
+	 */
+	private void configure(final DataAccessObject dao) {
+		dao.setFetchSize(getFetchSize());
+		dao.setBatchSize(getBatchSize());
+	}
+
+	/**
+	 * 全シャードで並行して実行する。
+	 * <p>
+	 * 先頭のシャードは呼び出し元スレッドで実行する。非同期実行のスレッドから呼び出された場合、全シャードを順に実行する。
+	 * </p>
+	 * 
+	 * @param call 処理
+	 * @return シャードごとの実行結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private <V> List<V> scatter(final ShardCall<V> call) throws DataAccessServiceException {
+		List<V> results = new ArrayList<V>(shards.size());
+		for (DataAccessObject dao : shards) {
+			configure(dao);
+		}
+
+		if (1 == shards.size() || AsyncDataAccessManager.isWorkerThread()) {
+			for (DataAccessObject dao : shards) {
+				results.add(call.call(dao));
+			}
+			return results;
+		}
+
+		List<Future<V>> futures = new ArrayList<Future<V>>(shards.size() - 1);
+		boolean success = false;
+		try {
+			for (int i = 1; i < shards.size(); i++) {
+				final DataAccessObject dao = shards.get(i);
+				futures.add(AsyncDataAccessManager.submit(new Callable<V>() {
+					@Override
+					public V call() throws Exception {
+						return call.call(dao);
+					}
+				}));
+			}
+
+			results.add(call.call(shards.get(0)));
+			for (Future<V> future : futures) {
+				results.add(get(future));
+			}
+			success = true;
+		} finally {
+			if (!success) {
+				for (Future<V> future : futures) {
+					future.cancel(false);
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * 実行結果を待機する。
+	 * 
+	 * @param future 実行結果
+	 * @return 結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private static <V> V get(final Future<V> future) throws DataAccessServiceException {
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DataAccessServiceException(ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof DataAccessServiceException) {
+				throw (DataAccessServiceException) ex.getCause();
+			}
+			throw new DataAccessServiceException(ex.getCause());
+		}
+	}
+
+	/**
+	 * シャードごとのデータをマージする。
+	 * <p>
+	 * 並び順が指定されていない場合、シャード順に連結する。
+	 * </p>
+	 * 
+	 * @param lists シャードごとのデータ(並び順に整列済み)
+	 * @param order 並び順
+	 * @param offset 読み飛ばす件数
+	 * @param limit 最大件数
+	 * @return データ
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	private static List<Map<String, Object>> merge(final List<List<Map<String, Object>>> lists, final Comparator<Map<String, Object>> order,
+			final long offset, final long limit) throws DataAccessServiceException {
+		List<DataCursor> cursors = new ArrayList<DataCursor>(lists.size());
+		for (List<Map<String, Object>> list : lists) {
+			cursors.add(new ListCursor(list));
+		}
+
+		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+		long skip = offset;
+		MergeCursor cursor = new MergeCursor(cursors, order);
+		while (result.size() < limit && cursor.next()) {
+			if (0 < skip) {
+				skip--;
+			} else {
+				result.add(cursor.get());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * このインターフェースは、シャードで実行する処理を表現したインターフェースです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static interface ShardCall<V> {
+
+		/**
+		 * 処理を実行する。
+		 * 
+		 * @param dao シャードのデータアクセスオブジェクト
+		 * @return 実行結果
+		 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+		 */
+		public V call(final DataAccessObject dao) throws DataAccessServiceException;
+	}
+
+	/**
+	 * このクラスは、キーの値でデータを比較するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class KeyComparator implements Comparator<Map<String, Object>> {
+
+		/** キー */
+		private final List<String> keys;
+
+		/** 昇順フラグ */
+		private final List<Boolean> ascendings;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aKeys キー
+		 * @param aAscendings 昇順フラグ
+		 */
+		private KeyComparator(final List<String> aKeys, final List<Boolean> aAscendings) {
+			keys = aKeys;
+			ascendings = aAscendings;
+		}
+
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public int compare(final Map<String, Object> o1, final Map<String, Object> o2) {
+			for (int i = 0; i < keys.size(); i++) {
+				Object v1 = value(o1, keys.get(i));
+				Object v2 = value(o2, keys.get(i));
+				int result = 0;
+				if (null == v1) {
+					result = (null == v2) ? 0 : -1;
+				} else if (null == v2) {
+					result = 1;
+				} else {
+					result = ((Comparable) v1).compareTo(v2);
+				}
+				if (0 != result) {
+					return ascendings.get(i).booleanValue() ? result : -result;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * キーの値を取得する。
+		 * <p>
+		 * カラム名で指定された場合、キャメルケースへ変換したキーで取得する。
+		 * </p>
+		 * 
+		 * @param data データ
+		 * @param key キー
+		 * @return 値
+		 */
+		private static Object value(final Map<String, Object> data, final String key) {
+			if (data.containsKey(key)) {
+				return data.get(key);
+			}
+			return data.get(StringUtility.toCamelcase(key));
+		}
+	}
+
+	/**
+	 * このクラスは、シャードごとのデータをマージしながら走査するカーソルクラスです。
+	 * <p>
+	 * 並び順が指定された場合は各シャードの先頭データをヒープで比較し(k-wayマージ)、指定されていない場合はシャード順に連結する。
+	 * 比較結果が等しい場合はシャード順とする。
+	 * </p>
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class MergeCursor implements DataCursor {
+
+		/** シャードごとのカーソル */
+		private final List<DataCursor> cursors;
+
+		/** 並び順 */
+		private final Comparator<Map<String, Object>> order;
+
+		/** 先頭データのヒープ */
+		private PriorityQueue<Head> heap;
+
+		/** 現在のシャード */
+		private int shard;
+
+		/** 前回取り出した先頭データ */
+		private Head last;
+
+		/** 現在のデータ */
+		private Map<String, Object> data;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aCursors シャードごとのカーソル
+		 * @param aOrder 並び順
+		 */
+		private MergeCursor(final List<DataCursor> aCursors, final Comparator<Map<String, Object>> aOrder) {
+			cursors = aCursors;
+			order = aOrder;
+			heap = null;
+			shard = 0;
+			last = null;
+			data = null;
+		}
+
+		@Override
+		public boolean next() throws DataAccessServiceException {
+			data = null;
+			if (null == order) {
+				while (shard < cursors.size()) {
+					DataCursor cursor = cursors.get(shard);
+					if (cursor.next()) {
+						data = cursor.get();
+						return true;
+					}
+					shard++;
+				}
+				return false;
+			}
+
+			if (null == heap) {
+				heap = new PriorityQueue<Head>(Math.max(cursors.size(), 1));
+				for (int i = 0; i < cursors.size(); i++) {
+					push(i);
+				}
+			} else if (null != last) {
+				push(last.shard);
+			}
+			last = heap.poll();
+			if (null == last) {
+				return false;
+			}
+			data = last.data;
+			return true;
+		}
+
+		@Override
+		public Map<String, Object> get() {
+			return data;
+		}
+
+		@Override
+		public void close() {
+			for (DataCursor cursor : cursors) {
+				cursor.close();
+			}
+		}
+
+		/**
+		 * シャードの次のデータをヒープへ追加する。
+		 * 
+		 * @param index シャード位置
+		 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+		 */
+		private void push(final int index) throws DataAccessServiceException {
+			DataCursor cursor = cursors.get(index);
+			if (cursor.next()) {
+				heap.add(new Head(index, cursor.get(), order));
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、シャードの先頭データを表現するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Head implements Comparable<Head> {
+
+		/** シャード位置 */
+		private final int shard;
+
+		/** データ */
+		private final Map<String, Object> data;
+
+		/** 並び順 */
+		private final Comparator<Map<String, Object>> order;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aShard シャード位置
+		 * @param aData データ
+		 * @param aOrder 並び順
+		 */
+		private Head(final int aShard, final Map<String, Object> aData, final Comparator<Map<String, Object>> aOrder) {
+			shard = aShard;
+			data = aData;
+			order = aOrder;
+		}
+
+		@Override
+		public int compareTo(final Head o) {
+			int result = order.compare(data, o.data);
+			if (0 == result) {
+				result = (shard < o.shard) ? -1 : ((shard == o.shard) ? 0 : 1);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * このクラスは、取得済みのデータを走査するカーソルクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class ListCursor implements DataCursor {
+
+		/** データ */
+		private final List<Map<String, Object>> list;
+
+		/** 次のデータ位置 */
+		private int index;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aList データ
+		 */
+		private ListCursor(final List<Map<String, Object>> aList) {
+			list = aList;
+			index = 0;
+		}
+
+		@Override
+		public boolean next() {
+			if (index < list.size()) {
+				index++;
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public Map<String, Object> get() {
+			return (0 < index) ? list.get(index - 1) : null;
+		}
+
+		@Override
+		public void close() {
+			index = list.size();
+		}
+	}
+
+	/**
+	 * このクラスは、複数シャードの出力を1つの出力として通知するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class ShardExporter implements DataExporter {
+
+		/** 出力先 */
+		private final DataExporter exporter;
+
+		/** 出力開始フラグ */
+		private boolean started;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aExporter 出力先
+		 */
+		private ShardExporter(final DataExporter aExporter) {
+			exporter = aExporter;
+			started = false;
+		}
+
+		@Override
+		public void start(final List<String> names, final ResultSetMetaData md) throws SQLException, IOException {
+			if (!started) {
+				started = true;
+				exporter.start(names, md);
+			}
+		}
+
+		@Override
+		public void write(final ResultSet rs) throws SQLException, IOException {
+			exporter.write(rs);
+		}
+
+		@Override
+		public void end() throws IOException {
+			// 全シャードの出力後に通知する
+		}
+	}
+}
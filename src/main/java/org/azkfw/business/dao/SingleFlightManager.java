@@ -0,0 +1,259 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.business.manager.AbstractManager;
+
+/**
+ * このクラスは、同一クエリの同時実行を1回にまとめる機能を管理するマネージャークラスです。
+ * <p>
+ * 登録したダイナミックSQLについて、同一のSQL及びパラメータのクエリが実行中の場合、
+ * 後続の呼び出しは実行中のクエリの完了を待ち、その結果の複製を受け取る。<br/>
+ * 後続の呼び出しは自身のトランザクションではなく先行する呼び出しの結果を参照するため、
+ * マスタなど更新頻度の低いデータを参照するダイナミックSQLにのみ登録すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class SingleFlightManager extends AbstractManager {
+
+	/**
+	 * Instance
+	 */
+	private static final SingleFlightManager INSTANCE = new SingleFlightManager();
+
+	/**
+	 * 登録済みダイナミックSQL名
+	 */
+	private final Set<String> names;
+
+	/**
+	 * 実行中のクエリ
+	 */
+	private final ConcurrentMap<List<Object>, Flight> flights;
+
+	/**
+	 * 実行数
+	 */
+	private final AtomicLong executionCount;
+
+	/**
+	 * 合流数
+	 */
+	private final AtomicLong coalescedCount;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private SingleFlightManager() {
+		super(SingleFlightManager.class);
+		names = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		flights = new ConcurrentHashMap<List<Object>, Flight>();
+		executionCount = new AtomicLong();
+		coalescedCount = new AtomicLong();
+	}
+
+	/**
+	 * 同時実行をまとめるダイナミックSQLを登録する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 */
+	public static void register(final String name) {
+		INSTANCE.names.add(name);
+	}
+
+	/**
+	 * ダイナミックSQLの登録を解除する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 */
+	public static void unregister(final String name) {
+		INSTANCE.names.remove(name);
+	}
+
+	/**
+	 * ダイナミックSQLが登録されているか判断する。
+	 * 
+	 * @param name ダイナミックSQL名
+	 * @return 登録されている場合、<code>true</code>を返す。
+	 */
+	public static boolean isRegistered(final String name) {
+		return !INSTANCE.names.isEmpty() && INSTANCE.names.contains(name);
+	}
+
+	/**
+	 * クエリを実行する。
+	 * <p>
+	 * 同一キーのクエリが実行中の場合、その完了を待ち結果の複製を返す。
+	 * </p>
+	 * 
+	 * @param key キー
+	 * @param callable クエリ
+	 * @return 実行結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	public static <V> V execute(final List<Object> key, final Callable<V> callable) throws DataAccessServiceException {
+		return INSTANCE.doExecute(key, callable);
+	}
+
+	/**
+	 * 実行数を取得する。
+	 * 
+	 * @return 実行数
+	 */
+	public static long getExecutionCount() {
+		return INSTANCE.executionCount.get();
+	}
+
+	/**
+	 * 実行中のクエリに合流した数を取得する。
+	 * 
+	 * @return 合流数
+	 */
+	public static long getCoalescedCount() {
+		return INSTANCE.coalescedCount.get();
+	}
+
+	/**
+	 * クエリを実行する。
+	 * 
+	 * @param key キー
+	 * @param callable クエリ
+	 * @return 実行結果
+	 * @throws DataAccessServiceException データへのアクセス時に問題が発生した場合
+	 */
+	@SuppressWarnings("unchecked")
+	private <V> V doExecute(final List<Object> key, final Callable<V> callable) throws DataAccessServiceException {
+		Flight flight = new Flight();
+		while (true) {
+			Flight other = flights.putIfAbsent(key, flight);
+			if (null == other) {
+				break;
+			}
+			if (other.join()) {
+				coalescedCount.incrementAndGet();
+				return (V) QueryCacheManager.copy(other.await());
+			}
+			// 完了済みのため、再度登録する
+			flights.remove(key, other);
+		}
+
+		executionCount.incrementAndGet();
+		V value = null;
+		try {
+			value = callable.call();
+			flight.value = value;
+		} catch (DataAccessServiceException ex) {
+			flight.error = ex;
+			throw ex;
+		} catch (RuntimeException ex) {
+			flight.error = ex;
+			throw ex;
+		} catch (Exception ex) {
+			flight.error = ex;
+			throw new DataAccessServiceException(ex);
+		} finally {
+			flights.remove(key, flight);
+			flight.close();
+		}
+
+		// 合流した呼び出しと共有しないよう、合流があった場合は複製を返す
+		return (0 < flight.followers) ? (V) QueryCacheManager.copy(value) : value;
+	}
+
+	/**
+	 * このクラスは、実行中のクエリを表現したクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Flight {
+
+		/** 完了待ち */
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		/** 合流数 */
+		private int followers;
+
+		/** 完了フラグ */
+		private boolean closed;
+
+		/** 実行結果 */
+		private volatile Object value;
+
+		/** 例外 */
+		private volatile Throwable error;
+
+		/**
+		 * 実行中のクエリに合流する。
+		 * 
+		 * @return 合流できた場合、<code>true</code>を返す。完了済みの場合、<code>false</code>を返す。
+		 */
+		public synchronized boolean join() {
+			if (closed) {
+				return false;
+			}
+			followers++;
+			return true;
+		}
+
+		/**
+		 * クエリを完了する。
+		 */
+		public void close() {
+			synchronized (this) {
+				closed = true;
+			}
+			latch.countDown();
+		}
+
+		/**
+		 * クエリの完了を待つ。
+		 * 
+		 * @return 実行結果
+		 * @throws DataAccessServiceException クエリが失敗した場合
+		 */
+		public Object await() throws DataAccessServiceException {
+			try {
+				latch.await();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new DataAccessServiceException(ex);
+			}
+			if (null != error) {
+				throw new DataAccessServiceException(error);
+			}
+			return value;
+		}
+	}
+}
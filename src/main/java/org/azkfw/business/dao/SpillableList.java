@@ -0,0 +1,747 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * このクラスは、メモリ使用量が上限を超えたデータを一時ファイルへ退避するリストクラスです。
+ * <p>
+ * 推定メモリ使用量が上限に達するまではデータをヒープ上に保持し、以降のデータはバイナリ形式で一時ファイルへ書き出す。<br/>
+ * 一時ファイルのデータはメモリマップして読み込むため、ソートや繰り返しの走査にも使用できる。<br/>
+ * 一時ファイルから取得したデータは呼び出しごとに生成されるため、値を変更した場合は{@link #set(int, Map)}で書き戻すこと。
+ * </p>
+ * <p>
+ * {@link Clob}、{@link Blob}、{@link SQLXML}は書き出し時に文字列またはバイト配列へ変換する。<br/>
+ * 直列化できない値(ベンダー固有の型や{@link java.sql.Array}等)を含むデータは上限を超えてもヒープ上に保持する。
+ * </p>
+ * <p>
+ * 使用後は{@link #close()}で一時ファイルを削除すること。このクラスはスレッドセーフです。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class SpillableList extends AbstractList<Map<String, Object>> implements RandomAccess, Closeable {
+
+	/** メモリマップする範囲のサイズ */
+	private static final long SEGMENT_SIZE = 1L << 30;
+
+	/** 文字コード */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** 型: null */
+	private static final byte TYPE_NULL = 0;
+	/** 型: String */
+	private static final byte TYPE_STRING = 1;
+	/** 型: Integer */
+	private static final byte TYPE_INTEGER = 2;
+	/** 型: Long */
+	private static final byte TYPE_LONG = 3;
+	/** 型: Double */
+	private static final byte TYPE_DOUBLE = 4;
+	/** 型: BigDecimal */
+	private static final byte TYPE_BIGDECIMAL = 5;
+	/** 型: Timestamp */
+	private static final byte TYPE_TIMESTAMP = 6;
+	/** 型: java.sql.Date */
+	private static final byte TYPE_SQLDATE = 7;
+	/** 型: Time */
+	private static final byte TYPE_TIME = 8;
+	/** 型: java.util.Date */
+	private static final byte TYPE_DATE = 9;
+	/** 型: Boolean */
+	private static final byte TYPE_BOOLEAN = 10;
+	/** 型: byte[] */
+	private static final byte TYPE_BYTES = 11;
+	/** 型: Short */
+	private static final byte TYPE_SHORT = 12;
+	/** 型: Float */
+	private static final byte TYPE_FLOAT = 13;
+	/** 型: BigInteger */
+	private static final byte TYPE_BIGINTEGER = 14;
+	/** 型: その他(シリアライズ) */
+	private static final byte TYPE_OBJECT = 15;
+
+	/** メモリ使用量の上限(バイト) */
+	private final long limit;
+
+	/** 推定メモリ使用量(バイト) */
+	private long usage;
+
+	/** ヒープ上のデータ */
+	private final List<Map<String, Object>> memory;
+
+	/** スキーマ */
+	private final List<RowSchema> schemas;
+
+	/** 一時ファイル */
+	private File file;
+
+	/** 書き込みストリーム */
+	private RecordOutputStream output;
+
+	/** 書き込み済みバイト数 */
+	private long written;
+
+	/** 一時ファイルのデータ位置 */
+	private long[] offsets;
+
+	/** 上限を超えたデータ件数 */
+	private int spilled;
+
+	/** 上限を超えたがヒープ上に保持するデータ */
+	private final List<Map<String, Object>> pinned;
+
+	/** 最大データ長 */
+	private int maxLength;
+
+	/** 読み込みファイル */
+	private RandomAccessFile input;
+
+	/** メモリマップしたバッファ */
+	private MappedByteBuffer[] segments;
+
+	/** メモリマップしたバイト数 */
+	private long mapped;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aLimit メモリ使用量の上限(バイト)
+	 */
+	public SpillableList(final long aLimit) {
+		limit = aLimit;
+		usage = 0;
+		memory = new ArrayList<Map<String, Object>>();
+		schemas = new ArrayList<RowSchema>();
+		pinned = new ArrayList<Map<String, Object>>();
+		offsets = new long[1024];
+		spilled = 0;
+		written = 0;
+		maxLength = 0;
+		mapped = 0;
+	}
+
+	/**
+	 * 一時ファイルへ退避しているデータ件数を取得する。
+	 * 
+	 * @return データ件数
+	 */
+	public synchronized int getSpilledCount() {
+		return spilled - pinned.size();
+	}
+
+	/**
+	 * 一時ファイルへ退避できずにヒープ上に保持しているデータ件数を取得する。
+	 * 
+	 * @return データ件数
+	 */
+	public synchronized int getPinnedCount() {
+		return pinned.size();
+	}
+
+	/**
+	 * 一時ファイルのサイズを取得する。
+	 * 
+	 * @return バイト数
+	 */
+	public synchronized long getSpilledBytes() {
+		return written;
+	}
+
+	@Override
+	public synchronized int size() {
+		return memory.size() + spilled;
+	}
+
+	@Override
+	public synchronized boolean add(final Map<String, Object> data) {
+		if (0 == spilled) {
+			long size = estimate(data);
+			if (usage + size <= limit) {
+				usage += size;
+				memory.add(data);
+				modCount++;
+				return true;
+			}
+		}
+
+		if (spilled == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+		offsets[spilled] = spill(data);
+		spilled++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public synchronized Map<String, Object> get(final int index) {
+		int size = memory.size();
+		if (index < size) {
+			return memory.get(index);
+		}
+		if (index - size >= spilled) {
+			throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size()));
+		}
+		return load(offsets[index - size]);
+	}
+
+	@Override
+	public synchronized Map<String, Object> set(final int index, final Map<String, Object> data) {
+		int size = memory.size();
+		if (index < size) {
+			return memory.set(index, data);
+		}
+		Map<String, Object> old = get(index);
+		// 追記して位置を差し替える
+		offsets[index - size] = spill(data);
+		return old;
+	}
+
+	@Override
+	public synchronized void clear() {
+		release();
+		memory.clear();
+		schemas.clear();
+		pinned.clear();
+		usage = 0;
+		spilled = 0;
+		written = 0;
+		maxLength = 0;
+		modCount++;
+	}
+
+	@Override
+	public synchronized void close() {
+		clear();
+	}
+
+	@Override
+	protected void finalize() throws Throwable {
+		try {
+			release();
+		} finally {
+			super.finalize();
+		}
+	}
+
+	/**
+	 * 一時ファイルを削除する。
+	 */
+	private void release() {
+		segments = null;
+		mapped = 0;
+		try {
+			if (null != output) {
+				output.close();
+			}
+			if (null != input) {
+				input.close();
+			}
+		} catch (IOException ex) {
+			// 削除処理を続行する
+		}
+		output = null;
+		input = null;
+		if (null != file && !file.delete()) {
+			file.deleteOnExit();
+		}
+		file = null;
+	}
+
+	/**
+	 * 上限を超えたデータを退避する。
+	 * <p>
+	 * 一時ファイルへ書き込めない値を含むデータはヒープ上に保持し、負の位置を返す。
+	 * </p>
+	 * 
+	 * @param data データ
+	 * @return 書き込み位置
+	 */
+	private long spill(final Map<String, Object> data) {
+		if (isSpillable(data)) {
+			return write(data);
+		}
+		pinned.add(data);
+		return -pinned.size();
+	}
+
+	/**
+	 * 退避したデータを取得する。
+	 * 
+	 * @param offset 書き込み位置
+	 * @return データ
+	 */
+	private Map<String, Object> load(final long offset) {
+		if (0 > offset) {
+			return pinned.get((int) (-offset - 1));
+		}
+		return read(offset);
+	}
+
+	/**
+	 * データを一時ファイルへ書き込めるか判断する。
+	 * 
+	 * @param data データ
+	 * @return 書き込める場合、<code>true</code>を返す。
+	 */
+	private static boolean isSpillable(final Map<String, Object> data) {
+		if (data instanceof Row && ((Row) data).isCompact()) {
+			Row row = (Row) data;
+			for (int i = 0; i < row.getSchema().size(); i++) {
+				if (!isSpillable(row.getValue(i))) {
+					return false;
+				}
+			}
+		} else {
+			for (Object value : data.values()) {
+				if (!isSpillable(value)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 値を一時ファイルへ書き込めるか判断する。
+	 * 
+	 * @param value 値
+	 * @return 書き込める場合、<code>true</code>を返す。
+	 */
+	private static boolean isSpillable(final Object value) {
+		if (null == value || value instanceof Clob || value instanceof Blob || value instanceof SQLXML) {
+			return true;
+		}
+		// java.sql.Arrayやベンダー固有の型は接続に依存するため退避しない
+		return value instanceof Serializable && !(value instanceof java.sql.Array);
+	}
+
+	/**
+	 * データを一時ファイルへ書き込む。
+	 * 
+	 * @param data データ
+	 * @return 書き込み位置
+	 */
+	private long write(final Map<String, Object> data) {
+		try {
+			if (null == output) {
+				file = File.createTempFile("azuki-spill", ".dat");
+				output = new RecordOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+			}
+
+			long offset = written;
+			if (data instanceof Row && ((Row) data).isCompact()) {
+				Row row = (Row) data;
+				RowSchema schema = row.getSchema();
+				int index = schemas.indexOf(schema);
+				if (-1 == index) {
+					index = schemas.size();
+					schemas.add(schema);
+				}
+				output.writeInt(index);
+				for (int i = 0; i < schema.size(); i++) {
+					writeValue(row.getValue(i));
+				}
+			} else {
+				output.writeInt(-1);
+				output.writeInt(data.size());
+				for (Map.Entry<String, Object> entry : data.entrySet()) {
+					writeString(entry.getKey());
+					writeValue(entry.getValue());
+				}
+			}
+			int length = output.reset();
+			written += length;
+			maxLength = Math.max(maxLength, length);
+			return offset;
+		} catch (IOException ex) {
+			throw new IllegalStateException("Spill file write error.", ex);
+		}
+	}
+
+	/**
+	 * 値を書き込む。
+	 * 
+	 * @param value 値
+	 * @throws IOException 書き込み時に問題が発生した場合
+	 */
+	private void writeValue(final Object value) throws IOException {
+		if (null == value) {
+			output.writeByte(TYPE_NULL);
+		} else if (value instanceof String) {
+			output.writeByte(TYPE_STRING);
+			writeString((String) value);
+		} else if (value instanceof Integer) {
+			output.writeByte(TYPE_INTEGER);
+			output.writeInt(((Integer) value).intValue());
+		} else if (value instanceof Long) {
+			output.writeByte(TYPE_LONG);
+			output.writeLong(((Long) value).longValue());
+		} else if (value instanceof Double) {
+			output.writeByte(TYPE_DOUBLE);
+			output.writeDouble(((Double) value).doubleValue());
+		} else if (value instanceof BigDecimal) {
+			BigDecimal decimal = (BigDecimal) value;
+			output.writeByte(TYPE_BIGDECIMAL);
+			output.writeInt(decimal.scale());
+			writeBytes(decimal.unscaledValue().toByteArray());
+		} else if (value instanceof Timestamp) {
+			Timestamp timestamp = (Timestamp) value;
+			output.writeByte(TYPE_TIMESTAMP);
+			output.writeLong(timestamp.getTime());
+			output.writeInt(timestamp.getNanos());
+		} else if (value instanceof java.sql.Date) {
+			output.writeByte(TYPE_SQLDATE);
+			output.writeLong(((java.sql.Date) value).getTime());
+		} else if (value instanceof Time) {
+			output.writeByte(TYPE_TIME);
+			output.writeLong(((Time) value).getTime());
+		} else if (value.getClass() == java.util.Date.class) {
+			output.writeByte(TYPE_DATE);
+			output.writeLong(((java.util.Date) value).getTime());
+		} else if (value instanceof Boolean) {
+			output.writeByte(TYPE_BOOLEAN);
+			output.writeBoolean(((Boolean) value).booleanValue());
+		} else if (value instanceof byte[]) {
+			output.writeByte(TYPE_BYTES);
+			writeBytes((byte[]) value);
+		} else if (value instanceof Short) {
+			output.writeByte(TYPE_SHORT);
+			output.writeShort(((Short) value).shortValue());
+		} else if (value instanceof Float) {
+			output.writeByte(TYPE_FLOAT);
+			output.writeFloat(((Float) value).floatValue());
+		} else if (value instanceof BigInteger) {
+			output.writeByte(TYPE_BIGINTEGER);
+			writeBytes(((BigInteger) value).toByteArray());
+		} else if (value instanceof Clob || value instanceof Blob || value instanceof SQLXML) {
+			writeLob(value);
+		} else {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			ObjectOutputStream stream = new ObjectOutputStream(buffer);
+			stream.writeObject(value);
+			stream.close();
+			output.writeByte(TYPE_OBJECT);
+			writeBytes(buffer.toByteArray());
+		}
+	}
+
+	/**
+	 * LOBを文字列またはバイト配列に変換して書き込む。
+	 * 
+	 * @param value 値
+	 * @throws IOException 書き込み時に問題が発生した場合
+	 */
+	private void writeLob(final Object value) throws IOException {
+		try {
+			if (value instanceof Clob) {
+				Clob clob = (Clob) value;
+				output.writeByte(TYPE_STRING);
+				writeString(clob.getSubString(1, (int) clob.length()));
+			} else if (value instanceof Blob) {
+				Blob blob = (Blob) value;
+				output.writeByte(TYPE_BYTES);
+				writeBytes(blob.getBytes(1, (int) blob.length()));
+			} else {
+				output.writeByte(TYPE_STRING);
+				writeString(((SQLXML) value).getString());
+			}
+		} catch (SQLException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	/**
+	 * 文字列を書き込む。
+	 * 
+	 * @param value 文字列
+	 * @throws IOException 書き込み時に問題が発生した場合
+	 */
+	private void writeString(final String value) throws IOException {
+		writeBytes(value.getBytes(UTF8));
+	}
+
+	/**
+	 * バイト配列を書き込む。
+	 * 
+	 * @param value バイト配列
+	 * @throws IOException 書き込み時に問題が発生した場合
+	 */
+	private void writeBytes(final byte[] value) throws IOException {
+		output.writeInt(value.length);
+		output.write(value);
+	}
+
+	/**
+	 * 一時ファイルからデータを読み込む。
+	 * 
+	 * @param offset 書き込み位置
+	 * @return データ
+	 */
+	private Map<String, Object> read(final long offset) {
+		try {
+			ByteBuffer buffer = segment(offset);
+
+			int index = buffer.getInt();
+			if (-1 == index) {
+				int size = buffer.getInt();
+				Map<String, Object> data = new LinkedHashMap<String, Object>(size * 4 / 3 + 1);
+				for (int i = 0; i < size; i++) {
+					String key = readString(buffer);
+					data.put(key, readValue(buffer));
+				}
+				return data;
+			} else {
+				RowSchema schema = schemas.get(index);
+				Object[] values = new Object[schema.size()];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = readValue(buffer);
+				}
+				return new Row(schema, values);
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException("Spill file read error.", ex);
+		} catch (ClassNotFoundException ex) {
+			throw new IllegalStateException("Spill file read error.", ex);
+		}
+	}
+
+	/**
+	 * 書き込み位置のデータを含むバッファを取得する。
+	 * <p>
+	 * 範囲は最大データ長分だけ重ねてメモリマップするため、データが範囲の境界で分断されることはない。
+	 * </p>
+	 * 
+	 * @param offset 書き込み位置
+	 * @return バッファ
+	 * @throws IOException 読み込み時に問題が発生した場合
+	 */
+	private ByteBuffer segment(final long offset) throws IOException {
+		if (mapped != written) {
+			output.flush();
+			if (null == input) {
+				input = new RandomAccessFile(file, "r");
+			}
+			segments = new MappedByteBuffer[(int) ((written + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+			mapped = written;
+		}
+
+		int index = (int) (offset / SEGMENT_SIZE);
+		MappedByteBuffer segment = segments[index];
+		long start = index * SEGMENT_SIZE;
+		if (null == segment) {
+			long size = Math.min(mapped - start, SEGMENT_SIZE + maxLength);
+			segment = input.getChannel().map(FileChannel.MapMode.READ_ONLY, start, size);
+			segments[index] = segment;
+		}
+
+		ByteBuffer buffer = segment.duplicate();
+		buffer.position((int) (offset - start));
+		return buffer;
+	}
+
+	/**
+	 * 値を読み込む。
+	 * 
+	 * @param buffer バッファ
+	 * @return 値
+	 * @throws IOException 読み込み時に問題が発生した場合
+	 * @throws ClassNotFoundException 値のクラスが存在しない場合
+	 */
+	private static Object readValue(final ByteBuffer buffer) throws IOException, ClassNotFoundException {
+		byte type = buffer.get();
+		switch (type) {
+		case TYPE_NULL:
+			return null;
+		case TYPE_STRING:
+			return readString(buffer);
+		case TYPE_INTEGER:
+			return Integer.valueOf(buffer.getInt());
+		case TYPE_LONG:
+			return Long.valueOf(buffer.getLong());
+		case TYPE_DOUBLE:
+			return Double.valueOf(buffer.getDouble());
+		case TYPE_BIGDECIMAL: {
+			int scale = buffer.getInt();
+			return new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+		}
+		case TYPE_TIMESTAMP: {
+			Timestamp timestamp = new Timestamp(buffer.getLong());
+			timestamp.setNanos(buffer.getInt());
+			return timestamp;
+		}
+		case TYPE_SQLDATE:
+			return new java.sql.Date(buffer.getLong());
+		case TYPE_TIME:
+			return new Time(buffer.getLong());
+		case TYPE_DATE:
+			return new java.util.Date(buffer.getLong());
+		case TYPE_BOOLEAN:
+			return Boolean.valueOf(0 != buffer.get());
+		case TYPE_BYTES:
+			return readBytes(buffer);
+		case TYPE_SHORT:
+			return Short.valueOf(buffer.getShort());
+		case TYPE_FLOAT:
+			return Float.valueOf(buffer.getFloat());
+		case TYPE_BIGINTEGER:
+			return new BigInteger(readBytes(buffer));
+		case TYPE_OBJECT: {
+			ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(readBytes(buffer)));
+			try {
+				return stream.readObject();
+			} finally {
+				stream.close();
+			}
+		}
+		default:
+			throw new IOException(String.format("Unknown type.[%d]", type));
+		}
+	}
+
+	/**
+	 * 文字列を読み込む。
+	 * 
+	 * @param buffer バッファ
+	 * @return 文字列
+	 */
+	private static String readString(final ByteBuffer buffer) {
+		return new String(readBytes(buffer), UTF8);
+	}
+
+	/**
+	 * バイト配列を読み込む。
+	 * 
+	 * @param buffer バッファ
+	 * @return バイト配列
+	 */
+	private static byte[] readBytes(final ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * データの推定メモリ使用量を求める。
+	 * 
+	 * @param data データ
+	 * @return バイト数
+	 */
+	private static long estimate(final Map<String, Object> data) {
+		long size = 0;
+		if (data instanceof Row && ((Row) data).isCompact()) {
+			Row row = (Row) data;
+			size += 32 + 8L * row.getSchema().size();
+			for (int i = 0; i < row.getSchema().size(); i++) {
+				size += estimate(row.getValue(i));
+			}
+		} else {
+			size += 64;
+			for (Map.Entry<String, Object> entry : data.entrySet()) {
+				size += 48 + estimate(entry.getValue());
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 値の推定メモリ使用量を求める。
+	 * 
+	 * @param value 値
+	 * @return バイト数
+	 */
+	private static long estimate(final Object value) {
+		if (null == value) {
+			return 0;
+		} else if (value instanceof String) {
+			return 40 + 2L * ((String) value).length();
+		} else if (value instanceof byte[]) {
+			return 16 + ((byte[]) value).length;
+		} else if (value instanceof BigDecimal || value instanceof BigInteger) {
+			return 64;
+		}
+		return 24;
+	}
+
+	/**
+	 * このクラスは、データ単位で書き込みバイト数を数える出力ストリームクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class RecordOutputStream extends DataOutputStream {
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aStream 出力先
+		 */
+		public RecordOutputStream(final BufferedOutputStream aStream) {
+			super(aStream);
+		}
+
+		/**
+		 * 書き込みバイト数を取得し、初期化する。
+		 * <p>
+		 * {@link DataOutputStream#size()}はint型で飽和するため、データごとに初期化して使用する。
+		 * </p>
+		 * 
+		 * @return 前回の初期化からの書き込みバイト数
+		 */
+		public int reset() {
+			int size = written;
+			written = 0;
+			return size;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * このクラスは、コネクション単位で{@link PreparedStatement}をキャッシュするクラスです。
+ * <p>
+ * SQL文字列をキーとし、最大件数を超えた場合は最も長く使用されていないステートメントを解放する(LRU)。<br/>
+ * 使用中のステートメントはキャッシュから取り出されるため、同一SQLを同時に使用した場合は新たにステートメントを生成する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class StatementCache {
+
+	/** コネクション */
+	private final Connection connection;
+
+	/** 最大件数 */
+	private final int maxSize;
+
+	/** キャッシュ */
+	private final LinkedHashMap<String, PreparedStatement> statements;
+
+	/** ヒット数 */
+	private long hitCount;
+
+	/** ミス数 */
+	private long missCount;
+
+	/** 追い出し数 */
+	private long evictionCount;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aConnection コネクション
+	 * @param aMaxSize 最大件数
+	 */
+	public StatementCache(final Connection aConnection, final int aMaxSize) {
+		connection = aConnection;
+		maxSize = aMaxSize;
+		statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+			/** serialVersionUID */
+			private static final long serialVersionUID = 5785432380346574006L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+				boolean result = false;
+				if (size() > maxSize) {
+					evictionCount++;
+					close(eldest.getValue());
+					result = true;
+				}
+				return result;
+			}
+		};
+	}
+
+	/**
+	 * コネクションを取得する。
+	 * 
+	 * @return コネクション
+	 */
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * ステートメントを取得する。
+	 * <p>
+	 * キャッシュに存在しない場合、新たにステートメントを生成する。<br/>
+	 * 使用後は{@link #release(String, PreparedStatement)}でキャッシュへ戻すこと。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @return ステートメント
+	 * @throws SQLException ステートメントの生成時に問題が発生した場合
+	 */
+	public PreparedStatement prepare(final String sql) throws SQLException {
+		PreparedStatement stat = null;
+		synchronized (statements) {
+			stat = statements.remove(sql);
+			if (null != stat && stat.isClosed()) {
+				stat = null;
+			}
+			if (null != stat) {
+				hitCount++;
+			} else {
+				missCount++;
+			}
+		}
+		if (null == stat) {
+			stat = connection.prepareStatement(sql);
+		}
+		return stat;
+	}
+
+	/**
+	 * ステートメントをキャッシュへ戻す。
+	 * <p>
+	 * 同一SQLのステートメントが既にキャッシュされている場合、ステートメントを解放する。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @param stat ステートメント
+	 */
+	public void release(final String sql, final PreparedStatement stat) {
+		boolean cached = false;
+		try {
+			if (!stat.isClosed()) {
+				stat.clearParameters();
+				stat.clearBatch();
+				synchronized (statements) {
+					if (!statements.containsKey(sql)) {
+						statements.put(sql, stat);
+						cached = true;
+					}
+				}
+			}
+		} catch (SQLException ex) {
+			cached = false;
+		}
+		if (!cached) {
+			close(stat);
+		}
+	}
+
+	/**
+	 * キャッシュしている全てのステートメントを解放する。
+	 */
+	public void clear() {
+		List<PreparedStatement> list = null;
+		synchronized (statements) {
+			list = new ArrayList<PreparedStatement>(statements.values());
+			statements.clear();
+		}
+		for (PreparedStatement stat : list) {
+			close(stat);
+		}
+	}
+
+	/**
+	 * キャッシュ件数を取得する。
+	 * 
+	 * @return 件数
+	 */
+	public int size() {
+		synchronized (statements) {
+			return statements.size();
+		}
+	}
+
+	/**
+	 * ヒット数を取得する。
+	 * 
+	 * @return ヒット数
+	 */
+	public long getHitCount() {
+		synchronized (statements) {
+			return hitCount;
+		}
+	}
+
+	/**
+	 * ミス数を取得する。
+	 * 
+	 * @return ミス数
+	 */
+	public long getMissCount() {
+		synchronized (statements) {
+			return missCount;
+		}
+	}
+
+	/**
+	 * 追い出し数を取得する。
+	 * 
+	 * @return 追い出し数
+	 */
+	public long getEvictionCount() {
+		synchronized (statements) {
+			return evictionCount;
+		}
+	}
+
+	/**
+	 * ステートメントを解放する。
+	 * 
+	 * @param stat ステートメント
+	 */
+	private static void close(final PreparedStatement stat) {
+		try {
+			if (!stat.isClosed()) {
+				stat.close();
+			}
+		} catch (SQLException ex) {
+			// 解放時のエラーは無視する
+		}
+	}
+}
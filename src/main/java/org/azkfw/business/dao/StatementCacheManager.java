@@ -0,0 +1,247 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.azkfw.business.manager.AbstractManager;
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このクラスは、コネクションごとのステートメントキャッシュの管理を行うマネージャークラスです。
+ * <p>
+ * 最大件数に<code>1</code>以上を設定した場合にキャッシュを使用する(デフォルトは未使用)。<br/>
+ * コネクションをプールへ返却する前に{@link #release(DatabaseConnection)}を呼び出しステートメントを解放すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class StatementCacheManager extends AbstractManager {
+
+	/**
+	 * Instance
+	 */
+	private static final StatementCacheManager INSTANCE = new StatementCacheManager();
+
+	/**
+	 * コネクション単位の最大キャッシュ件数
+	 */
+	private int maxSize;
+
+	/**
+	 * キャッシュ情報
+	 */
+	private Map<DatabaseConnection, StatementCache> caches;
+
+	/**
+	 * 解放済みキャッシュのヒット数
+	 */
+	private long releasedHitCount;
+
+	/**
+	 * 解放済みキャッシュのミス数
+	 */
+	private long releasedMissCount;
+
+	/**
+	 * 解放済みキャッシュの追い出し数
+	 */
+	private long releasedEvictionCount;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private StatementCacheManager() {
+		super(StatementCacheManager.class);
+		maxSize = 0;
+		caches = new WeakHashMap<DatabaseConnection, StatementCache>();
+	}
+
+	/**
+	 * コネクション単位の最大キャッシュ件数を設定する。
+	 * 
+	 * @param size 最大件数。<code>0</code>以下の場合、キャッシュを使用しない。
+	 */
+	public static void setMaxSize(final int size) {
+		INSTANCE.doSetMaxSize(size);
+	}
+
+	/**
+	 * コネクションのステートメントキャッシュを取得する。
+	 * 
+	 * @param connection コネクション
+	 * @return キャッシュ。キャッシュを使用しない場合、<code>null</code>を返す。
+	 */
+	public static StatementCache get(final DatabaseConnection connection) {
+		return INSTANCE.doGet(connection);
+	}
+
+	/**
+	 * コネクションのステートメントキャッシュを解放する。
+	 * 
+	 * @param connection コネクション
+	 */
+	public static void release(final DatabaseConnection connection) {
+		INSTANCE.doRelease(connection);
+	}
+
+	/**
+	 * 全てのステートメントキャッシュを解放する。
+	 */
+	public static void clear() {
+		INSTANCE.doClear();
+	}
+
+	/**
+	 * 全コネクションのヒット数を取得する。
+	 * 
+	 * @return ヒット数
+	 */
+	public static long getHitCount() {
+		synchronized (INSTANCE) {
+			long count = INSTANCE.releasedHitCount;
+			for (StatementCache cache : INSTANCE.caches.values()) {
+				count += cache.getHitCount();
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * 全コネクションのミス数を取得する。
+	 * 
+	 * @return ミス数
+	 */
+	public static long getMissCount() {
+		synchronized (INSTANCE) {
+			long count = INSTANCE.releasedMissCount;
+			for (StatementCache cache : INSTANCE.caches.values()) {
+				count += cache.getMissCount();
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * 全コネクションの追い出し数を取得する。
+	 * 
+	 * @return 追い出し数
+	 */
+	public static long getEvictionCount() {
+		synchronized (INSTANCE) {
+			long count = INSTANCE.releasedEvictionCount;
+			for (StatementCache cache : INSTANCE.caches.values()) {
+				count += cache.getEvictionCount();
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * コネクション単位の最大キャッシュ件数を設定する。
+	 * 
+	 * @param size 最大件数
+	 */
+	private void doSetMaxSize(final int size) {
+		synchronized (this) {
+			maxSize = size;
+		}
+		doClear();
+	}
+
+	/**
+	 * コネクションのステートメントキャッシュを取得する。
+	 * 
+	 * @param connection コネクション
+	 * @return キャッシュ
+	 */
+	private StatementCache doGet(final DatabaseConnection connection) {
+		StatementCache cache = null;
+		StatementCache old = null;
+		synchronized (this) {
+			if (0 < maxSize && null != connection) {
+				Connection c = connection.getConnection();
+				cache = caches.get(connection);
+				if (null != cache && cache.getConnection() != c) {
+					old = cache;
+					cache = null;
+				}
+				if (null == cache) {
+					cache = new StatementCache(c, maxSize);
+					caches.put(connection, cache);
+				}
+			}
+		}
+		if (null != old) {
+			discard(old);
+		}
+		return cache;
+	}
+
+	/**
+	 * コネクションのステートメントキャッシュを解放する。
+	 * 
+	 * @param connection コネクション
+	 */
+	private void doRelease(final DatabaseConnection connection) {
+		StatementCache cache = null;
+		synchronized (this) {
+			cache = caches.remove(connection);
+		}
+		if (null != cache) {
+			discard(cache);
+		}
+	}
+
+	/**
+	 * 全てのステートメントキャッシュを解放する。
+	 */
+	private void doClear() {
+		List<StatementCache> list = null;
+		synchronized (this) {
+			list = new ArrayList<StatementCache>(caches.values());
+			caches.clear();
+		}
+		for (StatementCache cache : list) {
+			discard(cache);
+		}
+	}
+
+	/**
+	 * ステートメントキャッシュを破棄する。
+	 * 
+	 * @param cache キャッシュ
+	 */
+	private void discard(final StatementCache cache) {
+		cache.clear();
+		synchronized (this) {
+			releasedHitCount += cache.getHitCount();
+			releasedMissCount += cache.getMissCount();
+			releasedEvictionCount += cache.getEvictionCount();
+		}
+	}
+}
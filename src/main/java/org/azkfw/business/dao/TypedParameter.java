@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.io.Serializable;
+
+/**
+ * このクラスは、SQL型を指定したパラメータ値を表現するクラスです。
+ * <p>
+ * ダイナミックSQLのパラメータ値として使用すると、指定した型でステートメントへ設定する。<br/>
+ * 値が<code>null</code>の場合でも型を指定して設定できるため、ドライバによる型の問い合わせを避けられる。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class TypedParameter implements Serializable {
+
+	/** serialVersionUID */
+	private static final long serialVersionUID = 4630658702497312877L;
+
+	/** 値 */
+	private final Object value;
+
+	/** SQL型({@link java.sql.Types}) */
+	private final int sqlType;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aValue 値
+	 * @param aSqlType SQL型({@link java.sql.Types})
+	 */
+	public TypedParameter(final Object aValue, final int aSqlType) {
+		value = aValue;
+		sqlType = aSqlType;
+	}
+
+	/**
+	 * 型を指定したパラメータ値を生成する。
+	 * 
+	 * @param value 値
+	 * @param sqlType SQL型({@link java.sql.Types})
+	 * @return パラメータ値
+	 */
+	public static TypedParameter valueOf(final Object value, final int sqlType) {
+		return new TypedParameter(value, sqlType);
+	}
+
+	/**
+	 * 値を取得する。
+	 * 
+	 * @return 値
+	 */
+	public Object getValue() {
+		return value;
+	}
+
+	/**
+	 * SQL型を取得する。
+	 * 
+	 * @return SQL型({@link java.sql.Types})
+	 */
+	public int getSqlType() {
+		return sqlType;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof TypedParameter)) {
+			return false;
+		}
+		TypedParameter other = (TypedParameter) obj;
+		return sqlType == other.sqlType && ((null == value) ? null == other.value : value.equals(other.value));
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * sqlType + ((null == value) ? 0 : value.hashCode());
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(value);
+	}
+}
@@ -0,0 +1,383 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このクラスは、トランザクション内の更新を遅延して一括送信するバッファクラスです。
+ * <p>
+ * {@link #add(DatabaseConnection, String, String, List)}で登録した更新は、{@link #flush(DatabaseConnection)}の呼び出し時
+ * または登録件数が閾値に達した時に、SQLごとにまとめてJDBCのバッチで送信する。<br/>
+ * 連続して登録された同じSQLの更新をまとめるため、更新は常に登録順に送信される。<br/>
+ * 外部キーやトリガーにより異なるテーブルの更新にも順序の依存があるため、異なるSQLの更新を越えてまとめることはしない。
+ * </p>
+ * <p>
+ * 送信に失敗した場合、失敗した更新のダイナミックSQL名とSQLをメッセージとした{@link SQLException}を送出する。
+ * 失敗時は未送信の更新も含めて破棄するため、呼び出し元でロールバックすること。
+ * </p>
+ * <p>
+ * このクラスはスレッドセーフではありません。1つのトランザクション(ロジック)内で使用すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class WriteBehindBuffer {
+
+	/**
+	 * 一括送信する件数(デフォルト)
+	 */
+	public static final int DEFAULT_THRESHOLD = 1000;
+
+	/** 一括送信する件数 */
+	private final int threshold;
+
+	/** 未送信の更新 */
+	private final List<Entry> entries;
+
+	/** 送信回数 */
+	private long flushCount;
+
+	/** バッチ実行回数 */
+	private long batchCount;
+
+	/** 送信した更新の件数 */
+	private long statementCount;
+
+	/**
+	 * コンストラクタ
+	 */
+	public WriteBehindBuffer() {
+		this(DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aThreshold 一括送信する件数。JDBCのバッチ1回で送信する最大件数も兼ねる。
+	 */
+	public WriteBehindBuffer(final int aThreshold) {
+		threshold = Math.max(aThreshold, 1);
+		entries = new ArrayList<Entry>();
+		flushCount = 0;
+		batchCount = 0;
+		statementCount = 0;
+	}
+
+	/**
+	 * 更新を登録する。
+	 * <p>
+	 * 登録件数が閾値に達した場合、送信する。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 * @param name ダイナミックSQL名
+	 * @param sql SQL
+	 * @param parameters パラメータ
+	 * @throws SQLException 送信時に問題が発生した場合
+	 */
+	public void add(final DatabaseConnection connection, final String name, final String sql, final List<Object> parameters) throws SQLException {
+		entries.add(new Entry(name, sql, parameters));
+		if (threshold <= entries.size()) {
+			flush(connection);
+		}
+	}
+
+	/**
+	 * SQLの実行前に、SQLが参照する可能性のある未送信の更新を送信する。
+	 * <p>
+	 * 取得SQLの全ての参照テーブル(JOIN句、副問い合わせを含む)を判定でき、未送信の更新の対象テーブルを参照しない場合のみ送信しない。
+	 * それ以外の場合は全ての更新を送信する。
+	 * </p>
+	 * 
+	 * @param connection コネクション
+	 * @param sql 実行するSQL
+	 * @throws SQLException 送信時に問題が発生した場合
+	 */
+	public void flushBefore(final DatabaseConnection connection, final String sql) throws SQLException {
+		if (isFlushRequired(sql)) {
+			flush(connection);
+		}
+	}
+
+	/**
+	 * SQLの実行前に送信が必要か判断する。
+	 * 
+	 * @param sql 実行するSQL
+	 * @return 送信が必要な場合、<code>true</code>を返す。
+	 */
+	boolean isFlushRequired(final String sql) {
+		if (entries.isEmpty()) {
+			return false;
+		}
+		if (null != QueryCacheManager.getUpdateTable(sql)) {
+			return true;
+		}
+		// 参照テーブルを全て判定できない場合は空となる
+		Set<String> tables = IdentityMap.getQueryTables(sql);
+		if (tables.isEmpty()) {
+			return true;
+		}
+		for (Entry entry : entries) {
+			if (null == entry.table || tables.contains(entry.table)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 未送信の更新を送信する。
+	 * 
+	 * @param connection コネクション
+	 * @throws SQLException 送信時に問題が発生した場合
+	 */
+	public void flush(final DatabaseConnection connection) throws SQLException {
+		if (entries.isEmpty()) {
+			return;
+		}
+		List<List<Entry>> groups = group(entries);
+		entries.clear();
+
+		flushCount++;
+		for (List<Entry> group : groups) {
+			execute(connection, group);
+		}
+	}
+
+	/**
+	 * 未送信の更新を破棄する。
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * 未送信の更新の件数を取得する。
+	 * 
+	 * @return 件数
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * 未送信の更新が存在しないか判断する。
+	 * 
+	 * @return 存在しない場合、<code>true</code>を返す。
+	 */
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * 送信回数を取得する。
+	 * 
+	 * @return 送信回数
+	 */
+	public long getFlushCount() {
+		return flushCount;
+	}
+
+	/**
+	 * JDBCのバッチの実行回数を取得する。
+	 * 
+	 * @return 実行回数
+	 */
+	public long getBatchCount() {
+		return batchCount;
+	}
+
+	/**
+	 * 送信した更新の件数を取得する。
+	 * 
+	 * @return 件数
+	 */
+	public long getStatementCount() {
+		return statementCount;
+	}
+
+	/**
+	 * 連続する同じSQLの更新をまとめる。
+	 * <p>
+	 * 直前のグループと同じSQLの場合のみそのグループへ追加するため、グループの順番は登録順と一致する。
+	 * </p>
+	 * 
+	 * @param list 更新リスト
+	 * @return グループリスト
+	 */
+	static List<List<Entry>> group(final List<Entry> list) {
+		List<List<Entry>> groups = new ArrayList<List<Entry>>();
+		List<Entry> last = null;
+		for (Entry entry : list) {
+			if (null == last || !last.get(0).sql.equals(entry.sql)) {
+				last = new ArrayList<Entry>();
+				groups.add(last);
+			}
+			last.add(entry);
+		}
+		return groups;
+	}
+
+	/**
+	 * 同じSQLの更新をバッチで送信する。
+	 * 
+	 * @param connection コネクション
+	 * @param group 更新リスト
+	 * @throws SQLException 送信時に問題が発生した場合
+	 */
+	private void execute(final DatabaseConnection connection, final List<Entry> group) throws SQLException {
+		String sql = group.get(0).sql;
+		StatementCache cache = StatementCacheManager.get(connection);
+
+		PreparedStatement stat = null;
+		int start = 0;
+		int index = 0;
+		try {
+			long begin = System.nanoTime();
+			stat = (null != cache) ? cache.prepare(sql) : connection.getConnection().prepareStatement(sql);
+			long prepare = System.nanoTime() - begin;
+
+			while (start < group.size()) {
+				int end = Math.min(start + threshold, group.size());
+				for (index = start; index < end; index++) {
+					List<Object> parameters = group.get(index).parameters;
+					if (null != parameters) {
+						for (int i = 0; i < parameters.size(); i++) {
+							ParameterBinder.bind(stat, i + 1, parameters.get(i));
+						}
+					}
+					stat.addBatch();
+				}
+
+				begin = System.nanoTime();
+				int[] counts = stat.executeBatch();
+				long execute = System.nanoTime() - begin;
+
+				long rows = 0;
+				for (int count : counts) {
+					if (0 < count) {
+						rows += count;
+					}
+				}
+				QueryStatisticsManager.record(group.get(start).name, sql, null, prepare, execute, 0L, rows);
+				prepare = 0L;
+
+				batchCount++;
+				statementCount += end - start;
+				start = end;
+			}
+		} catch (BatchUpdateException ex) {
+			Entry entry = group.get(Math.min(start + getFailedIndex(ex), group.size() - 1));
+			throw new SQLException(String.format("%s : %s", entry.name, entry.sql), ex.getSQLState(), ex.getErrorCode(), ex);
+		} catch (SQLException ex) {
+			Entry entry = group.get(Math.min(index, group.size() - 1));
+			throw new SQLException(String.format("%s : %s", entry.name, entry.sql), ex.getSQLState(), ex.getErrorCode(), ex);
+		} finally {
+			if (null != stat) {
+				if (null != cache) {
+					cache.release(sql, stat);
+				} else {
+					try {
+						stat.close();
+					} catch (SQLException ex) {
+						// 解放時のエラーは無視する
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * バッチ内で失敗した更新の位置を取得する。
+	 * <p>
+	 * 失敗後も処理を継続するドライバは{@link Statement#EXECUTE_FAILED}を、
+	 * 失敗時点で中断するドライバは成功した件数分の更新件数を返す。
+	 * </p>
+	 * 
+	 * @param ex 例外
+	 * @return 位置
+	 */
+	private static int getFailedIndex(final BatchUpdateException ex) {
+		int[] counts = ex.getUpdateCounts();
+		if (null == counts) {
+			return 0;
+		}
+		for (int i = 0; i < counts.length; i++) {
+			if (Statement.EXECUTE_FAILED == counts[i]) {
+				return i;
+			}
+		}
+		return counts.length;
+	}
+
+	/**
+	 * このクラスは、未送信の更新を表現するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	static final class Entry {
+
+		/** ダイナミックSQL名 */
+		private final String name;
+
+		/** SQL */
+		private final String sql;
+
+		/** パラメータ */
+		private final List<Object> parameters;
+
+		/** 対象テーブル */
+		private final String table;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aName ダイナミックSQL名
+		 * @param aSql SQL
+		 * @param aParameters パラメータ
+		 */
+		Entry(final String aName, final String aSql, final List<Object> aParameters) {
+			name = aName;
+			sql = aSql;
+			parameters = (null != aParameters) ? new ArrayList<Object>(aParameters) : null;
+			table = QueryCacheManager.getUpdateTable(aSql);
+		}
+
+		/**
+		 * ダイナミックSQL名を取得する。
+		 * 
+		 * @return ダイナミックSQL名
+		 */
+		String getName() {
+			return name;
+		}
+	}
+}
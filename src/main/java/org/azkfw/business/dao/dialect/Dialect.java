@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.dialect;
+
+import java.util.List;
+
+/**
+ * このインターフェースは、データベース製品ごとのSQL方言を表現したインターフェースです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public interface Dialect {
+
+	/**
+	 * 取得範囲を限定したSQLを生成する。
+	 * <p>
+	 * 生成したSQLに追加したパラメータは、引数のパラメータリストへ順番に追加する。<br/>
+	 * SQLの取得範囲を限定できない場合は<code>null</code>を返し、パラメータは追加しない。
+	 * その場合、呼び出し元で読み飛ばして取得範囲を限定する。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @param offset 読み飛ばす件数
+	 * @param limit 取得件数
+	 * @param parameters パラメータリスト
+	 * @return SQL。取得範囲を限定できない場合、<code>null</code>を返す。
+	 */
+	public String getLimitSQL(final String sql, final long offset, final long limit, final List<Object> parameters);
+
+	/**
+	 * ウィンドウ関数(<code>COUNT(*) OVER()</code>など)をサポートしているか判断する。
+	 * 
+	 * @return サポートしている場合、<code>true</code>を返す。
+	 */
+	public boolean supportsWindowFunction();
+
+	/**
+	 * {@link #getLimitSQL(String, long, long, List)}で取得データに追加されるカラムのラベルを取得する。
+	 * <p>
+	 * 追加されたカラムは取得データへ格納しない。
+	 * </p>
+	 * 
+	 * @return ラベル。追加しない場合、<code>null</code>を返す。
+	 */
+	public String getLimitColumnLabel();
+
+	/**
+	 * <code>IN (...)</code>句に指定できる値の最大数を取得する。
+	 * <p>
+	 * バインド変数の数に上限があるデータベースでは、その上限を返す。
+	 * </p>
+	 * 
+	 * @return 最大数
+	 */
+	public int getMaxInListSize();
+}
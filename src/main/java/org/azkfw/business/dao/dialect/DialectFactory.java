@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.dialect;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * このクラスは、SQL方言のインスタンス生成を行うファクトリークラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class DialectFactory {
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private DialectFactory() {
+
+	}
+
+	/**
+	 * コネクションの接続先データベースに対応したSQL方言を生成する。
+	 * 
+	 * @param connection コネクション
+	 * @return SQL方言。対応するSQL方言が存在しない場合、<code>null</code>を返す。
+	 * @throws SQLException データベース情報の取得時に問題が発生した場合
+	 */
+	public static Dialect create(final Connection connection) throws SQLException {
+		DatabaseMetaData md = connection.getMetaData();
+		return create(md.getDatabaseProductName(), md.getDatabaseMajorVersion(), md.getDatabaseMinorVersion());
+	}
+
+	/**
+	 * データベース製品に対応したSQL方言を生成する。
+	 * 
+	 * @param productName データベース製品名
+	 * @param majorVersion メジャーバージョン
+	 * @return SQL方言。対応するSQL方言が存在しない場合、<code>null</code>を返す。
+	 */
+	public static Dialect create(final String productName, final int majorVersion) {
+		return create(productName, majorVersion, 0);
+	}
+
+	/**
+	 * データベース製品に対応したSQL方言を生成する。
+	 * 
+	 * @param productName データベース製品名
+	 * @param majorVersion メジャーバージョン
+	 * @param minorVersion マイナーバージョン
+	 * @return SQL方言。対応するSQL方言が存在しない場合、<code>null</code>を返す。
+	 */
+	public static Dialect create(final String productName, final int majorVersion, final int minorVersion) {
+		Dialect dialect = null;
+		if (null != productName) {
+			String name = productName.toLowerCase();
+			if (name.contains("mysql")) {
+				dialect = new LimitOffsetDialect(8 <= majorVersion);
+			} else if (name.contains("mariadb")) {
+				// ウィンドウ関数は10.2以降
+				dialect = new LimitOffsetDialect(10 < majorVersion || (10 == majorVersion && 2 <= minorVersion));
+			} else if (name.contains("postgresql")) {
+				dialect = new LimitOffsetDialect(true);
+			} else if (name.contains("h2")) {
+				dialect = new LimitOffsetDialect(2 <= majorVersion);
+			} else if (name.contains("hsql")) {
+				dialect = new LimitOffsetDialect(false);
+			} else if (name.contains("sqlite")) {
+				// バインド変数は999個まで
+				dialect = new LimitOffsetDialect(false, 999);
+			} else if (name.contains("oracle")) {
+				if (12 <= majorVersion) {
+					dialect = new OffsetFetchDialect();
+				} else {
+					dialect = new RownumDialect();
+				}
+			} else if (name.contains("sql server")) {
+				if (11 <= majorVersion) {
+					dialect = new OffsetFetchDialect(true, true);
+				}
+			} else if (name.contains("derby")) {
+				dialect = new OffsetFetchDialect(false);
+			} else if (name.startsWith("db2")) {
+				dialect = new OffsetFetchDialect();
+			}
+		}
+		return dialect;
+	}
+}
@@ -0,0 +1,308 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * このクラスは、SQL方言に関するユーティリティクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class DialectUtility {
+
+	/**
+	 * <code>IN (...)</code>句に指定する値の最大数(デフォルト)
+	 */
+	public static final int DEFAULT_MAX_IN_LIST_SIZE = 1000;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private DialectUtility() {
+
+	}
+
+	/**
+	 * SQLの末尾の空白およびセミコロンを取り除く。
+	 * 
+	 * @param sql SQL
+	 * @return SQL
+	 */
+	public static String trim(final String sql) {
+		int end = sql.length();
+		while (0 < end) {
+			char c = sql.charAt(end - 1);
+			if (';' == c || Character.isWhitespace(c)) {
+				end--;
+			} else {
+				break;
+			}
+		}
+		return sql.substring(0, end);
+	}
+
+	/**
+	 * 文字列がSQLの識別子として使用可能か判断する。
+	 * 
+	 * @param name 文字列
+	 * @return 識別子として使用可能な場合、<code>true</code>を返す。
+	 */
+	public static boolean isIdentifier(final String name) {
+		if (null == name || 0 == name.length()) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (!(('A' <= c && c <= 'Z') || ('a' <= c && c <= 'z') || '_' == c || (0 < i && (('0' <= c && c <= '9') || '$' == c)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * SQLの最上位の選択リストの末尾へカラムを追加する。
+	 * <p>
+	 * 最上位に<code>DISTINCT</code>、<code>UNIQUE</code>及び集合演算(<code>UNION</code>など)を含む場合や、
+	 * 選択リストが<code>*</code>のみの場合は、結果が変わるまたは構文が不正となるため追加しない。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @param column 追加するカラム
+	 * @return SQL。追加できない場合、<code>null</code>を返す。
+	 */
+	public static String appendSelectColumn(final String sql, final String column) {
+		String s = trim(sql);
+		int length = s.length();
+		int depth = 0;
+		int select = -1;
+		int from = -1;
+		int last = -1;
+		boolean head = false;
+
+		int i = 0;
+		while (i < length) {
+			char c = s.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+				continue;
+			} else if ('-' == c && i + 1 < length && '-' == s.charAt(i + 1)) {
+				int end = s.indexOf('\n', i);
+				i = (0 > end) ? length : end + 1;
+				continue;
+			} else if ('/' == c && i + 1 < length && '*' == s.charAt(i + 1)) {
+				int end = s.indexOf("*/", i + 2);
+				if (0 > end) {
+					return null;
+				}
+				i = end + 2;
+				continue;
+			}
+
+			int start = i;
+			if ('\'' == c || '"' == c || '`' == c) {
+				// リテラル及び引用符付き識別子
+				int end = s.indexOf(c, i + 1);
+				while (0 <= end && end + 1 < length && c == s.charAt(end + 1)) {
+					end = s.indexOf(c, end + 2);
+				}
+				if (0 > end) {
+					return null;
+				}
+				i = end + 1;
+			} else if (isWordChar(c)) {
+				while (i < length && isWordChar(s.charAt(i))) {
+					i++;
+				}
+				if (0 == depth) {
+					String word = s.substring(start, i).toUpperCase();
+					if ("UNION".equals(word) || "INTERSECT".equals(word) || "EXCEPT".equals(word) || "MINUS".equals(word)) {
+						return null;
+					} else if (0 > select) {
+						if ("SELECT".equals(word)) {
+							select = i;
+							head = true;
+							last = i;
+							continue;
+						}
+					} else if (0 > from && "FROM".equals(word)) {
+						from = start;
+						continue;
+					} else if (head && ("DISTINCT".equals(word) || "UNIQUE".equals(word))) {
+						return null;
+					}
+				}
+			} else {
+				if ('(' == c) {
+					depth++;
+				} else if (')' == c) {
+					depth--;
+				}
+				i++;
+			}
+			head = false;
+			if (0 > from) {
+				last = i;
+			}
+		}
+
+		if (0 > select || 0 > from) {
+			return null;
+		}
+		String list = s.substring(select, last).trim();
+		if (0 == list.length() || "*".equals(list)) {
+			return null;
+		}
+
+		StringBuilder result = new StringBuilder();
+		result.append(s.substring(0, last));
+		result.append(", ").append(column);
+		result.append(s.substring(last));
+		return result.toString();
+	}
+
+	/**
+	 * SQLの最上位に<code>ORDER BY</code>句が存在するか判断する。
+	 * 
+	 * @param sql SQL
+	 * @return 存在する場合、<code>true</code>を返す。解析できない場合も<code>true</code>を返す。
+	 */
+	public static boolean hasOrderBy(final String sql) {
+		String s = trim(sql);
+		List<int[]> words = getTopLevelWords(s);
+		return (null == words) || 0 <= indexOfOrderBy(s, words);
+	}
+
+	/**
+	 * SQLの最上位の<code>ORDER BY</code>句を取り除く。
+	 * <p>
+	 * 副問合せとして囲む場合に使用する。SQL Serverなど副問合せに<code>ORDER BY</code>句を指定できないデータベースがあるため。<br/>
+	 * <code>ORDER BY</code>句の後に<code>LIMIT</code>、<code>OFFSET</code>、<code>FETCH</code>、<code>FOR</code>句がある場合は、
+	 * 取得結果が変わるため取り除かない。
+	 * </p>
+	 * 
+	 * @param sql SQL
+	 * @return SQL
+	 */
+	public static String removeOrderBy(final String sql) {
+		String s = trim(sql);
+		List<int[]> words = getTopLevelWords(s);
+		if (null == words) {
+			return s;
+		}
+		int index = indexOfOrderBy(s, words);
+		if (0 > index) {
+			return s;
+		}
+		for (int i = index + 2; i < words.size(); i++) {
+			String word = s.substring(words.get(i)[0], words.get(i)[1]).toUpperCase();
+			if ("LIMIT".equals(word) || "OFFSET".equals(word) || "FETCH".equals(word) || "FOR".equals(word)) {
+				return s;
+			}
+		}
+		return trim(s.substring(0, words.get(index)[0]));
+	}
+
+	/**
+	 * 最上位の最後の<code>ORDER BY</code>句の位置を取得する。
+	 * 
+	 * @param s SQL
+	 * @param words 最上位の単語の位置
+	 * @return <code>ORDER</code>の単語の位置。存在しない場合、<code>-1</code>を返す。
+	 */
+	private static int indexOfOrderBy(final String s, final List<int[]> words) {
+		for (int i = words.size() - 2; i >= 0; i--) {
+			if ("ORDER".equalsIgnoreCase(s.substring(words.get(i)[0], words.get(i)[1]))
+					&& "BY".equalsIgnoreCase(s.substring(words.get(i + 1)[0], words.get(i + 1)[1]))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * SQLの最上位(括弧の外)の単語の位置を取得する。
+	 * <p>
+	 * コメント、リテラル及び引用符付き識別子は単語に含めない。
+	 * </p>
+	 * 
+	 * @param s SQL
+	 * @return 単語ごとの開始位置及び終了位置。解析できない場合、<code>null</code>を返す。
+	 */
+	private static List<int[]> getTopLevelWords(final String s) {
+		List<int[]> words = new ArrayList<int[]>();
+		int length = s.length();
+		int depth = 0;
+		int i = 0;
+		while (i < length) {
+			char c = s.charAt(i);
+			if ('-' == c && i + 1 < length && '-' == s.charAt(i + 1)) {
+				int end = s.indexOf('\n', i);
+				i = (0 > end) ? length : end + 1;
+			} else if ('/' == c && i + 1 < length && '*' == s.charAt(i + 1)) {
+				int end = s.indexOf("*/", i + 2);
+				if (0 > end) {
+					return null;
+				}
+				i = end + 2;
+			} else if ('\'' == c || '"' == c || '`' == c) {
+				int end = s.indexOf(c, i + 1);
+				while (0 <= end && end + 1 < length && c == s.charAt(end + 1)) {
+					end = s.indexOf(c, end + 2);
+				}
+				if (0 > end) {
+					return null;
+				}
+				i = end + 1;
+			} else if (isWordChar(c)) {
+				int start = i;
+				while (i < length && isWordChar(s.charAt(i))) {
+					i++;
+				}
+				if (0 == depth) {
+					words.add(new int[] { start, i });
+				}
+			} else {
+				if ('(' == c) {
+					depth++;
+				} else if (')' == c) {
+					depth--;
+				}
+				i++;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * 文字が単語を構成する文字か判断する。
+	 * 
+	 * @param c 文字
+	 * @return 単語を構成する文字の場合、<code>true</code>を返す。
+	 */
+	private static boolean isWordChar(final char c) {
+		return Character.isLetterOrDigit(c) || '_' == c || '$' == c || '#' == c || '.' == c;
+	}
+}
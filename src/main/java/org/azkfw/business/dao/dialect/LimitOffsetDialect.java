@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.dialect;
+
+import java.util.List;
+
+/**
+ * このクラスは、<code>LIMIT ... OFFSET ...</code>句で取得範囲を限定するSQL方言クラスです。
+ * <p>
+ * MySQL、MariaDB、PostgreSQL、H2、HSQLDB、SQLiteで使用する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class LimitOffsetDialect implements Dialect {
+
+	/**
+	 * ウィンドウ関数サポート有無
+	 */
+	private final boolean windowFunction;
+
+	/**
+	 * <code>IN (...)</code>句に指定できる値の最大数
+	 */
+	private final int maxInListSize;
+
+	/**
+	 * コンストラクタ
+	 */
+	public LimitOffsetDialect() {
+		this(true);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aWindowFunction ウィンドウ関数をサポートしている場合、<code>true</code>
+	 */
+	public LimitOffsetDialect(final boolean aWindowFunction) {
+		this(aWindowFunction, DialectUtility.DEFAULT_MAX_IN_LIST_SIZE);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aWindowFunction ウィンドウ関数をサポートしている場合、<code>true</code>
+	 * @param aMaxInListSize <code>IN (...)</code>句に指定できる値の最大数
+	 */
+	public LimitOffsetDialect(final boolean aWindowFunction, final int aMaxInListSize) {
+		windowFunction = aWindowFunction;
+		maxInListSize = aMaxInListSize;
+	}
+
+	@Override
+	public String getLimitSQL(final String sql, final long offset, final long limit, final List<Object> parameters) {
+		StringBuilder s = new StringBuilder(DialectUtility.trim(sql));
+		s.append(" LIMIT ?");
+		parameters.add(Long.valueOf(limit));
+		if (0 < offset) {
+			s.append(" OFFSET ?");
+			parameters.add(Long.valueOf(offset));
+		}
+		return s.toString();
+	}
+
+	@Override
+	public boolean supportsWindowFunction() {
+		return windowFunction;
+	}
+
+	@Override
+	public String getLimitColumnLabel() {
+		return null;
+	}
+
+	@Override
+	public int getMaxInListSize() {
+		return maxInListSize;
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.dialect;
+
+import java.util.List;
+
+/**
+ * このクラスは、<code>OFFSET ... ROWS FETCH NEXT ... ROWS ONLY</code>句(SQL:2008)で取得範囲を限定するSQL方言クラスです。
+ * <p>
+ * Oracle 12c以降、SQL Server 2012以降、DB2、Derbyで使用する。<br/>
+ * SQL Serverでは、SQLに<code>ORDER BY</code>句が必要となるため、<code>ORDER BY</code>句がないSQLの取得範囲は限定しない。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class OffsetFetchDialect implements Dialect {
+
+	/**
+	 * ウィンドウ関数サポート有無
+	 */
+	private final boolean windowFunction;
+
+	/**
+	 * <code>ORDER BY</code>句の要否
+	 */
+	private final boolean orderByRequired;
+
+	/**
+	 * コンストラクタ
+	 */
+	public OffsetFetchDialect() {
+		this(true);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aWindowFunction ウィンドウ関数をサポートしている場合、<code>true</code>
+	 */
+	public OffsetFetchDialect(final boolean aWindowFunction) {
+		this(aWindowFunction, false);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aWindowFunction ウィンドウ関数をサポートしている場合、<code>true</code>
+	 * @param aOrderByRequired <code>OFFSET</code>句に<code>ORDER BY</code>句が必要な場合、<code>true</code>
+	 */
+	public OffsetFetchDialect(final boolean aWindowFunction, final boolean aOrderByRequired) {
+		windowFunction = aWindowFunction;
+		orderByRequired = aOrderByRequired;
+	}
+
+	@Override
+	public String getLimitSQL(final String sql, final long offset, final long limit, final List<Object> parameters) {
+		if (orderByRequired && !DialectUtility.hasOrderBy(sql)) {
+			return null;
+		}
+		StringBuilder s = new StringBuilder(DialectUtility.trim(sql));
+		s.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+		parameters.add(Long.valueOf(offset));
+		parameters.add(Long.valueOf(limit));
+		return s.toString();
+	}
+
+	@Override
+	public boolean supportsWindowFunction() {
+		return windowFunction;
+	}
+
+	@Override
+	public String getLimitColumnLabel() {
+		return null;
+	}
+
+	@Override
+	public int getMaxInListSize() {
+		return DialectUtility.DEFAULT_MAX_IN_LIST_SIZE;
+	}
+}
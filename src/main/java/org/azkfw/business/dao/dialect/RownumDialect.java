@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.dialect;
+
+import java.util.List;
+
+/**
+ * このクラスは、<code>ROWNUM</code>疑似列で取得範囲を限定するSQL方言クラスです。
+ * <p>
+ * Oracle 11g以前で使用する。<br/>
+ * 読み飛ばす件数を指定した場合、SQLに<code>ROWNUM_</code>列が追加される。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class RownumDialect implements Dialect {
+
+	/**
+	 * 行番号のカラムラベル
+	 */
+	private static final String ROWNUM_LABEL = "ROWNUM_";
+
+	@Override
+	public String getLimitSQL(final String sql, final long offset, final long limit, final List<Object> parameters) {
+		StringBuilder s = new StringBuilder();
+		if (0 < offset) {
+			s.append("SELECT * FROM (SELECT ROW_.*, ROWNUM ").append(ROWNUM_LABEL).append(" FROM (");
+			s.append(DialectUtility.trim(sql));
+			s.append(") ROW_ WHERE ROWNUM <= ?) WHERE ").append(ROWNUM_LABEL).append(" > ?");
+			parameters.add(Long.valueOf(offset + limit));
+			parameters.add(Long.valueOf(offset));
+		} else {
+			s.append("SELECT * FROM (");
+			s.append(DialectUtility.trim(sql));
+			s.append(") WHERE ROWNUM <= ?");
+			parameters.add(Long.valueOf(limit));
+		}
+		return s.toString();
+	}
+
+	@Override
+	public boolean supportsWindowFunction() {
+		return true;
+	}
+
+	@Override
+	public String getLimitColumnLabel() {
+		return ROWNUM_LABEL;
+	}
+
+	@Override
+	public int getMaxInListSize() {
+		return DialectUtility.DEFAULT_MAX_IN_LIST_SIZE;
+	}
+}
@@ -0,0 +1,326 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.export;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * このクラスは、クエリ結果をチャネルへ出力する機能の実装を行うための基底クラスです。
+ * <p>
+ * 出力開始時にカラムの型から取得方法を決定し、行ごとに型に応じた<code>getXxx</code>で値を取得する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public abstract class AbstractChannelExporter implements DataExporter {
+
+	/** 文字列 */
+	private static final int STRING = 0;
+	/** 整数 */
+	private static final int LONG = 1;
+	/** 浮動小数点数 */
+	private static final int DOUBLE = 2;
+	/** 固定小数点数 */
+	private static final int DECIMAL = 3;
+	/** 真偽値 */
+	private static final int BOOLEAN = 4;
+	/** バイナリ */
+	private static final int BINARY = 5;
+
+	/** 16進数文字 */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/** 出力バッファ */
+	private final ExportBuffer out;
+
+	/** カラムごとの名前 */
+	private String[] names;
+
+	/** カラムごとの取得方法 */
+	private int[] kinds;
+
+	/** 出力件数 */
+	private long count;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param channel チャネル
+	 */
+	public AbstractChannelExporter(final WritableByteChannel channel) {
+		this(channel, ExportBuffer.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param channel チャネル
+	 * @param bufferSize バッファサイズ
+	 */
+	public AbstractChannelExporter(final WritableByteChannel channel, final int bufferSize) {
+		out = new ExportBuffer(channel, bufferSize);
+	}
+
+	@Override
+	public final void start(final List<String> aNames, final ResultSetMetaData md) throws SQLException, IOException {
+		names = aNames.toArray(new String[aNames.size()]);
+		kinds = new int[names.length];
+		for (int i = 0; i < kinds.length; i++) {
+			kinds[i] = getKind(md.getColumnType(i + 1));
+		}
+		count = 0;
+		doStart(names);
+	}
+
+	@Override
+	public final void write(final ResultSet rs) throws SQLException, IOException {
+		doStartRow();
+		boolean first = true;
+		for (int i = 0; i < kinds.length; i++) {
+			if (null == names[i]) {
+				continue;
+			}
+			doStartColumn(i, first);
+			first = false;
+
+			int column = i + 1;
+			switch (kinds[i]) {
+			case LONG: {
+				long value = rs.getLong(column);
+				if (rs.wasNull()) {
+					doWriteNull();
+				} else {
+					out.append(value);
+				}
+				break;
+			}
+			case DOUBLE: {
+				double value = rs.getDouble(column);
+				if (rs.wasNull()) {
+					doWriteNull();
+				} else if (Double.isNaN(value) || Double.isInfinite(value)) {
+					doWriteNonFinite(value);
+				} else {
+					out.append(Double.toString(value));
+				}
+				break;
+			}
+			case DECIMAL: {
+				BigDecimal value = rs.getBigDecimal(column);
+				if (null == value) {
+					doWriteNull();
+				} else {
+					out.append(value.toPlainString());
+				}
+				break;
+			}
+			case BOOLEAN: {
+				boolean value = rs.getBoolean(column);
+				if (rs.wasNull()) {
+					doWriteNull();
+				} else {
+					out.append(value ? "true" : "false");
+				}
+				break;
+			}
+			case BINARY: {
+				byte[] value = rs.getBytes(column);
+				if (null == value) {
+					doWriteNull();
+				} else {
+					doWriteString(toHex(value));
+				}
+				break;
+			}
+			default: {
+				String value = rs.getString(column);
+				if (null == value) {
+					doWriteNull();
+				} else {
+					doWriteString(value);
+				}
+				break;
+			}
+			}
+		}
+		doEndRow();
+		count++;
+	}
+
+	@Override
+	public final void end() throws IOException {
+		doEnd();
+		out.flush();
+	}
+
+	/**
+	 * 出力件数を取得する。
+	 * 
+	 * @return 出力件数
+	 */
+	public final long getCount() {
+		return count;
+	}
+
+	/**
+	 * 出力バイト数を取得する。
+	 * 
+	 * @return 出力バイト数
+	 */
+	public final long getWrittenBytes() {
+		return out.getWrittenBytes();
+	}
+
+	/**
+	 * 出力バッファを取得する。
+	 * 
+	 * @return 出力バッファ
+	 */
+	protected final ExportBuffer getBuffer() {
+		return out;
+	}
+
+	/**
+	 * 出力開始時の処理を行う。
+	 * 
+	 * @param aNames カラムごとの名前。出力しないカラムは<code>null</code>
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected abstract void doStart(final String[] aNames) throws IOException;
+
+	/**
+	 * 行の開始を出力する。
+	 * 
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected abstract void doStartRow() throws IOException;
+
+	/**
+	 * カラムの開始を出力する。
+	 * 
+	 * @param index カラム位置(0始まり)
+	 * @param first 行の最初のカラムの場合、<code>true</code>
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected abstract void doStartColumn(final int index, final boolean first) throws IOException;
+
+	/**
+	 * <code>null</code>を出力する。
+	 * 
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected abstract void doWriteNull() throws IOException;
+
+	/**
+	 * 文字列を出力する。
+	 * 
+	 * @param value 文字列
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected abstract void doWriteString(final String value) throws IOException;
+
+	/**
+	 * 非数及び無限大を出力する。
+	 * 
+	 * @param value 値
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected void doWriteNonFinite(final double value) throws IOException {
+		doWriteString(Double.toString(value));
+	}
+
+	/**
+	 * 行の終了を出力する。
+	 * 
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected abstract void doEndRow() throws IOException;
+
+	/**
+	 * 出力終了時の処理を行う。
+	 * 
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	protected void doEnd() throws IOException {
+
+	}
+
+	/**
+	 * SQL型から取得方法を決定する。
+	 * 
+	 * @param type SQL型({@link Types})
+	 * @return 取得方法
+	 */
+	private static int getKind(final int type) {
+		int kind = STRING;
+		switch (type) {
+		case Types.TINYINT:
+		case Types.SMALLINT:
+		case Types.INTEGER:
+		case Types.BIGINT:
+			kind = LONG;
+			break;
+		case Types.REAL:
+		case Types.FLOAT:
+		case Types.DOUBLE:
+			kind = DOUBLE;
+			break;
+		case Types.NUMERIC:
+		case Types.DECIMAL:
+			kind = DECIMAL;
+			break;
+		case Types.BIT:
+		case Types.BOOLEAN:
+			kind = BOOLEAN;
+			break;
+		case Types.BINARY:
+		case Types.VARBINARY:
+		case Types.LONGVARBINARY:
+		case Types.BLOB:
+			kind = BINARY;
+			break;
+		default:
+			break;
+		}
+		return kind;
+	}
+
+	/**
+	 * バイト列を16進数文字列へ変換する。
+	 * 
+	 * @param value バイト列
+	 * @return 16進数文字列
+	 */
+	private static String toHex(final byte[] value) {
+		char[] chars = new char[value.length * 2];
+		for (int i = 0; i < value.length; i++) {
+			chars[i * 2] = HEX[(value[i] >> 4) & 0x0F];
+			chars[i * 2 + 1] = HEX[value[i] & 0x0F];
+		}
+		return new String(chars);
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.export;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * このクラスは、クエリ結果をCSV形式(RFC 4180)で出力するクラスです。
+ * <p>
+ * 区切り文字、改行文字、引用符を含む値は引用符で囲む。<code>null</code>は空文字として出力する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class CsvExporter extends AbstractChannelExporter {
+
+	/** 区切り文字 */
+	private final char separator;
+
+	/** ヘッダ出力有無 */
+	private final boolean header;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param channel チャネル
+	 */
+	public CsvExporter(final WritableByteChannel channel) {
+		this(channel, ',', true);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param channel チャネル
+	 * @param aSeparator 区切り文字(ASCII文字)
+	 * @param aHeader ヘッダを出力する場合、<code>true</code>
+	 */
+	public CsvExporter(final WritableByteChannel channel, final char aSeparator, final boolean aHeader) {
+		super(channel);
+		separator = aSeparator;
+		header = aHeader;
+	}
+
+	@Override
+	protected void doStart(final String[] names) throws IOException {
+		if (header) {
+			boolean first = true;
+			for (String name : names) {
+				if (null == name) {
+					continue;
+				}
+				if (!first) {
+					getBuffer().appendAscii(separator);
+				}
+				first = false;
+				doWriteString(name);
+			}
+			doEndRow();
+		}
+	}
+
+	@Override
+	protected void doStartRow() {
+
+	}
+
+	@Override
+	protected void doStartColumn(final int index, final boolean first) throws IOException {
+		if (!first) {
+			getBuffer().appendAscii(separator);
+		}
+	}
+
+	@Override
+	protected void doWriteNull() {
+
+	}
+
+	@Override
+	protected void doWriteString(final String value) throws IOException {
+		ExportBuffer out = getBuffer();
+		if (isQuoteRequired(value)) {
+			out.appendAscii('"');
+			int start = 0;
+			int index = value.indexOf('"');
+			while (0 <= index) {
+				out.append(value.substring(start, index + 1)).appendAscii('"');
+				start = index + 1;
+				index = value.indexOf('"', start);
+			}
+			out.append(0 == start ? value : value.substring(start));
+			out.appendAscii('"');
+		} else {
+			out.append(value);
+		}
+	}
+
+	@Override
+	protected void doEndRow() throws IOException {
+		getBuffer().appendAscii('\r').appendAscii('\n');
+	}
+
+	/**
+	 * 値を引用符で囲む必要があるか判断する。
+	 * 
+	 * @param value 値
+	 * @return 必要な場合、<code>true</code>を返す。
+	 */
+	private boolean isQuoteRequired(final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (separator == c || '"' == c || '\r' == c || '\n' == c) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * このインターフェースは、クエリ結果を1行ずつ出力する機能を表現したインターフェースです。
+ * <p>
+ * 行を{@link java.util.Map}へ変換せず、{@link ResultSet}から直接出力する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public interface DataExporter {
+
+	/**
+	 * 出力を開始する。
+	 * 
+	 * @param names カラムごとの名前。出力しないカラムは<code>null</code>
+	 * @param md メタデータ
+	 * @throws SQLException メタデータの取得時に問題が発生した場合
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public void start(final List<String> names, final ResultSetMetaData md) throws SQLException, IOException;
+
+	/**
+	 * 現在の行を出力する。
+	 * 
+	 * @param rs 結果セット
+	 * @throws SQLException 値の取得時に問題が発生した場合
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public void write(final ResultSet rs) throws SQLException, IOException;
+
+	/**
+	 * 出力を終了する。
+	 * 
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public void end() throws IOException;
+}
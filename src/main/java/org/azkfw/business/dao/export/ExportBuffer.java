@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.export;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * このクラスは、チャネルへUTF-8で出力するバッファクラスです。
+ * <p>
+ * 文字列をバッファへ直接エンコードし、バッファが一杯になった場合にチャネルへ書き込む。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class ExportBuffer implements Flushable {
+
+	/**
+	 * デフォルトのバッファサイズ
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/** チャネル */
+	private final WritableByteChannel channel;
+
+	/** バッファ */
+	private final byte[] bytes;
+
+	/** バッファ */
+	private final ByteBuffer buffer;
+
+	/** 書き込み位置 */
+	private int position;
+
+	/** 出力バイト数 */
+	private long written;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aChannel チャネル
+	 */
+	public ExportBuffer(final WritableByteChannel aChannel) {
+		this(aChannel, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aChannel チャネル
+	 * @param aSize バッファサイズ
+	 */
+	public ExportBuffer(final WritableByteChannel aChannel, final int aSize) {
+		channel = aChannel;
+		bytes = new byte[Math.max(aSize, 16)];
+		buffer = ByteBuffer.wrap(bytes);
+		position = 0;
+		written = 0;
+	}
+
+	/**
+	 * バイト列を出力する。
+	 * 
+	 * @param value バイト列
+	 * @return 自身
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public ExportBuffer append(final byte[] value) throws IOException {
+		int offset = 0;
+		while (offset < value.length) {
+			if (position == bytes.length) {
+				drain();
+			}
+			int length = Math.min(value.length - offset, bytes.length - position);
+			System.arraycopy(value, offset, bytes, position, length);
+			position += length;
+			offset += length;
+		}
+		return this;
+	}
+
+	/**
+	 * ASCII文字を出力する。
+	 * 
+	 * @param c 文字
+	 * @return 自身
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public ExportBuffer appendAscii(final char c) throws IOException {
+		if (position == bytes.length) {
+			drain();
+		}
+		bytes[position++] = (byte) c;
+		return this;
+	}
+
+	/**
+	 * 文字を出力する。
+	 * 
+	 * @param c 文字
+	 * @return 自身
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public ExportBuffer append(final char c) throws IOException {
+		if (c < 0x80) {
+			return appendAscii(c);
+		}
+		if (position + 3 > bytes.length) {
+			drain();
+		}
+		if (c < 0x800) {
+			bytes[position++] = (byte) (0xC0 | (c >> 6));
+			bytes[position++] = (byte) (0x80 | (c & 0x3F));
+		} else {
+			// 単独のサロゲートは置換文字として出力する
+			char v = Character.isSurrogate(c) ? '\uFFFD' : c;
+			bytes[position++] = (byte) (0xE0 | (v >> 12));
+			bytes[position++] = (byte) (0x80 | ((v >> 6) & 0x3F));
+			bytes[position++] = (byte) (0x80 | (v & 0x3F));
+		}
+		return this;
+	}
+
+	/**
+	 * 文字列を出力する。
+	 * 
+	 * @param value 文字列
+	 * @return 自身
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public ExportBuffer append(final String value) throws IOException {
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				if (position == bytes.length) {
+					drain();
+				}
+				bytes[position++] = (byte) c;
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				appendCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+			} else {
+				append(c);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * 数値を出力する。
+	 * 
+	 * @param value 数値
+	 * @return 自身
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	public ExportBuffer append(final long value) throws IOException {
+		if (position + 20 > bytes.length) {
+			drain();
+		}
+		if (Long.MIN_VALUE == value) {
+			return append(Long.toString(value));
+		}
+		long v = value;
+		if (0 > v) {
+			bytes[position++] = '-';
+			v = -v;
+		}
+		int start = position;
+		do {
+			bytes[position++] = (byte) ('0' + (v % 10));
+			v /= 10;
+		} while (0 < v);
+		// 逆順に格納した桁を並べ替える
+		for (int i = start, j = position - 1; i < j; i++, j--) {
+			byte b = bytes[i];
+			bytes[i] = bytes[j];
+			bytes[j] = b;
+		}
+		return this;
+	}
+
+	/**
+	 * 出力バイト数を取得する。
+	 * 
+	 * @return 出力バイト数
+	 */
+	public long getWrittenBytes() {
+		return written + position;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		drain();
+	}
+
+	/**
+	 * コードポイントを出力する。
+	 * 
+	 * @param codePoint コードポイント
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	private void appendCodePoint(final int codePoint) throws IOException {
+		if (position + 4 > bytes.length) {
+			drain();
+		}
+		bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+		bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+		bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+		bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+	}
+
+	/**
+	 * バッファの内容をチャネルへ書き込む。
+	 * 
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	private void drain() throws IOException {
+		buffer.clear();
+		buffer.limit(position);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		written += position;
+		position = 0;
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * このクラスは、クエリ結果をNDJSON形式(1行1オブジェクトのJSON)で出力するクラスです。
+ * <p>
+ * 数値及び真偽値はJSONの数値及び真偽値として出力する。非数及び無限大は<code>null</code>として出力する。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class NdjsonExporter extends AbstractChannelExporter {
+
+	/** 16進数文字 */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/** カラムごとのキー(エンコード済み) */
+	private byte[][] keys;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param channel チャネル
+	 */
+	public NdjsonExporter(final WritableByteChannel channel) {
+		super(channel);
+	}
+
+	@Override
+	protected void doStart(final String[] names) throws IOException {
+		// キーは行ごとに同一のため、エンコード済みのバイト列を使い回す
+		keys = new byte[names.length][];
+		for (int i = 0; i < names.length; i++) {
+			if (null != names[i]) {
+				ByteArrayOutputStream stream = new ByteArrayOutputStream();
+				ExportBuffer buffer = new ExportBuffer(Channels.newChannel(stream), 256);
+				writeString(buffer, names[i]);
+				buffer.appendAscii(':');
+				buffer.flush();
+				keys[i] = stream.toByteArray();
+			}
+		}
+	}
+
+	@Override
+	protected void doStartRow() throws IOException {
+		getBuffer().appendAscii('{');
+	}
+
+	@Override
+	protected void doStartColumn(final int index, final boolean first) throws IOException {
+		if (!first) {
+			getBuffer().appendAscii(',');
+		}
+		getBuffer().append(keys[index]);
+	}
+
+	@Override
+	protected void doWriteNull() throws IOException {
+		getBuffer().append("null");
+	}
+
+	@Override
+	protected void doWriteString(final String value) throws IOException {
+		writeString(getBuffer(), value);
+	}
+
+	@Override
+	protected void doWriteNonFinite(final double value) throws IOException {
+		doWriteNull();
+	}
+
+	@Override
+	protected void doEndRow() throws IOException {
+		getBuffer().appendAscii('}').appendAscii('\n');
+	}
+
+	/**
+	 * JSON文字列を出力する。
+	 * 
+	 * @param out 出力バッファ
+	 * @param value 文字列
+	 * @throws IOException 出力時に問題が発生した場合
+	 */
+	private static void writeString(final ExportBuffer out, final String value) throws IOException {
+		out.appendAscii('"');
+		int start = 0;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if ('"' == c || '\\' == c || c < 0x20 || '\u2028' == c || '\u2029' == c) {
+				if (start < i) {
+					out.append(value.substring(start, i));
+				}
+				start = i + 1;
+				switch (c) {
+				case '"':
+					out.appendAscii('\\').appendAscii('"');
+					break;
+				case '\\':
+					out.appendAscii('\\').appendAscii('\\');
+					break;
+				case '\n':
+					out.appendAscii('\\').appendAscii('n');
+					break;
+				case '\r':
+					out.appendAscii('\\').appendAscii('r');
+					break;
+				case '\t':
+					out.appendAscii('\\').appendAscii('t');
+					break;
+				default:
+					out.appendAscii('\\').appendAscii('u').appendAscii(HEX[(c >> 12) & 0x0F]).appendAscii(HEX[(c >> 8) & 0x0F])
+							.appendAscii(HEX[(c >> 4) & 0x0F]).appendAscii(HEX[c & 0x0F]);
+					break;
+				}
+			}
+		}
+		if (0 == start) {
+			out.append(value);
+		} else if (start < length) {
+			out.append(value.substring(start));
+		}
+		out.appendAscii('"');
+	}
+}
@@ -0,0 +1,450 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.azkfw.business.dao.AbstractDataAccessObject;
+import org.azkfw.business.dao.DataAccessServiceException;
+import org.azkfw.business.dao.DynamicSQLAccessObject;
+import org.azkfw.business.dao.DynamicSQLCacheManager;
+import org.azkfw.business.progress.ProgressEvent;
+import org.azkfw.business.progress.ProgressListener;
+import org.azkfw.business.progress.ProgressSupport;
+import org.azkfw.dsql.DynamicSQL;
+import org.azkfw.dsql.Group;
+import org.azkfw.dsql.Parameter;
+import org.azkfw.lang.LoggingObject;
+import org.azkfw.persistence.database.DatabaseConnection;
+
+/**
+ * このクラスは、CSVファイルをダイナミックSQLの一括更新で登録するクラスです。
+ * <p>
+ * 読み込みスレッドでファイルをメモリマップして解析し、{@link RecordMapper}でパラメータへ変換したダイナミックSQLをバッチサイズごとにキューへ格納する。<br/>
+ * 呼び出し元スレッドはキューから取り出したダイナミックSQLを{@link DynamicSQLAccessObject#updateBatch()}で登録し、コミット間隔ごとにコミットする。<br/>
+ * キューのサイズで読み込みスレッドの先行量を制限するため、ファイルサイズによらずメモリ使用量は一定となる。
+ * </p>
+ * 
+ * <pre>
+ * CsvLoader loader = new CsvLoader(connection, &quot;insertPartner&quot;, null, mapper);
+ * loader.setCommitInterval(10000);
+ * LoadResult result = loader.load(file);
+ * </pre>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class CsvLoader extends LoggingObject implements ProgressSupport {
+
+	/** デフォルトキューサイズ */
+	public static final int DEFAULT_QUEUE_SIZE = 4;
+
+	/** 読み込み終了を表すチャンク */
+	private static final Chunk END = new Chunk(null, 0);
+
+	/** コネクション */
+	private final DatabaseConnection connection;
+
+	/** ダイナミックSQL名 */
+	private final String name;
+
+	/** グループ */
+	private final Group group;
+
+	/** レコードマッパー */
+	private final RecordMapper mapper;
+
+	/** 文字コード */
+	private Charset charset;
+
+	/** 区切り文字 */
+	private char separator;
+
+	/** 読み飛ばすレコード数 */
+	private long skipRecords;
+
+	/** バッチサイズ */
+	private int batchSize;
+
+	/** コミット間隔 */
+	private long commitInterval;
+
+	/** キューサイズ */
+	private int queueSize;
+
+	/** リスナー */
+	private final List<ProgressListener> listeners;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aConnection コネクション
+	 * @param aName ダイナミックSQL名
+	 * @param aGroup グループ
+	 * @param aMapper レコードマッパー
+	 */
+	public CsvLoader(final DatabaseConnection aConnection, final String aName, final Group aGroup, final RecordMapper aMapper) {
+		super(CsvLoader.class);
+		connection = aConnection;
+		name = aName;
+		group = aGroup;
+		mapper = aMapper;
+		charset = Charset.forName("UTF-8");
+		separator = ',';
+		skipRecords = 0;
+		batchSize = AbstractDataAccessObject.DEFAULT_BATCH_SIZE;
+		commitInterval = 0;
+		queueSize = DEFAULT_QUEUE_SIZE;
+		listeners = new ArrayList<ProgressListener>();
+	}
+
+	/**
+	 * 文字コードを設定する。
+	 * 
+	 * @param aCharset 文字コード
+	 */
+	public final void setCharset(final Charset aCharset) {
+		charset = aCharset;
+	}
+
+	/**
+	 * 区切り文字を設定する。
+	 * 
+	 * @param aSeparator 区切り文字
+	 */
+	public final void setSeparator(final char aSeparator) {
+		separator = aSeparator;
+	}
+
+	/**
+	 * 先頭から読み飛ばすレコード数を設定する。
+	 * <p>
+	 * ヘッダ行がある場合、<code>1</code>を設定する。
+	 * </p>
+	 * 
+	 * @param aRecords レコード数
+	 */
+	public final void setSkipRecords(final long aRecords) {
+		skipRecords = aRecords;
+	}
+
+	/**
+	 * バッチサイズを設定する。
+	 * 
+	 * @param aSize バッチサイズ
+	 */
+	public final void setBatchSize(final int aSize) {
+		batchSize = (0 < aSize) ? aSize : AbstractDataAccessObject.DEFAULT_BATCH_SIZE;
+	}
+
+	/**
+	 * コミット間隔を設定する。
+	 * <p>
+	 * 登録レコード数がコミット間隔に達するごとにコミットする。<code>0</code>以下の場合、コミットは呼び出し元に委ねる。
+	 * </p>
+	 * 
+	 * @param aInterval コミット間隔(レコード数)
+	 */
+	public final void setCommitInterval(final long aInterval) {
+		commitInterval = aInterval;
+	}
+
+	/**
+	 * キューサイズを設定する。
+	 * <p>
+	 * 読み込みスレッドが先行して保持できるバッチ数となる。
+	 * </p>
+	 * 
+	 * @param aSize キューサイズ
+	 */
+	public final void setQueueSize(final int aSize) {
+		queueSize = (0 < aSize) ? aSize : DEFAULT_QUEUE_SIZE;
+	}
+
+	@Override
+	public final void addProgressListener(final ProgressListener listener) {
+		synchronized (listeners) {
+			listeners.add(listener);
+		}
+	}
+
+	@Override
+	public final void removeProgressListener(final ProgressListener listener) {
+		synchronized (listeners) {
+			listeners.remove(listener);
+		}
+	}
+
+	/**
+	 * ファイルを登録する。
+	 * 
+	 * @param aFile ファイル
+	 * @return 登録結果
+	 * @throws DataAccessServiceException 登録時に問題が発生した場合
+	 */
+	public final LoadResult load(final File aFile) throws DataAccessServiceException {
+		long start = System.currentTimeMillis();
+
+		BlockingQueue<Chunk> queue = new ArrayBlockingQueue<Chunk>(queueSize);
+		Producer producer = new Producer(aFile, queue);
+		Thread thread = new Thread(producer, String.format("CsvLoader-%s", name));
+		thread.setDaemon(true);
+		thread.start();
+
+		long rows = 0;
+		long updated = 0;
+		long uncommitted = 0;
+		try {
+			LoadProgressEvent event = new LoadProgressEvent(this);
+			while (true) {
+				Chunk chunk = queue.take();
+				if (END == chunk) {
+					break;
+				}
+
+				DynamicSQLAccessObject dao = new DynamicSQLAccessObject(chunk.dsqls);
+				dao.setConnection(connection);
+				dao.setBatchSize(0);
+				int[] counts = dao.updateBatch();
+				for (int count : counts) {
+					if (0 < count) {
+						updated += count;
+					}
+				}
+				rows += chunk.dsqls.size();
+				uncommitted += chunk.dsqls.size();
+
+				if (0 < commitInterval && commitInterval <= uncommitted) {
+					connection.getConnection().commit();
+					uncommitted = 0;
+				}
+
+				long size = producer.size;
+				event.set((0 < size) ? (float) chunk.position / (float) size : 1.f, rows);
+				callProgress(event);
+			}
+
+			Exception error = producer.error;
+			if (error instanceof DataAccessServiceException) {
+				throw (DataAccessServiceException) error;
+			} else if (null != error) {
+				fatal(String.format("%s : %s", name, aFile.getPath()), error);
+				throw new DataAccessServiceException(error);
+			}
+			if (0 < commitInterval && 0 < uncommitted) {
+				connection.getConnection().commit();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DataAccessServiceException(ex);
+		} catch (SQLException ex) {
+			fatal(String.format("%s : %s", name, aFile.getPath()), ex);
+			throw new DataAccessServiceException(ex);
+		} finally {
+			producer.cancel();
+			thread.interrupt();
+		}
+
+		LoadResult result = new LoadResult(producer.records, rows, updated, producer.size, System.currentTimeMillis() - start);
+		info(String.format("%s : %s", name, result));
+		return result;
+	}
+
+	/**
+	 * 進捗を通知する。
+	 * 
+	 * @param event イベント
+	 */
+	private void callProgress(final ProgressEvent event) {
+		synchronized (listeners) {
+			for (ProgressListener listener : listeners) {
+				try {
+					listener.progress(event);
+				} catch (Exception ex) {
+					warn(ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、読み込み処理を行うクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private final class Producer implements Runnable {
+
+		/** ファイル */
+		private final File file;
+
+		/** キュー */
+		private final BlockingQueue<Chunk> queue;
+
+		/** 読み込みレコード数 */
+		private volatile long records;
+
+		/** ファイルサイズ */
+		private volatile long size;
+
+		/** 例外 */
+		private volatile Exception error;
+
+		/** 中断フラグ */
+		private volatile boolean cancelled;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aFile ファイル
+		 * @param aQueue キュー
+		 */
+		private Producer(final File aFile, final BlockingQueue<Chunk> aQueue) {
+			file = aFile;
+			queue = aQueue;
+		}
+
+		/**
+		 * 読み込みを中断する。
+		 */
+		private void cancel() {
+			cancelled = true;
+		}
+
+		@Override
+		public void run() {
+			CsvParser parser = null;
+			try {
+				parser = new CsvParser(file, charset, separator);
+				size = parser.getSize();
+
+				List<DynamicSQL> dsqls = new ArrayList<DynamicSQL>(batchSize);
+				List<String> record = null;
+				while (!cancelled && null != (record = parser.next())) {
+					records++;
+					if (records <= skipRecords) {
+						continue;
+					}
+
+					Parameter parameter = mapper.map(record, records);
+					if (null == parameter) {
+						continue;
+					}
+					DynamicSQL dsql = DynamicSQLCacheManager.generate(name, group, parameter);
+					if (null == dsql) {
+						throw new DataAccessServiceException(String.format("Not found dynamic sql.[%s]", name));
+					}
+					dsqls.add(dsql);
+
+					if (batchSize <= dsqls.size()) {
+						queue.put(new Chunk(dsqls, parser.getPosition()));
+						dsqls = new ArrayList<DynamicSQL>(batchSize);
+					}
+				}
+				if (0 < dsqls.size()) {
+					queue.put(new Chunk(dsqls, parser.getPosition()));
+				}
+			} catch (InterruptedException ex) {
+				return;
+			} catch (Exception ex) {
+				error = ex;
+			} finally {
+				if (null != parser) {
+					try {
+						parser.close();
+					} catch (IOException ex) {
+						warn(ex);
+					}
+				}
+			}
+
+			try {
+				queue.put(END);
+			} catch (InterruptedException ex) {
+				// 呼び出し元で処理が中断されている
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、一括更新の単位を表現するクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class Chunk {
+
+		/** ダイナミックSQLリスト */
+		private final List<DynamicSQL> dsqls;
+
+		/** 読み込み済みバイト数 */
+		private final long position;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aDsqls ダイナミックSQLリスト
+		 * @param aPosition 読み込み済みバイト数
+		 */
+		private Chunk(final List<DynamicSQL> aDsqls, final long aPosition) {
+			dsqls = aDsqls;
+			position = aPosition;
+		}
+	}
+
+	/**
+	 * このクラスは、登録の進捗を表現するイベントクラスです。
+	 * 
+	 * @since 1.6.1
+	 * @version 1.6.1 2026/10/17
+	 * @author Kawakicchi
+	 */
+	private static final class LoadProgressEvent extends ProgressEvent {
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aSource ソース
+		 */
+		private LoadProgressEvent(final Object aSource) {
+			super(aSource);
+		}
+
+		/**
+		 * 進捗を設定する。
+		 * 
+		 * @param aProgress 進捗率
+		 * @param aRows 登録レコード数
+		 */
+		private void set(final float aProgress, final long aRows) {
+			setProgress(aProgress);
+			setMessage(String.format("%d rows", aRows));
+			setDetail(Long.valueOf(aRows));
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.load;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * このクラスは、CSVファイル(RFC 4180)をメモリマップして1レコードずつ読み込むクラスです。
+ * <p>
+ * ファイルは一定サイズの範囲ごとにメモリマップし、文字コードを変換しながら解析する。<br/>
+ * 引用符で囲まれたフィールドの区切り文字、改行、二重引用符に対応する。空行は読み飛ばす。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class CsvParser implements Closeable {
+
+	/** メモリマップする範囲のデフォルトサイズ */
+	private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	/** メモリマップする範囲のサイズ */
+	private final int windowSize;
+
+	/** ファイル */
+	private final RandomAccessFile file;
+
+	/** チャネル */
+	private final FileChannel channel;
+
+	/** ファイルサイズ */
+	private final long size;
+
+	/** 区切り文字 */
+	private final char separator;
+
+	/** デコーダー */
+	private final CharsetDecoder decoder;
+
+	/** メモリマップしたバッファ */
+	private MappedByteBuffer map;
+
+	/** メモリマップした範囲の開始位置 */
+	private long mapOffset;
+
+	/** 文字バッファ */
+	private final CharBuffer chars;
+
+	/** 範囲の再マップ要求フラグ */
+	private boolean underflow;
+
+	/** 終端到達フラグ */
+	private boolean finished;
+
+	/** 先頭文字確認済みフラグ */
+	private boolean started;
+
+	/** フィールド */
+	private final StringBuilder field;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aFile ファイル
+	 * @param aCharset 文字コード
+	 * @param aSeparator 区切り文字
+	 * @throws IOException ファイルのオープンに失敗した場合
+	 */
+	public CsvParser(final File aFile, final Charset aCharset, final char aSeparator) throws IOException {
+		this(aFile, aCharset, aSeparator, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aFile ファイル
+	 * @param aCharset 文字コード
+	 * @param aSeparator 区切り文字
+	 * @param aWindowSize メモリマップする範囲のサイズ
+	 * @throws IOException ファイルのオープンに失敗した場合
+	 */
+	CsvParser(final File aFile, final Charset aCharset, final char aSeparator, final int aWindowSize) throws IOException {
+		windowSize = aWindowSize;
+		file = new RandomAccessFile(aFile, "r");
+		channel = file.getChannel();
+		size = channel.size();
+		separator = aSeparator;
+		decoder = aCharset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+		map = null;
+		mapOffset = 0;
+		chars = CharBuffer.allocate(64 * 1024);
+		chars.flip();
+		underflow = false;
+		finished = false;
+		started = false;
+		field = new StringBuilder();
+	}
+
+	/**
+	 * 次のレコードを読み込む。
+	 * 
+	 * @return レコード。終端に達した場合、<code>null</code>を返す。
+	 * @throws IOException 読み込み時に問題が発生した場合
+	 */
+	public List<String> next() throws IOException {
+		List<String> record = new ArrayList<String>();
+		field.setLength(0);
+		boolean quoted = false;
+		boolean quotePending = false;
+		boolean any = false;
+
+		while (true) {
+			if (!chars.hasRemaining() && !fill()) {
+				if (!any && 0 == record.size() && 0 == field.length()) {
+					return null;
+				}
+				record.add(field.toString());
+				return record;
+			}
+
+			char c = chars.get();
+			if (!started) {
+				started = true;
+				if ('\uFEFF' == c) {
+					continue;
+				}
+			}
+
+			if (quoted) {
+				if (quotePending) {
+					quotePending = false;
+					if ('"' == c) {
+						field.append(c);
+						continue;
+					}
+					quoted = false;
+				} else {
+					if ('"' == c) {
+						quotePending = true;
+					} else {
+						field.append(c);
+					}
+					continue;
+				}
+			}
+
+			if (separator == c) {
+				record.add(field.toString());
+				field.setLength(0);
+				any = true;
+			} else if ('\n' == c) {
+				if (!any && 0 == record.size() && 0 == field.length()) {
+					// 空行
+					continue;
+				}
+				record.add(field.toString());
+				return record;
+			} else if ('\r' == c) {
+				continue;
+			} else if ('"' == c && 0 == field.length()) {
+				quoted = true;
+				any = true;
+			} else {
+				field.append(c);
+			}
+		}
+	}
+
+	/**
+	 * 読み込み済みのバイト数を取得する。
+	 * 
+	 * @return バイト数
+	 */
+	public long getPosition() {
+		return (null != map) ? mapOffset + map.position() : 0;
+	}
+
+	/**
+	 * ファイルサイズを取得する。
+	 * 
+	 * @return ファイルサイズ
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	@Override
+	public void close() throws IOException {
+		map = null;
+		file.close();
+	}
+
+	/**
+	 * 文字バッファへファイルの内容を読み込む。
+	 * 
+	 * @return 読み込めた場合、<code>true</code>を返す。
+	 * @throws IOException 読み込み時に問題が発生した場合
+	 */
+	private boolean fill() throws IOException {
+		if (finished) {
+			return false;
+		}
+
+		chars.clear();
+		while (true) {
+			if (null == map || underflow) {
+				// 範囲の末尾で分断されたバイト列は、次の範囲の先頭に含める
+				long offset = (null != map) ? mapOffset + map.position() : 0;
+				map = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+				mapOffset = offset;
+				underflow = false;
+			}
+
+			boolean eof = (mapOffset + map.limit() >= size);
+			CoderResult result = decoder.decode(map, chars, eof);
+			if (result.isError()) {
+				result.throwException();
+			}
+			if (result.isOverflow()) {
+				break;
+			}
+			if (eof) {
+				decoder.flush(chars);
+				finished = true;
+				break;
+			}
+			underflow = true;
+		}
+
+		chars.flip();
+		return chars.hasRemaining();
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.load;
+
+/**
+ * このクラスは、一括登録の結果を保持するクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public final class LoadResult {
+
+	/** 読み込みレコード数 */
+	private final long records;
+
+	/** 登録レコード数 */
+	private final long rows;
+
+	/** 更新件数 */
+	private final long updated;
+
+	/** 読み込みバイト数 */
+	private final long bytes;
+
+	/** 処理時間(ミリ秒) */
+	private final long elapsed;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aRecords 読み込みレコード数
+	 * @param aRows 登録レコード数
+	 * @param aUpdated 更新件数
+	 * @param aBytes 読み込みバイト数
+	 * @param aElapsed 処理時間(ミリ秒)
+	 */
+	public LoadResult(final long aRecords, final long aRows, final long aUpdated, final long aBytes, final long aElapsed) {
+		records = aRecords;
+		rows = aRows;
+		updated = aUpdated;
+		bytes = aBytes;
+		elapsed = aElapsed;
+	}
+
+	/**
+	 * 読み込みレコード数を取得する。
+	 * 
+	 * @return 読み込みレコード数
+	 */
+	public long getRecords() {
+		return records;
+	}
+
+	/**
+	 * 登録レコード数を取得する。
+	 * 
+	 * @return 登録レコード数
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * 更新件数を取得する。
+	 * <p>
+	 * ドライバが件数を返さない場合、含まれない。
+	 * </p>
+	 * 
+	 * @return 更新件数
+	 */
+	public long getUpdated() {
+		return updated;
+	}
+
+	/**
+	 * 読み込みバイト数を取得する。
+	 * 
+	 * @return 読み込みバイト数
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * 処理時間を取得する。
+	 * 
+	 * @return 処理時間(ミリ秒)
+	 */
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	/**
+	 * 1秒あたりの登録レコード数を取得する。
+	 * 
+	 * @return 1秒あたりの登録レコード数
+	 */
+	public double getRowsPerSecond() {
+		return (0 < elapsed) ? rows * 1000.0 / elapsed : rows;
+	}
+
+	/**
+	 * 1秒あたりの読み込みバイト数を取得する。
+	 * 
+	 * @return 1秒あたりの読み込みバイト数
+	 */
+	public double getBytesPerSecond() {
+		return (0 < elapsed) ? bytes * 1000.0 / elapsed : bytes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("records=%d, rows=%d, updated=%d, bytes=%d, elapsed=%dms, %.1f rows/s, %.1f KB/s", records, rows, updated, bytes,
+				elapsed, getRowsPerSecond(), getBytesPerSecond() / 1024.0);
+	}
+}
@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.load;
+
+import java.util.List;
+
+import org.azkfw.business.dao.DataAccessServiceException;
+import org.azkfw.dsql.Parameter;
+
+/**
+ * このインターフェースは、ファイルのレコードをダイナミックSQLのパラメータへ変換する機能を表現したインターフェースです。
+ * <p>
+ * 読み込みスレッドから呼び出される。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public interface RecordMapper {
+
+	/**
+	 * レコードをパラメータへ変換する。
+	 * 
+	 * @param record レコード
+	 * @param number レコード番号(1始まり)
+	 * @return パラメータ。登録しないレコードの場合、<code>null</code>を返す。
+	 * @throws DataAccessServiceException レコードが不正な場合
+	 */
+	public Parameter map(final List<String> record, final long number) throws DataAccessServiceException;
+}
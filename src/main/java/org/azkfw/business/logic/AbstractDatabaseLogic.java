@@ -19,6 +19,16 @@ package org.azkfw.business.logic;
 
 import java.sql.SQLException;
 
+import org.azkfw.business.dao.DatabaseConnectionProvider;
+import org.azkfw.business.dao.DatabaseConnectionProviderSupport;
+import org.azkfw.business.dao.IdentityMap;
+import org.azkfw.business.dao.QueryCacheManager;
+import org.azkfw.business.dao.ReadConnectionProviderSupport;
+import org.azkfw.business.dao.ReadRoutingManager;
+import org.azkfw.business.dao.WriteBehindBuffer;
+import org.azkfw.business.dao.dialect.Dialect;
+import org.azkfw.business.dao.dialect.DialectFactory;
+import org.azkfw.business.dao.dialect.DialectSupport;
 import org.azkfw.persistence.database.DatabaseConnection;
 import org.azkfw.persistence.database.DatabaseConnectionSupport;
 
@@ -29,13 +39,44 @@ import org.azkfw.persistence.database.DatabaseConnectionSupport;
  * @version 1.0.0 2013/02/05
  * @author Kawakicchi
  */
-public abstract class AbstractDatabaseLogic extends AbstractPersistenceLogic implements DatabaseConnectionSupport {
+public abstract class AbstractDatabaseLogic extends AbstractPersistenceLogic implements DatabaseConnectionSupport, DatabaseConnectionProviderSupport,
+		ReadConnectionProviderSupport, DialectSupport {
 
 	/**
 	 * コネクション情報
 	 */
 	private DatabaseConnection connection;
 
+	/**
+	 * SQL方言
+	 */
+	private Dialect dialect;
+
+	/**
+	 * SQL方言判定済みフラグ
+	 */
+	private boolean dialectDetected;
+
+	/**
+	 * コネクションプロバイダー
+	 */
+	private DatabaseConnectionProvider connectionProvider;
+
+	/**
+	 * 参照用コネクションプロバイダー
+	 */
+	private DatabaseConnectionProvider readConnectionProvider;
+
+	/**
+	 * トランザクション内キャッシュ
+	 */
+	private IdentityMap identityMap;
+
+	/**
+	 * 更新の遅延送信用バッファ
+	 */
+	private WriteBehindBuffer writeBehindBuffer;
+
 	/**
 	 * コンストラクタ
 	 */
@@ -66,6 +107,42 @@ public abstract class AbstractDatabaseLogic extends AbstractPersistenceLogic imp
 		connection = aConnection;
 	}
 
+	@Override
+	public final void setConnectionProvider(final DatabaseConnectionProvider aProvider) {
+		connectionProvider = aProvider;
+	}
+
+	@Override
+	public final void setReadConnectionProvider(final DatabaseConnectionProvider aProvider) {
+		readConnectionProvider = aProvider;
+	}
+
+	@Override
+	public final void setDialect(final Dialect aDialect) {
+		dialect = aDialect;
+		dialectDetected = true;
+	}
+
+	/**
+	 * SQL方言を取得する。
+	 * <p>
+	 * SQL方言が設定されていない場合、コネクションの接続先データベースから判定する。
+	 * </p>
+	 * 
+	 * @return SQL方言。判定できない場合、<code>null</code>を返す。
+	 */
+	protected final Dialect getDialect() {
+		if (!dialectDetected && null != connection) {
+			dialectDetected = true;
+			try {
+				dialect = DialectFactory.create(connection.getConnection());
+			} catch (SQLException ex) {
+				warn("Dialect detection error.", ex);
+			}
+		}
+		return dialect;
+	}
+
 	/**
 	 * コネクションを取得する。
 	 * 
@@ -75,21 +152,149 @@ public abstract class AbstractDatabaseLogic extends AbstractPersistenceLogic imp
 		return connection;
 	}
 
+	/**
+	 * コネクションプロバイダーを取得する。
+	 * <p>
+	 * 非同期実行時に、ロジックのコネクションとは別のコネクションを取得するために使用する。
+	 * </p>
+	 * 
+	 * @return コネクションプロバイダー。設定されていない場合、<code>null</code>を返す。
+	 */
+	protected final DatabaseConnectionProvider getConnectionProvider() {
+		return connectionProvider;
+	}
+
+	/**
+	 * 参照用コネクションプロバイダーを取得する。
+	 * <p>
+	 * 設定した場合、データアクセスオブジェクトの件数取得、1件取得及び複数件取得は参照用コネクションで実行する。<br/>
+	 * データアクセスオブジェクトで更新(遅延送信の登録を含む)した後は、未コミットの更新を参照するため、
+	 * コミットまたはロールバックまでロジックのコネクションで実行する。
+	 * </p>
+	 * 
+	 * @return 参照用コネクションプロバイダー。設定されていない場合、<code>null</code>を返す。
+	 */
+	protected final DatabaseConnectionProvider getReadConnectionProvider() {
+		return readConnectionProvider;
+	}
+
+	/**
+	 * トランザクション内キャッシュの使用を設定する。
+	 * <p>
+	 * 使用する場合、トランザクション内で同一の1件取得をメモリから応答する(デフォルトは未使用)。<br/>
+	 * 使用するロジックでは、データアクセスオブジェクトを取得する前にコンストラクタ等で設定すること。
+	 * データアクセスオブジェクトを経由しない更新はキャッシュに反映されないため、その場合は{@link #clearIdentityMap()}を呼び出すこと。
+	 * </p>
+	 * 
+	 * @param enabled 使用する場合、<code>true</code>
+	 */
+	protected final void setIdentityMapEnabled(final boolean enabled) {
+		identityMap = enabled ? new IdentityMap() : null;
+	}
+
+	/**
+	 * トランザクション内キャッシュを取得する。
+	 * 
+	 * @return トランザクション内キャッシュ。使用しない場合、<code>null</code>を返す。
+	 */
+	protected final IdentityMap getIdentityMap() {
+		return identityMap;
+	}
+
+	/**
+	 * トランザクション内キャッシュを破棄する。
+	 */
+	protected final void clearIdentityMap() {
+		if (null != identityMap) {
+			identityMap.clear();
+		}
+	}
+
+	/**
+	 * 更新の遅延送信の使用を設定する。
+	 * 
+	 * @param enabled 使用する場合、<code>true</code>
+	 * @see #setWriteBehindEnabled(boolean, int)
+	 */
+	protected final void setWriteBehindEnabled(final boolean enabled) {
+		setWriteBehindEnabled(enabled, WriteBehindBuffer.DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * 更新の遅延送信の使用を設定する。
+	 * <p>
+	 * 使用する場合、データアクセスオブジェクトの{@link org.azkfw.business.dao.DataAccessObject#update()}を即時に実行せずに保持し、
+	 * コミット前、件数が閾値に達した時、または保持している更新の対象テーブルを参照するSQLの実行前にSQLごとにまとめて送信する。<br/>
+	 * 更新件数は送信まで確定しないため、更新件数を判定に使用するロジックでは使用しないこと。
+	 * 未送信の更新は設定を変更すると破棄されるため、更新前に設定すること。
+	 * </p>
+	 * 
+	 * @param enabled 使用する場合、<code>true</code>
+	 * @param threshold 一括送信する件数
+	 */
+	protected final void setWriteBehindEnabled(final boolean enabled, final int threshold) {
+		writeBehindBuffer = enabled ? new WriteBehindBuffer(threshold) : null;
+	}
+
+	/**
+	 * 更新の遅延送信用バッファを取得する。
+	 * 
+	 * @return バッファ。使用しない場合、<code>null</code>を返す。
+	 */
+	protected final WriteBehindBuffer getWriteBehindBuffer() {
+		return writeBehindBuffer;
+	}
+
+	/**
+	 * 未送信の更新を送信する。
+	 * <p>
+	 * データアクセスオブジェクトを経由しない更新や参照を行う前に呼び出すこと。
+	 * </p>
+	 * 
+	 * @throws SQLException SQL実行中に問題が発生した場合。メッセージには失敗した更新のダイナミックSQL名とSQLを含む。
+	 */
+	protected final void flushWriteBehind() throws SQLException {
+		if (null != writeBehindBuffer) {
+			writeBehindBuffer.flush(connection);
+		}
+	}
+
 	/**
 	 * コミット処理を行う。
+	 * <p>
+	 * 未送信の更新を送信してからコミットする。送信に失敗した場合はコミットしない。<br/>
+	 * コミット後、トランザクション内で更新したテーブルに依存する実行結果キャッシュを破棄し、参照用コネクションへの振り分けを再開する。
+	 * </p>
 	 * 
 	 * @throws SQLException SQL実行中に問題が発生した場合
 	 */
 	protected final void commit() throws SQLException {
+		flushWriteBehind();
+		clearIdentityMap();
 		connection.getConnection().commit();
+		QueryCacheManager.complete(connection.getConnection());
+		ReadRoutingManager.complete(connection.getConnection());
 	}
 
 	/**
 	 * ロールバック処理を行う。
+	 * <p>
+	 * 未送信の更新は破棄する。<br/>
+	 * トランザクション内で更新したテーブルに依存する実行結果キャッシュを破棄し、参照用コネクションへの振り分けを再開する。
+	 * </p>
 	 * 
 	 * @throws SQLException SQL実行中に問題が発生した場合
 	 */
 	protected final void rollback() throws SQLException {
-		connection.getConnection().rollback();
+		if (null != writeBehindBuffer) {
+			writeBehindBuffer.clear();
+		}
+		clearIdentityMap();
+		try {
+			connection.getConnection().rollback();
+		} finally {
+			QueryCacheManager.complete(connection.getConnection());
+			ReadRoutingManager.complete(connection.getConnection());
+		}
 	}
 }
@@ -17,12 +17,27 @@
  */
 package org.azkfw.business.logic;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.azkfw.business.dao.BatchLoader;
 import org.azkfw.business.dao.DataAccessObject;
+import org.azkfw.business.dao.DatabaseConnectionProviderSupport;
 import org.azkfw.business.dao.DynamicSQLAccessObject;
+import org.azkfw.business.dao.DynamicSQLCacheManager;
+import org.azkfw.business.dao.IdentityMapSupport;
+import org.azkfw.business.dao.ReadConnectionProviderSupport;
+import org.azkfw.business.dao.ShardedDataAccessObject;
+import org.azkfw.business.dao.WriteBehindSupport;
+import org.azkfw.business.dao.dialect.DialectFactory;
+import org.azkfw.business.dao.dialect.DialectSupport;
+import org.azkfw.business.dao.load.CsvLoader;
+import org.azkfw.business.dao.load.RecordMapper;
 import org.azkfw.dsql.DynamicSQL;
-import org.azkfw.dsql.DynamicSQLManager;
 import org.azkfw.dsql.Group;
 import org.azkfw.dsql.Parameter;
+import org.azkfw.persistence.database.DatabaseConnection;
 import org.azkfw.persistence.database.DatabaseConnectionSupport;
 
 /**
@@ -101,13 +116,146 @@ public abstract class AbstractDynamicSQLLogic extends AbstractDatabaseLogic {
 	 */
 	protected final DataAccessObject getDao(final String aName, final Group aGroup, final Parameter aParameter) {
 		DataAccessObject dao = null;
-		DynamicSQL dsql = DynamicSQLManager.generate(aName, aGroup, aParameter);
+		DynamicSQL dsql = DynamicSQLCacheManager.generate(aName, aGroup, aParameter);
 		if (null != dsql) {
 			dao = new DynamicSQLAccessObject(dsql);
-			if (dao instanceof DatabaseConnectionSupport) {
-				((DatabaseConnectionSupport) dao).setConnection(getConnection());
+			setup(dao);
+		}
+		return dao;
+	}
+
+	/**
+	 * 一括更新用のデータアクセスオブジェクトを取得します。
+	 * 
+	 * @param aName ダイナミックSQL名
+	 * @param aParameters パラメータリスト
+	 * @return データアクセスオブジェクト
+	 */
+	protected final DataAccessObject getBatchDao(final String aName, final List<Parameter> aParameters) {
+		return getBatchDao(aName, null, aParameters);
+	}
+
+	/**
+	 * 一括更新用のデータアクセスオブジェクトを取得します。
+	 * <p>
+	 * パラメータごとにダイナミックSQLを生成し、{@link DataAccessObject#updateBatch()}で一括更新する。
+	 * </p>
+	 * 
+	 * @param aName ダイナミックSQL名
+	 * @param aGroup グループ
+	 * @param aParameters パラメータリスト
+	 * @return データアクセスオブジェクト。ダイナミックSQLが存在しない場合またはパラメータが空の場合、<code>null</code>を返す。
+	 */
+	protected final DataAccessObject getBatchDao(final String aName, final Group aGroup, final List<Parameter> aParameters) {
+		DataAccessObject dao = null;
+		List<DynamicSQL> dsqls = new ArrayList<DynamicSQL>();
+		for (Parameter parameter : aParameters) {
+			DynamicSQL dsql = DynamicSQLCacheManager.generate(aName, aGroup, parameter);
+			if (null == dsql) {
+				dsqls.clear();
+				break;
 			}
+			dsqls.add(dsql);
+		}
+		if (0 < dsqls.size()) {
+			dao = new DynamicSQLAccessObject(dsqls);
+			setup(dao);
 		}
 		return dao;
 	}
+
+	/**
+	 * キーによる1件取得をまとめて実行するローダーを取得します。
+	 * <p>
+	 * ダイナミックSQLにはキーで絞り込む前のデータを取得するSQLを定義する。
+	 * ループ内で{@link BatchLoader#load(Object)}したキーは<code>WHERE key IN (...)</code>でまとめて取得する。
+	 * </p>
+	 * 
+	 * @param aName ダイナミックSQL名
+	 * @param aGroup グループ
+	 * @param aParameter パラメータ
+	 * @param aKey キーのカラム名
+	 * @return ローダー。ダイナミックSQLが存在しない場合、<code>null</code>を返す。
+	 */
+	protected final BatchLoader getBatchLoader(final String aName, final Group aGroup, final Parameter aParameter, final String aKey) {
+		BatchLoader loader = null;
+		DynamicSQL dsql = DynamicSQLCacheManager.generate(aName, aGroup, aParameter);
+		if (null != dsql) {
+			DynamicSQLAccessObject dao = new DynamicSQLAccessObject(dsql);
+			setup(dao);
+			loader = new BatchLoader(dao, aKey);
+		}
+		return loader;
+	}
+
+	/**
+	 * 複数のデータベースに分割されたデータへアクセスするデータアクセスオブジェクトを取得します。
+	 * <p>
+	 * シャードごとに同じダイナミックSQLを実行する。方言はシャードのコネクションから判定する。
+	 * </p>
+	 * 
+	 * @param aName ダイナミックSQL名
+	 * @param aGroup グループ
+	 * @param aParameter パラメータ
+	 * @param aConnections シャードごとのコネクション
+	 * @return データアクセスオブジェクト。ダイナミックSQLが存在しない場合、<code>null</code>を返す。
+	 */
+	protected final ShardedDataAccessObject getShardedDao(final String aName, final Group aGroup, final Parameter aParameter,
+			final List<DatabaseConnection> aConnections) {
+		ShardedDataAccessObject dao = null;
+		DynamicSQL dsql = DynamicSQLCacheManager.generate(aName, aGroup, aParameter);
+		if (null != dsql) {
+			List<DataAccessObject> shards = new ArrayList<DataAccessObject>(aConnections.size());
+			for (DatabaseConnection connection : aConnections) {
+				DynamicSQLAccessObject shard = new DynamicSQLAccessObject(dsql);
+				shard.setConnection(connection);
+				try {
+					shard.setDialect(DialectFactory.create(connection.getConnection()));
+				} catch (SQLException ex) {
+					warn("Dialect detection error.", ex);
+				}
+				shards.add(shard);
+			}
+			dao = new ShardedDataAccessObject(shards);
+		}
+		return dao;
+	}
+
+	/**
+	 * CSVファイルの一括登録を行うローダーを取得します。
+	 * 
+	 * @param aName ダイナミックSQL名
+	 * @param aGroup グループ
+	 * @param aMapper レコードマッパー
+	 * @return ローダー
+	 */
+	protected final CsvLoader getCsvLoader(final String aName, final Group aGroup, final RecordMapper aMapper) {
+		return new CsvLoader(getConnection(), aName, aGroup, aMapper);
+	}
+
+	/**
+	 * データアクセスオブジェクトへロジックの設定を反映する。
+	 * 
+	 * @param dao データアクセスオブジェクト
+	 */
+	private void setup(final DataAccessObject dao) {
+		if (dao instanceof DatabaseConnectionSupport) {
+			((DatabaseConnectionSupport) dao).setConnection(getConnection());
+		}
+		if (dao instanceof DatabaseConnectionProviderSupport) {
+			((DatabaseConnectionProviderSupport) dao).setConnectionProvider(getConnectionProvider());
+		}
+		if (dao instanceof ReadConnectionProviderSupport) {
+			((ReadConnectionProviderSupport) dao).setReadConnectionProvider(getReadConnectionProvider());
+		}
+		if (dao instanceof IdentityMapSupport) {
+			((IdentityMapSupport) dao).setIdentityMap(getIdentityMap());
+		}
+		if (dao instanceof WriteBehindSupport) {
+			((WriteBehindSupport) dao).setWriteBehindBuffer(getWriteBehindBuffer());
+		}
+		if (dao instanceof DialectSupport) {
+			((DialectSupport) dao).setDialect(getDialect());
+		}
+	}
 }
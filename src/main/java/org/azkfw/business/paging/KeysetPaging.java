@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.paging;
+
+/**
+ * このクラスは、キー値を基準としたページ機能(キーセットページング)を実装するクラスです。
+ * <p>
+ * 前ページの最後のキー値を開始IDに指定することで、ページの深さに関係なく一定のコストでデータを取得する。<br/>
+ * キーには索引が作成された一意な列を指定すること。
+ * </p>
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class KeysetPaging implements Paging {
+
+	/** キー */
+	private String key;
+
+	/** 開始ID */
+	private Object sinceId;
+
+	/** 完了ID */
+	private Object maxId;
+
+	/** ページサイズ */
+	private long size;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 先頭のページを取得する。
+	 * </p>
+	 * 
+	 * @param aKey キー
+	 * @param aSize ページサイズ
+	 */
+	public KeysetPaging(final String aKey, final long aSize) {
+		this(aKey, null, null, aSize);
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 開始IDより大きいキー値のデータを昇順に取得する。
+	 * </p>
+	 * 
+	 * @param aKey キー
+	 * @param aSinceId 開始ID
+	 * @param aSize ページサイズ
+	 */
+	public KeysetPaging(final String aKey, final Object aSinceId, final long aSize) {
+		this(aKey, aSinceId, null, aSize);
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 開始IDを指定した場合、開始IDより大きく完了IDより小さいキー値のデータを昇順に取得する。<br/>
+	 * 完了IDのみ指定した場合、完了IDより小さいキー値のデータを降順に取得する。
+	 * </p>
+	 * 
+	 * @param aKey キー
+	 * @param aSinceId 開始ID
+	 * @param aMaxId 完了ID
+	 * @param aSize ページサイズ
+	 */
+	public KeysetPaging(final String aKey, final Object aSinceId, final Object aMaxId, final long aSize) {
+		key = aKey;
+		sinceId = aSinceId;
+		maxId = aMaxId;
+		size = aSize;
+	}
+
+	@Override
+	public long getSize() {
+		return size;
+	}
+
+	@Override
+	public long getPage() {
+		return 0;
+	}
+
+	@Override
+	public String getSinceId() {
+		return (null != sinceId) ? sinceId.toString() : null;
+	}
+
+	@Override
+	public String getMaxId() {
+		return (null != maxId) ? maxId.toString() : null;
+	}
+
+	@Override
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * 開始IDの値を取得する。
+	 * 
+	 * @return 開始ID
+	 */
+	public Object getSinceIdValue() {
+		return sinceId;
+	}
+
+	/**
+	 * 完了IDの値を取得する。
+	 * 
+	 * @return 完了ID
+	 */
+	public Object getMaxIdValue() {
+		return maxId;
+	}
+}
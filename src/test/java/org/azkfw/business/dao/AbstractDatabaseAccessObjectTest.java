@@ -0,0 +1,259 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+import org.azkfw.business.dao.export.DataExporter;
+import org.azkfw.business.paging.Paging;
+import org.azkfw.persistence.database.DatabaseConnection;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link AbstractDatabaseAccessObject}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class AbstractDatabaseAccessObjectTest extends TestCase {
+
+	@Test
+	public void testReadAcquireError() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		TestDao dao = new TestDao(false, null, calls);
+		dao.setReadConnectionProvider(new TestProvider(true));
+
+		// 参照用コネクションが取得できない場合は自身のコネクションで実行する
+		assertEquals(0, dao.count());
+		assertEquals(Arrays.asList("primary"), calls);
+	}
+
+	@Test
+	public void testReadConnectionFailure() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		TestDao dao = new TestDao(false, new SQLNonTransientConnectionException("closed", "08003"), calls);
+		ReplicaConnectionProvider provider = createReplicaProvider();
+		dao.setReadConnectionProvider(provider);
+
+		assertEquals(0, dao.count());
+		assertEquals(Arrays.asList("replica", "primary"), calls);
+		assertEquals(2, provider.getEffectiveWeight("r1"));
+
+		// 失敗が続いた場合は除外し、以降は自身のコネクションで実行する
+		dao.count();
+		dao.count();
+		assertEquals(0, provider.getEffectiveWeight("r1"));
+		calls.clear();
+		assertEquals(0, dao.count());
+		assertEquals(Arrays.asList("primary"), calls);
+	}
+
+	@Test
+	public void testReadQueryError() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		TestDao dao = new TestDao(false, new SQLException("syntax error", "42000"), calls);
+		ReplicaConnectionProvider provider = createReplicaProvider();
+		dao.setReadConnectionProvider(provider);
+
+		// コネクション以外の失敗はレプリカの失敗として扱わない
+		try {
+			dao.count();
+			fail();
+		} catch (DataAccessServiceException ex) {
+			assertEquals(Arrays.asList("replica"), calls);
+		}
+		assertEquals(4, provider.getEffectiveWeight("r1"));
+	}
+
+	@Test
+	public void testConnectionFailure() {
+		assertTrue(AbstractDatabaseAccessObject.isConnectionFailure(new DataAccessServiceException(new SQLException("reset", "08S01"))));
+		assertTrue(AbstractDatabaseAccessObject.isConnectionFailure(new SQLNonTransientConnectionException("closed")));
+		assertFalse(AbstractDatabaseAccessObject.isConnectionFailure(new DataAccessServiceException(new SQLException("unique", "23505"))));
+		assertFalse(AbstractDatabaseAccessObject.isConnectionFailure(new DataAccessServiceException("error")));
+	}
+
+	@Test
+	public void testSubmitWithoutProvider() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		TestDao dao = new TestDao(false, null, calls);
+
+		// コネクションを共有しないよう呼び出し元スレッドで実行する
+		Future<Long> future = dao.countAsync();
+		assertTrue(future.isDone());
+		assertEquals(Long.valueOf(0), future.get());
+		assertEquals(Arrays.asList("primary"), calls);
+	}
+
+	@Test
+	public void testComplete() throws Exception {
+		TestDao dao = new TestDao(false, null, new ArrayList<String>());
+
+		List<String> calls = new ArrayList<String>();
+		dao.complete(createConnection(false, calls), true);
+		dao.complete(createConnection(false, calls), false);
+		assertEquals(Arrays.asList("commit", "rollback"), calls);
+
+		calls.clear();
+		dao.complete(createConnection(true, calls), true);
+		assertTrue(calls.isEmpty());
+	}
+
+	private static Connection createConnection(final boolean autoCommit, final List<String> calls) {
+		return (Connection) Proxy.newProxyInstance(AbstractDatabaseAccessObjectTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						if ("getAutoCommit".equals(method.getName())) {
+							return autoCommit;
+						}
+						calls.add(method.getName());
+						return null;
+					}
+				});
+	}
+
+	private static ReplicaConnectionProvider createReplicaProvider() {
+		ReplicaConnectionProvider provider = new ReplicaConnectionProvider();
+		provider.addReplica("r1", new TestProvider(false), 4);
+		return provider;
+	}
+
+	private static final class TestProvider implements DatabaseConnectionProvider {
+
+		private final boolean error;
+
+		public TestProvider(final boolean aError) {
+			error = aError;
+		}
+
+		@Override
+		public DatabaseConnection acquire() throws DataAccessServiceException {
+			if (error) {
+				throw new DataAccessServiceException("unavailable");
+			}
+			return null;
+		}
+
+		@Override
+		public void release(final DatabaseConnection connection) {
+		}
+	}
+
+	/**
+	 * 参照用コネクションでの実行時に指定した例外を送出するデータアクセスオブジェクト
+	 */
+	private static final class TestDao extends AbstractDatabaseAccessObject {
+
+		private final boolean replica;
+
+		private final SQLException error;
+
+		private final List<String> calls;
+
+		public TestDao(final boolean aReplica, final SQLException aError, final List<String> aCalls) {
+			replica = aReplica;
+			error = aError;
+			calls = aCalls;
+		}
+
+		@Override
+		protected AbstractDatabaseAccessObject newInstance() {
+			return new TestDao(true, error, calls);
+		}
+
+		@Override
+		protected long doCount() throws DataAccessServiceException {
+			if (isReadRouting()) {
+				return read(new AsyncCall<Long>() {
+					@Override
+					public Long call(final AbstractDataAccessObject dao) throws DataAccessServiceException {
+						return dao.count();
+					}
+				});
+			}
+			calls.add(replica ? "replica" : "primary");
+			if (replica && null != error) {
+				throw new DataAccessServiceException(error);
+			}
+			return replica ? 1 : 0;
+		}
+
+		@Override
+		protected boolean doExecute() {
+			return false;
+		}
+
+		@Override
+		protected int doUpdate() {
+			return 0;
+		}
+
+		@Override
+		protected int[] doUpdateBatch() {
+			return new int[0];
+		}
+
+		@Override
+		protected Map<String, Object> doGet() {
+			return null;
+		}
+
+		@Override
+		protected List<Map<String, Object>> doQuery() {
+			return null;
+		}
+
+		@Override
+		protected List<Map<String, Object>> doQuery(final Paging paging) {
+			return null;
+		}
+
+		@Override
+		protected PagedResult doQueryPage(final Paging paging) {
+			return null;
+		}
+
+		@Override
+		protected void doQuery(final Paging paging, final RowHandler handler) {
+		}
+
+		@Override
+		protected DataCursor doCursor(final Paging paging) {
+			return null;
+		}
+
+		@Override
+		protected long doExport(final Paging paging, final DataExporter exporter) {
+			return 0;
+		}
+	}
+}
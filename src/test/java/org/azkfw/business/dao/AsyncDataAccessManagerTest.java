@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link AsyncDataAccessManager}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class AsyncDataAccessManagerTest extends TestCase {
+
+	@Test
+	public void testRejectedAfterShutdown() throws Exception {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(1));
+		executor.shutdown();
+
+		// 停止したエグゼキューターでも破棄せず呼び出し元スレッドで実行する
+		FutureTask<Boolean> task = new FutureTask<Boolean>(new Callable<Boolean>() {
+			@Override
+			public Boolean call() {
+				return Boolean.valueOf(AsyncDataAccessManager.isWorkerThread());
+			}
+		});
+		new AsyncDataAccessManager.CallerRunsHandler().rejectedExecution(task, executor);
+		assertTrue(task.isDone());
+		assertEquals(Boolean.TRUE, task.get());
+		assertFalse(AsyncDataAccessManager.isWorkerThread());
+	}
+
+	@Test
+	public void testSubmit() throws Exception {
+		assertEquals(Boolean.TRUE, AsyncDataAccessManager.submit(new Callable<Boolean>() {
+			@Override
+			public Boolean call() {
+				return Boolean.valueOf(AsyncDataAccessManager.isWorkerThread());
+			}
+		}).get(10, TimeUnit.SECONDS));
+		assertFalse(AsyncDataAccessManager.isWorkerThread());
+	}
+}
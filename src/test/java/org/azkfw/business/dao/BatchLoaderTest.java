@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.azkfw.dsql.DynamicSQL;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link BatchLoader}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class BatchLoaderTest extends TestCase {
+
+	@Test
+	public void testLoad() throws Exception {
+		List<List<Object>> requests = new ArrayList<List<Object>>();
+		BatchLoader loader = new BatchLoader(new TestDao(3, requests), "ID");
+
+		List<BatchLoader.Result> results = new ArrayList<BatchLoader.Result>();
+		for (int i = 1; i <= 7; i++) {
+			results.add(loader.load(Integer.valueOf(i % 6)));
+		}
+		assertEquals(6, loader.size());
+		assertEquals(6, loader.getPendingCount());
+		assertEquals(0, requests.size());
+
+		// 最初の取得で登録済みのキーをまとめて取得する
+		assertEquals(Integer.valueOf(1), results.get(0).get().get("id"));
+		assertEquals(2, requests.size());
+		assertEquals(Arrays.<Object> asList(1, 2, 3), requests.get(0));
+		assertEquals(0, loader.getPendingCount());
+
+		// 存在しないキー
+		assertNull(results.get(5).get());
+		assertTrue(results.get(5).isDone());
+		// 重複したキーは同じ結果を共有する
+		assertSame(results.get(0), results.get(6));
+
+		// 取得済みのキーはデータベースへアクセスしない
+		assertEquals(Integer.valueOf(4), loader.get(Long.valueOf(4)).get("id"));
+		assertEquals(2, loader.getQueryCount());
+	}
+
+	@Test
+	public void testGetAll() throws Exception {
+		List<List<Object>> requests = new ArrayList<List<Object>>();
+		BatchLoader loader = new BatchLoader(new TestDao(10, requests), "ID");
+
+		Map<Object, Map<String, Object>> map = loader.getAll(Arrays.asList(Long.valueOf(2), Long.valueOf(9), Long.valueOf(3)));
+		assertEquals(1, requests.size());
+		assertEquals(Arrays.<Object> asList(2L, 9L, 3L), new ArrayList<Object>(map.keySet()));
+		assertEquals(Integer.valueOf(2), map.get(2L).get("id"));
+		assertNull(map.get(9L));
+
+		// 返却したデータの変更は影響しない
+		map.get(2L).put("name", "changed");
+		assertEquals("name2", loader.get(2L).get("name"));
+
+		loader.clear();
+		loader.get(2L);
+		assertEquals(2, requests.size());
+	}
+
+	@Test
+	public void testNormalize() {
+		assertEquals(BatchLoader.normalize(Integer.valueOf(10)), BatchLoader.normalize(new BigDecimal("10.00")));
+		assertEquals(BatchLoader.normalize(Long.valueOf(10)), BatchLoader.normalize(Double.valueOf(10.0)));
+		assertEquals(BatchLoader.normalize(Integer.valueOf(0)), BatchLoader.normalize(new BigDecimal("0.000")));
+		assertEquals(BatchLoader.normalize(Integer.valueOf(100)), BatchLoader.normalize(new BigDecimal("1E+2")));
+		assertFalse(BatchLoader.normalize(Integer.valueOf(1)).equals(BatchLoader.normalize(new BigDecimal("1.5"))));
+		assertEquals("A", BatchLoader.normalize("A"));
+	}
+
+	/**
+	 * キーが1から4のデータを返すデータアクセスオブジェクト
+	 */
+	private static final class TestDao extends DynamicSQLAccessObject {
+
+		private final int max;
+
+		private final List<List<Object>> requests;
+
+		public TestDao(final int aMax, final List<List<Object>> aRequests) {
+			super((DynamicSQL) null);
+			max = aMax;
+			requests = aRequests;
+		}
+
+		@Override
+		List<Map.Entry<Object, Map<String, Object>>> queryIn(final String key, final List<Object> values) {
+			requests.add(new ArrayList<Object>(values));
+			List<Map.Entry<Object, Map<String, Object>>> result = new ArrayList<Map.Entry<Object, Map<String, Object>>>();
+			for (Object value : values) {
+				int id = ((Number) value).intValue();
+				if (1 <= id && id <= 4) {
+					Map<String, Object> data = new HashMap<String, Object>();
+					data.put("id", Integer.valueOf(id));
+					data.put("name", "name" + id);
+					// ドライバが返す数値型はキーの型と異なる
+					result.add(new AbstractMap.SimpleImmutableEntry<Object, Map<String, Object>>(new BigDecimal(id), data));
+				}
+			}
+			return result;
+		}
+
+		@Override
+		int getMaxInListSize() {
+			return max;
+		}
+	}
+}
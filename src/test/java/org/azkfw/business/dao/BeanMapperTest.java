@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link BeanMapper}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class BeanMapperTest extends TestCase {
+
+	@Test
+	public void testMap() throws Exception {
+		RowSchema schema = new RowSchema(Arrays.asList("userId", "userName", "age", "createDate", "unknown"));
+		Row row = new Row(schema);
+		row.setColumnValue(0, new BigDecimal("123"));
+		row.setColumnValue(1, "なまえ");
+		row.setColumnValue(2, null);
+		row.setColumnValue(3, new Timestamp(1000L));
+		row.setColumnValue(4, "x");
+
+		BeanMapper<User> mapper = BeanMapper.get(User.class, schema);
+		assertSame(mapper, BeanMapper.get(User.class, new RowSchema(schema.getKeys())));
+
+		User user = mapper.map(row);
+		assertEquals(123L, user.getUserId());
+		assertEquals("なまえ", user.userName);
+		assertEquals(-1, user.age);
+		assertEquals(new Date(1000L), user.createDate);
+	}
+
+	@Test
+	public void testMapDetached() throws Exception {
+		RowSchema schema = new RowSchema(Arrays.asList("userId", "userName", "age"));
+		BeanMapper<User> mapper = BeanMapper.get(User.class, schema);
+
+		// キーを削除してマップへ移したデータ
+		Row row = new Row(schema);
+		row.setColumnValue(0, Long.valueOf(1));
+		row.setColumnValue(1, "なまえ");
+		row.setColumnValue(2, Integer.valueOf(20));
+		row.remove("age");
+		User user = mapper.map(row);
+		assertEquals(1L, user.getUserId());
+		assertEquals("なまえ", user.userName);
+		assertEquals(-1, user.age);
+
+		// スキーマに存在しないキーを追加したデータ
+		row = new Row(schema);
+		row.setColumnValue(0, Long.valueOf(2));
+		row.put("extra", "x");
+		row.put("userName", "変更");
+		user = mapper.map(row);
+		assertEquals(2L, user.getUserId());
+		assertEquals("変更", user.userName);
+	}
+
+	@Test
+	public void testConvertError() throws Exception {
+		RowSchema schema = new RowSchema(Arrays.asList("userId"));
+		Row row = new Row(schema);
+		row.setColumnValue(0, new Object());
+		try {
+			BeanMapper.get(User.class, schema).map(row);
+			fail("expected DataAccessServiceException");
+		} catch (DataAccessServiceException ex) {
+			// 変換できない値
+		}
+	}
+
+	@Test
+	public void testNarrow() throws Exception {
+		RowSchema schema = new RowSchema(Arrays.asList("userId", "age"));
+		Row row = new Row(schema);
+		row.setColumnValue(0, Double.valueOf(12.0));
+		row.setColumnValue(1, new BigDecimal("20.00"));
+		User user = BeanMapper.get(User.class, schema).map(row);
+		assertEquals(12L, user.getUserId());
+		assertEquals(20, user.age);
+
+		row.setColumnValue(0, Integer.valueOf(-1));
+		row.setColumnValue(1, Long.valueOf(Integer.MAX_VALUE));
+		user = BeanMapper.get(User.class, schema).map(row);
+		assertEquals(-1L, user.getUserId());
+		assertEquals(Integer.MAX_VALUE, user.age);
+	}
+
+	@Test
+	public void testNarrowOverflow() throws Exception {
+		assertNarrowError("age", Long.valueOf(Integer.MAX_VALUE + 1L));
+		assertNarrowError("age", new BigDecimal("3000000000"));
+		assertNarrowError("userId", new BigDecimal("9223372036854775808"));
+		assertNarrowError("userId", Double.valueOf(Double.NaN));
+	}
+
+	@Test
+	public void testNarrowFraction() throws Exception {
+		assertNarrowError("age", new BigDecimal("1.5"));
+		assertNarrowError("userId", Double.valueOf(0.1));
+	}
+
+	private static void assertNarrowError(final String key, final Object value) {
+		RowSchema schema = new RowSchema(Arrays.asList(key));
+		Row row = new Row(schema);
+		row.setColumnValue(0, value);
+		try {
+			BeanMapper.get(User.class, schema).map(row);
+			fail("expected DataAccessServiceException : " + value);
+		} catch (DataAccessServiceException ex) {
+			// 切り捨てずにエラーとする
+		}
+	}
+
+	public static class User {
+
+		private long userId;
+
+		private String userName;
+
+		private int age = -1;
+
+		private Date createDate;
+
+		public void setUserId(final long aUserId) {
+			userId = aUserId;
+		}
+
+		public long getUserId() {
+			return userId;
+		}
+	}
+}
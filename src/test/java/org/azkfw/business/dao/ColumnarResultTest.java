@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ColumnarResult}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class ColumnarResultTest extends TestCase {
+
+	@Test
+	public void testBuild() throws Exception {
+		final int[] types = { Types.BIGINT, Types.DECIMAL, Types.VARCHAR, Types.INTEGER };
+		final int[] scales = { 0, 2, 0, 0 };
+		final Object[] current = new Object[4];
+		final boolean[] wasNull = new boolean[1];
+
+		ResultSetMetaData md = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSetMetaData.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						int column = ((Integer) args[0]).intValue() - 1;
+						if ("getColumnType".equals(method.getName())) {
+							return types[column];
+						} else if ("getScale".equals(method.getName())) {
+							return scales[column];
+						}
+						return 10;
+					}
+				});
+		ResultSet rs = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) {
+				if ("wasNull".equals(method.getName())) {
+					return wasNull[0];
+				}
+				Object value = current[((Integer) args[0]).intValue() - 1];
+				wasNull[0] = (null == value);
+				if ("getLong".equals(method.getName())) {
+					return (null == value) ? 0L : ((Number) value).longValue();
+				} else if ("getDouble".equals(method.getName())) {
+					return (null == value) ? 0.0 : ((Number) value).doubleValue();
+				}
+				return value;
+			}
+		});
+
+		ColumnarExporter exporter = new ColumnarExporter(true);
+		exporter.start(Arrays.asList("id", "amount", "name", null), md);
+		for (int i = 0; i < 100; i++) {
+			current[0] = Long.valueOf(i);
+			current[1] = (0 == i % 10) ? null : Double.valueOf(i * 0.5);
+			current[2] = "name" + i;
+			current[3] = Integer.valueOf(-1);
+			exporter.write(rs);
+		}
+		exporter.end();
+
+		ColumnarResult result = exporter.getResult();
+		assertEquals(100, result.getRowCount());
+		assertEquals(3, result.getColumnCount());
+		assertEquals(Arrays.asList("id", "amount", "name"), result.getNames());
+		assertEquals(ColumnarResult.TYPE_LONG, result.getType(0));
+		assertEquals(ColumnarResult.TYPE_DOUBLE, result.getType(1));
+		assertEquals(ColumnarResult.TYPE_OBJECT, result.getType(2));
+		assertEquals(1, result.indexOf("amount"));
+		assertEquals(-1, result.indexOf("none"));
+
+		assertEquals(4950, result.sumLong(0));
+		assertEquals(100, result.count(0));
+		assertEquals(90, result.count(1));
+		assertTrue(result.isNull(1, 70));
+		assertFalse(result.isNull(1, 71));
+		assertNull(result.getObject(1, 70));
+		assertEquals(Double.valueOf(35.5), result.getObject(1, 71));
+		assertEquals(35.5, result.getDouble(1, 71), 0.0);
+		assertEquals(2250.0, result.sum(1), 0.0);
+		assertEquals("name99", result.getObject(2, 99));
+		assertEquals(99, result.getLongs(0)[99]);
+	}
+
+	@Test
+	public void testDecimalType() throws Exception {
+		final int[] types = { Types.DECIMAL, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.DOUBLE };
+		final int[] precisions = { 10, 0, 38, 19, 0 };
+		final int[] scales = { 2, 0, -127, 0, 0 };
+
+		ResultSetMetaData md = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSetMetaData.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						int column = ((Integer) args[0]).intValue() - 1;
+						if ("getColumnType".equals(method.getName())) {
+							return types[column];
+						} else if ("getPrecision".equals(method.getName())) {
+							return precisions[column];
+						}
+						return scales[column];
+					}
+				});
+		List<String> names = Arrays.asList("a", "b", "c", "d", "e");
+
+		// 小数、精度不明、19桁以上の整数はBigDecimalのまま保持する
+		ColumnarExporter exporter = new ColumnarExporter();
+		exporter.start(names, md);
+		exporter.end();
+		ColumnarResult result = exporter.getResult();
+		for (int i = 0; i < 4; i++) {
+			assertEquals(ColumnarResult.TYPE_OBJECT, result.getType(i));
+		}
+		assertEquals(ColumnarResult.TYPE_DOUBLE, result.getType(4));
+
+		// 近似値を許可した場合は浮動小数点数で保持する
+		exporter = new ColumnarExporter(true);
+		exporter.start(names, md);
+		exporter.end();
+		result = exporter.getResult();
+		for (int i = 0; i < 5; i++) {
+			assertEquals(ColumnarResult.TYPE_DOUBLE, result.getType(i));
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.azkfw.dsql.DynamicSQL;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link DynamicSQLAccessObject}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class DynamicSQLAccessObjectTest extends TestCase {
+
+	private static final String SQL = "SELECT ID FROM TEST";
+
+	@Test
+	public void testHandleStop() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		DynamicSQLAccessObject dao = new DynamicSQLAccessObject((DynamicSQL) null);
+		DataCursor cursor = open(dao, 5, calls);
+
+		final List<Object> ids = new ArrayList<Object>();
+		DynamicSQLAccessObject.handle(cursor, new RowHandler() {
+			@Override
+			public boolean handle(final Map<String, Object> data) {
+				ids.add(data.get("ID"));
+				return 2 > ids.size();
+			}
+		});
+
+		// ハンドラが停止した以降の行は読み込まずにクローズする
+		assertEquals(Arrays.<Object> asList(Long.valueOf(1), Long.valueOf(2)), ids);
+		assertEquals(2, count(calls, "next"));
+		assertEquals(1, count(calls, "rs.close"));
+		assertEquals(1, count(calls, "stat.close"));
+	}
+
+	@Test
+	public void testCursorClose() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		DynamicSQLAccessObject dao = new DynamicSQLAccessObject((DynamicSQL) null);
+		DataCursor cursor = open(dao, 3, calls);
+
+		assertTrue(cursor.next());
+		assertEquals(Long.valueOf(1), cursor.get().get("ID"));
+		assertEquals(0, count(calls, "rs.close"));
+
+		cursor.close();
+		assertEquals(1, count(calls, "rs.close"));
+		assertEquals(1, count(calls, "stat.close"));
+
+		// クローズ後は読み込まず、再度クローズしても解放しない
+		assertFalse(cursor.next());
+		cursor.close();
+		assertEquals(1, count(calls, "next"));
+		assertEquals(1, count(calls, "rs.close"));
+		assertEquals(1, count(calls, "stat.close"));
+	}
+
+	@Test
+	public void testFetchSize() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		DynamicSQLAccessObject dao = new DynamicSQLAccessObject((DynamicSQL) null);
+		dao.setFetchSize(500);
+		open(dao, 0, calls).close();
+		assertEquals(Arrays.asList("setFetchSize:500", "executeQuery"), calls.subList(0, 2));
+
+		// 負の値はドライバの既定値とする
+		calls.clear();
+		dao.setFetchSize(-1);
+		open(dao, 0, calls).close();
+		assertEquals("setFetchSize:0", calls.get(0));
+	}
+
+	private static DataCursor open(final DynamicSQLAccessObject dao, final int rows, final List<String> calls) throws Exception {
+		PreparedStatement stat = createStatement(createResultSet(rows, calls), calls);
+		return dao.openCursor(SQL, stat, new DynamicSQLAccessObject.Trace("test", SQL, null), 0, Long.MAX_VALUE, null, null);
+	}
+
+	private static int count(final List<String> calls, final String name) {
+		int count = 0;
+		for (String call : calls) {
+			if (name.equals(call)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static PreparedStatement createStatement(final ResultSet rs, final List<String> calls) {
+		return (PreparedStatement) Proxy.newProxyInstance(DynamicSQLAccessObjectTest.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, new InvocationHandler() {
+					private boolean closed = false;
+
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						String name = method.getName();
+						if ("setFetchSize".equals(name)) {
+							calls.add(name + ":" + args[0]);
+						} else if ("executeQuery".equals(name)) {
+							calls.add(name);
+							return rs;
+						} else if ("isClosed".equals(name)) {
+							return closed;
+						} else if ("close".equals(name)) {
+							calls.add("stat.close");
+							closed = true;
+						}
+						return null;
+					}
+				});
+	}
+
+	private static ResultSet createResultSet(final int rows, final List<String> calls) {
+		final ResultSetMetaData md = (ResultSetMetaData) Proxy.newProxyInstance(DynamicSQLAccessObjectTest.class.getClassLoader(),
+				new Class<?>[] { ResultSetMetaData.class }, new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						if ("getColumnCount".equals(method.getName())) {
+							return 1;
+						}
+						return "ID";
+					}
+				});
+		return (ResultSet) Proxy.newProxyInstance(DynamicSQLAccessObjectTest.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+				new InvocationHandler() {
+					private int index = 0;
+
+					private boolean closed = false;
+
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						String name = method.getName();
+						if ("getMetaData".equals(name)) {
+							return md;
+						} else if ("next".equals(name)) {
+							calls.add(name);
+							return ++index <= rows;
+						} else if ("getObject".equals(name)) {
+							return Long.valueOf(index);
+						} else if ("isClosed".equals(name)) {
+							return closed;
+						} else if ("close".equals(name)) {
+							calls.add("rs.close");
+							closed = true;
+						}
+						return null;
+					}
+				});
+	}
+}
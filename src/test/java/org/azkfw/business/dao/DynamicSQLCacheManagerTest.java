@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link DynamicSQLCacheManager}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class DynamicSQLCacheManagerTest extends TestCase {
+
+	@Test
+	public void testDisabled() {
+		DynamicSQLCacheManager.setMaxSize(0);
+		long hit = DynamicSQLCacheManager.getHitCount();
+		long miss = DynamicSQLCacheManager.getMissCount();
+
+		assertNull(DynamicSQLCacheManager.generate("NotFound", null, null));
+		assertEquals(hit, DynamicSQLCacheManager.getHitCount());
+		assertEquals(miss, DynamicSQLCacheManager.getMissCount());
+	}
+
+	@Test
+	public void testNotFound() {
+		DynamicSQLCacheManager.setMaxSize(10);
+		try {
+			long hit = DynamicSQLCacheManager.getHitCount();
+			long miss = DynamicSQLCacheManager.getMissCount();
+
+			// 存在しないダイナミックSQLはキャッシュしない
+			assertNull(DynamicSQLCacheManager.generate("NotFound", null, null));
+			assertNull(DynamicSQLCacheManager.generate("NotFound", null, null));
+			assertEquals(hit, DynamicSQLCacheManager.getHitCount());
+			assertEquals(miss + 2, DynamicSQLCacheManager.getMissCount());
+		} finally {
+			DynamicSQLCacheManager.setMaxSize(0);
+		}
+	}
+}
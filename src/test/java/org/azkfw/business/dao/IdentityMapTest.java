@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link IdentityMap}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class IdentityMapTest extends TestCase {
+
+	@Test
+	public void testQueryTables() {
+		assertEquals(new HashSet<String>(Arrays.asList("USERS")), IdentityMap.getQueryTables("SELECT * FROM users WHERE id = ?"));
+		assertEquals(new HashSet<String>(Arrays.asList("USERS", "ROLES", "GROUPS")),
+				IdentityMap.getQueryTables("SELECT * FROM app.users u, roles AS r JOIN \"groups\" g ON g.id = r.group_id WHERE u.id = ?"));
+		assertTrue(IdentityMap.getQueryTables("SELECT 1").isEmpty());
+	}
+
+	@Test
+	public void testQueryTablesJoin() {
+		assertEquals(new HashSet<String>(Arrays.asList("A", "B")), IdentityMap.getQueryTables("SELECT * FROM A JOIN B ON A.ID = B.ID"));
+		assertEquals(new HashSet<String>(Arrays.asList("A", "B")), IdentityMap.getQueryTables("SELECT * FROM A LEFT JOIN B ON A.ID = B.ID"));
+		assertEquals(new HashSet<String>(Arrays.asList("A", "B", "C")),
+				IdentityMap.getQueryTables("SELECT * FROM A x LEFT OUTER JOIN B AS y ON x.ID = y.ID INNER JOIN C z USING (ID) WHERE x.ID = ?"));
+		assertEquals(new HashSet<String>(Arrays.asList("A", "B")), IdentityMap.getQueryTables("SELECT * FROM A CROSS JOIN B"));
+		assertEquals(new HashSet<String>(Arrays.asList("A", "B")),
+				IdentityMap.getQueryTables("SELECT * FROM A WHERE ID IN (SELECT ID FROM B) ORDER BY ID"));
+		assertEquals(new HashSet<String>(Arrays.asList("A", "B")), IdentityMap.getQueryTables("SELECT * FROM (SELECT * FROM A) x JOIN B ON x.ID = B.ID"));
+	}
+
+	@Test
+	public void testQueryTablesUnknown() {
+		// 判定できない参照を含む場合は全ての更新で破棄する
+		assertTrue(IdentityMap.getQueryTables("SELECT * FROM TABLE(func(?)) t").isEmpty());
+		assertTrue(IdentityMap.getQueryTables("SELECT * FROM A JOIN func(?) f ON A.ID = f.ID").isEmpty());
+		assertTrue(IdentityMap.getQueryTables("SELECT * FROM A CROSS APPLY func(A.ID) f").isEmpty());
+		assertTrue(IdentityMap.getQueryTables("SELECT * FROM \"表\"").isEmpty());
+
+		IdentityMap map = new IdentityMap();
+		List<Object> key = Arrays.<Object> asList("selectJoin", "get", "SELECT * FROM A JOIN B ON A.ID = B.ID", Long.valueOf(1));
+		map.put(key, "SELECT * FROM A JOIN B ON A.ID = B.ID", new HashMap<String, Object>());
+		map.invalidate("UPDATE B SET NAME = ?");
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void testInvalidate() {
+		IdentityMap map = new IdentityMap();
+		List<Object> user = Arrays.<Object> asList("selectUser", "get", "SELECT * FROM users WHERE id = ?", Long.valueOf(1));
+		List<Object> role = Arrays.<Object> asList("selectRole", "get", "SELECT * FROM roles WHERE id = ?", Long.valueOf(1));
+		List<Object> none = Arrays.<Object> asList("selectNone", "get", "SELECT * FROM users WHERE id = ?", Long.valueOf(2));
+
+		Map<String, Object> data = new HashMap<String, Object>();
+		data.put("id", Long.valueOf(1));
+		map.put(user, "SELECT * FROM users WHERE id = ?", data);
+		map.put(role, "SELECT * FROM roles WHERE id = ?", data);
+		map.put(none, "SELECT * FROM users WHERE id = ?", null);
+
+		assertFalse(map.contains(Arrays.<Object> asList("selectUser", "get", "SELECT * FROM users WHERE id = ?", Long.valueOf(3))));
+		assertTrue(map.contains(user));
+		assertEquals(data, map.get(user));
+		assertNotSame(data, map.get(user));
+		// 存在しないデータも保持する
+		assertTrue(map.contains(none));
+		assertNull(map.get(none));
+		assertEquals(2, map.getHitCount());
+		assertEquals(1, map.getMissCount());
+
+		map.invalidate("UPDATE users SET name = ? WHERE id = ?");
+		assertFalse(map.contains(user));
+		assertFalse(map.contains(none));
+		assertTrue(map.contains(role));
+
+		map.invalidate("CALL proc()");
+		assertEquals(0, map.size());
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import junit.framework.TestCase;
+
+import org.azkfw.business.paging.KeysetPaging;
+import org.azkfw.business.paging.PagePaging;
+import org.azkfw.business.paging.Paging;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link PageIterator}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class PageIteratorTest extends TestCase {
+
+	@Test
+	public void testPage() throws Exception {
+		List<Paging> requests = new ArrayList<Paging>();
+		PageIterator pages = new PageIterator(createDao(25, requests), new PagePaging(0, 10), 2);
+		try {
+			assertTrue(pages.next());
+			assertEquals(10, pages.get().size());
+			assertEquals(Long.valueOf(0), pages.get().get(0).get("id"));
+			// 先読み数まで取得を開始している
+			assertEquals(3, requests.size());
+
+			assertTrue(pages.next());
+			assertEquals(Long.valueOf(10), pages.get().get(0).get("id"));
+			assertTrue(pages.next());
+			assertEquals(5, pages.get().size());
+			assertFalse(pages.next());
+			assertEquals(3, pages.getPageCount());
+			assertEquals(25, pages.getRowCount());
+		} finally {
+			pages.close();
+		}
+	}
+
+	@Test
+	public void testKeyset() throws Exception {
+		List<Paging> requests = new ArrayList<Paging>();
+		PageIterator pages = new PageIterator(createDao(20, requests), "id", 10, 2);
+		try {
+			assertTrue(pages.next());
+			assertEquals(2, requests.size());
+			assertEquals(Long.valueOf(9), ((KeysetPaging) requests.get(1)).getSinceIdValue());
+
+			assertTrue(pages.next());
+			assertEquals(Long.valueOf(10), pages.get().get(0).get("id"));
+			assertFalse(pages.next());
+			assertEquals(2, pages.getPageCount());
+			assertEquals(20, pages.getRowCount());
+		} finally {
+			pages.close();
+		}
+	}
+
+	private static DataAccessObject createDao(final int count, final List<Paging> requests) {
+		return (DataAccessObject) Proxy.newProxyInstance(PageIteratorTest.class.getClassLoader(), new Class<?>[] { DataAccessObject.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						if ("queryAsync".equals(method.getName())) {
+							final Paging paging = (Paging) args[0];
+							requests.add(paging);
+							FutureTask<List<Map<String, Object>>> future = new FutureTask<List<Map<String, Object>>>(
+									new Callable<List<Map<String, Object>>>() {
+										@Override
+										public List<Map<String, Object>> call() {
+											return query(count, paging);
+										}
+									});
+							future.run();
+							return future;
+						}
+						return null;
+					}
+				});
+	}
+
+	private static List<Map<String, Object>> query(final int count, final Paging paging) {
+		long start = paging.getPage() * paging.getSize();
+		if (paging instanceof KeysetPaging && null != ((KeysetPaging) paging).getSinceIdValue()) {
+			start = ((Long) ((KeysetPaging) paging).getSinceIdValue()).longValue() + 1;
+		}
+		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+		for (long i = start; i < count && result.size() < paging.getSize(); i++) {
+			Map<String, Object> data = new HashMap<String, Object>();
+			data.put("id", Long.valueOf(i));
+			result.add(data);
+		}
+		return result;
+	}
+}
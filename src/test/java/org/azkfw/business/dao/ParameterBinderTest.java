@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ParameterBinder}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class ParameterBinderTest extends TestCase {
+
+	@Test
+	public void testBind() throws Exception {
+		List<String> calls = new ArrayList<String>();
+		PreparedStatement stat = createStatement(calls);
+
+		ParameterBinder.bind(stat, 1, "a");
+		ParameterBinder.bind(stat, 2, Long.valueOf(1));
+		ParameterBinder.bind(stat, 3, Integer.valueOf(1));
+		ParameterBinder.bind(stat, 4, new BigDecimal("1.5"));
+		ParameterBinder.bind(stat, 5, new Timestamp(0));
+		ParameterBinder.bind(stat, 6, new java.util.Date(0));
+		ParameterBinder.bind(stat, 7, TypedParameter.valueOf(null, Types.VARCHAR));
+		ParameterBinder.bind(stat, 8, TypedParameter.valueOf("1", Types.NUMERIC));
+		ParameterBinder.bind(stat, 9, new StringBuilder("x"));
+		ParameterBinder.bind(stat, 10, TypedParameter.valueOf(new java.util.Date(0), Types.TIMESTAMP));
+
+		assertEquals("setString:1", calls.get(0));
+		assertEquals("setLong:2", calls.get(1));
+		assertEquals("setInt:3", calls.get(2));
+		assertEquals("setBigDecimal:4", calls.get(3));
+		assertEquals("setTimestamp:5", calls.get(4));
+		// java.util.DateはDATE型の索引を使用できるようsetObjectで設定する
+		assertEquals("setObject:6", calls.get(5));
+		assertEquals("setNull:7", calls.get(6));
+		assertEquals("setObject:8", calls.get(7));
+		assertEquals("setObject:9", calls.get(8));
+		assertEquals("setTimestamp:10", calls.get(9));
+	}
+
+	@Test
+	public void testTypedParameter() {
+		assertEquals(TypedParameter.valueOf("1", Types.VARCHAR), TypedParameter.valueOf("1", Types.VARCHAR));
+		assertEquals(TypedParameter.valueOf(null, Types.VARCHAR).hashCode(), TypedParameter.valueOf(null, Types.VARCHAR).hashCode());
+		assertFalse(TypedParameter.valueOf("1", Types.VARCHAR).equals(TypedParameter.valueOf("1", Types.CHAR)));
+	}
+
+	private static PreparedStatement createStatement(final List<String> calls) {
+		return (PreparedStatement) Proxy.newProxyInstance(ParameterBinderTest.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						calls.add(method.getName() + ":" + args[0]);
+						return null;
+					}
+				});
+	}
+}
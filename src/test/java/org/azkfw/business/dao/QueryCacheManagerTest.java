@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link QueryCacheManager}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class QueryCacheManagerTest extends TestCase {
+
+	@Test
+	public void testUpdateTable() {
+		assertEquals("M_USER", QueryCacheManager.getUpdateTable("INSERT INTO m_user (id) VALUES (?)"));
+		assertEquals("M_USER", QueryCacheManager.getUpdateTable("  update \"APP\".\"m_user\" set name = ?"));
+		assertEquals("M_USER", QueryCacheManager.getUpdateTable("/* comment */\n-- line\nDELETE FROM m_user WHERE id = ?"));
+		assertEquals("M_USER", QueryCacheManager.getUpdateTable("MERGE INTO M_USER U USING DUAL ON (1 = 1)"));
+		assertNull(QueryCacheManager.getUpdateTable("SELECT * FROM m_user"));
+	}
+
+	@Test
+	public void testCache() {
+		QueryCacheManager.register("selectUser", 0, "m_user");
+		try {
+			List<Object> key = Arrays.<Object> asList("selectUser", "query", "SELECT * FROM m_user");
+
+			assertNull(QueryCacheManager.get(key));
+
+			List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+			Map<String, Object> data = new HashMap<String, Object>();
+			data.put("id", "1");
+			list.add(data);
+			QueryCacheManager.put(key, list);
+
+			// 複製を返すため、呼び出し元の変更は影響しない
+			data.put("id", "2");
+			@SuppressWarnings("unchecked")
+			List<Map<String, Object>> cached = (List<Map<String, Object>>) QueryCacheManager.get(key);
+			assertEquals("1", cached.get(0).get("id"));
+			cached.get(0).put("id", "3");
+			@SuppressWarnings("unchecked")
+			List<Map<String, Object>> cached2 = (List<Map<String, Object>>) QueryCacheManager.get(key);
+			assertEquals("1", cached2.get(0).get("id"));
+
+			QueryCacheManager.invalidateBySQL("UPDATE M_ROLE SET NAME = ?");
+			assertNotNull(QueryCacheManager.get(key));
+
+			QueryCacheManager.invalidateBySQL("UPDATE M_USER SET NAME = ?");
+			assertNull(QueryCacheManager.get(key));
+			assertTrue(0 < QueryCacheManager.getInvalidationCount());
+			assertTrue(0.0 < QueryCacheManager.getHitRate());
+		} finally {
+			QueryCacheManager.unregister("selectUser");
+			QueryCacheManager.clear();
+		}
+	}
+
+	@Test
+	public void testExpire() throws Exception {
+		QueryCacheManager.register("countUser", 1, "m_user");
+		try {
+			List<Object> key = Arrays.<Object> asList("countUser", "count", "SELECT COUNT(*) FROM m_user");
+			QueryCacheManager.put(key, Long.valueOf(10));
+			Thread.sleep(20);
+			assertNull(QueryCacheManager.get(key));
+		} finally {
+			QueryCacheManager.unregister("countUser");
+			QueryCacheManager.clear();
+		}
+	}
+
+	@Test
+	public void testRollback() throws Exception {
+		QueryCacheManager.register("countUser", 0, "m_user");
+		Connection tx = connection(false);
+		Connection other = connection(true);
+		try {
+			List<Object> key = Arrays.<Object> asList("countUser", "count", "SELECT COUNT(*) FROM m_user");
+			QueryCacheManager.put(other, key, Long.valueOf(10));
+
+			// 更新後、同じトランザクションで取得した未コミットの結果はキャッシュしない
+			QueryCacheManager.invalidateBySQL(tx, "INSERT INTO m_user (id) VALUES (?)");
+			assertNull(QueryCacheManager.get(key));
+			QueryCacheManager.put(tx, key, Long.valueOf(11));
+			assertNull(QueryCacheManager.get(key));
+
+			// 他のコネクションがコミット前にキャッシュした結果は、ロールバック時に破棄する
+			QueryCacheManager.put(other, key, Long.valueOf(10));
+			assertEquals(Long.valueOf(10), QueryCacheManager.get(key));
+			QueryCacheManager.complete(tx);
+			assertNull(QueryCacheManager.get(key));
+
+			// ロールバック後は再度キャッシュする
+			QueryCacheManager.put(tx, key, Long.valueOf(10));
+			assertEquals(Long.valueOf(10), QueryCacheManager.get(key));
+
+			// 自動コミットの場合は記録しない
+			QueryCacheManager.invalidateBySQL(other, "DELETE FROM m_user");
+			QueryCacheManager.put(other, key, Long.valueOf(0));
+			assertEquals(Long.valueOf(0), QueryCacheManager.get(key));
+		} finally {
+			QueryCacheManager.complete(tx);
+			QueryCacheManager.unregister("countUser");
+			QueryCacheManager.clear();
+		}
+	}
+
+	private Connection connection(final boolean autoCommit) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) {
+				if ("getAutoCommit".equals(method.getName())) {
+					return autoCommit;
+				} else if ("hashCode".equals(method.getName())) {
+					return System.identityHashCode(proxy);
+				} else if ("equals".equals(method.getName())) {
+					return proxy == args[0];
+				}
+				return null;
+			}
+		});
+	}
+}
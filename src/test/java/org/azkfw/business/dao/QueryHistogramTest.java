@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link QueryHistogram}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class QueryHistogramTest extends TestCase {
+
+	@Test
+	public void testBucket() {
+		for (long value : new long[] { 0, 1, 15, 16, 17, 100, 1000, 123456789L, Long.MAX_VALUE }) {
+			int index = QueryHistogram.indexOf(value);
+			assertTrue(value <= QueryHistogram.upperOf(index));
+			if (0 < index) {
+				assertTrue(value > QueryHistogram.upperOf(index - 1));
+			}
+		}
+	}
+
+	@Test
+	public void testPercentile() {
+		QueryHistogram histogram = new QueryHistogram();
+		assertEquals(0, histogram.getPercentile(50));
+
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000, histogram.getMax());
+		assertEquals(500.5, histogram.getMean(), 0.001);
+
+		long p50 = histogram.getPercentile(50);
+		assertTrue(500 <= p50 && p50 <= 500 * 1.125);
+		long p99 = histogram.getPercentile(99);
+		assertTrue(990 <= p99 && p99 <= 1000);
+		assertEquals(1000, histogram.getPercentile(100));
+
+		histogram.clear();
+		assertEquals(0, histogram.getCount());
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ReadRoutingManager}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class ReadRoutingManagerTest extends TestCase {
+
+	@Test
+	public void testWritten() {
+		Connection tx = connection(false);
+		Connection other = connection(false);
+		try {
+			assertFalse(ReadRoutingManager.isWritten(tx));
+
+			// 更新後はトランザクションの終了まで振り分けない
+			ReadRoutingManager.written(tx);
+			assertTrue(ReadRoutingManager.isWritten(tx));
+			assertFalse(ReadRoutingManager.isWritten(other));
+
+			ReadRoutingManager.complete(tx);
+			assertFalse(ReadRoutingManager.isWritten(tx));
+		} finally {
+			ReadRoutingManager.complete(tx);
+		}
+	}
+
+	@Test
+	public void testAutoCommit() {
+		Connection c = connection(true);
+		ReadRoutingManager.written(c);
+		assertFalse(ReadRoutingManager.isWritten(c));
+		assertFalse(ReadRoutingManager.isWritten(null));
+	}
+
+	private Connection connection(final boolean autoCommit) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) {
+				if ("getAutoCommit".equals(method.getName())) {
+					return autoCommit;
+				} else if ("hashCode".equals(method.getName())) {
+					return System.identityHashCode(proxy);
+				} else if ("equals".equals(method.getName())) {
+					return proxy == args[0];
+				}
+				return null;
+			}
+		});
+	}
+}
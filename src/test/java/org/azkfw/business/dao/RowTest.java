@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link Row}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class RowTest extends TestCase {
+
+	@Test
+	public void testMap() {
+		RowSchema schema = new RowSchema(Arrays.asList("id", "name", "id"));
+		assertEquals(2, schema.size());
+		assertEquals(3, schema.getColumnCount());
+
+		Row row = new Row(schema);
+		row.setColumnValue(0, "1");
+		row.setColumnValue(1, "なまえ");
+		row.setColumnValue(2, "2");
+
+		// 同じキーのカラムは最初のカラムの値を格納する
+		assertEquals(-1, schema.getSlot(2));
+		assertEquals("1", row.get("id"));
+
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("id", "1");
+		map.put("name", "なまえ");
+		assertEquals(map, row);
+		assertEquals(row, map);
+		assertEquals(map.hashCode(), row.hashCode());
+		assertEquals(2, row.size());
+		assertTrue(row.containsKey("name"));
+		assertFalse(row.containsKey("age"));
+
+		assertNull(row.put("age", 20));
+		assertEquals(20, row.get("age"));
+		assertEquals(3, row.size());
+
+		assertEquals("なまえ", row.remove("name"));
+		assertFalse(row.containsKey("name"));
+		assertEquals(2, row.size());
+		assertEquals("1", row.get("id"));
+		assertEquals(20, row.get("age"));
+
+		row.clear();
+		assertEquals(0, row.size());
+		assertTrue(row.isEmpty());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		Row row = new Row(new RowSchema(Arrays.asList("id", "name", "age")));
+		row.setColumnValue(0, "1");
+		row.setColumnValue(1, "なまえ");
+		row.setColumnValue(2, Integer.valueOf(20));
+		row.put("extra", "x");
+
+		List<String> keys = new ArrayList<String>();
+		Iterator<Map.Entry<String, Object>> it = row.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, Object> entry = it.next();
+			keys.add(entry.getKey());
+			if ("name".equals(entry.getKey())) {
+				it.remove();
+			}
+		}
+		assertEquals(Arrays.asList("id", "name", "age", "extra"), keys);
+		assertEquals(3, row.size());
+		assertFalse(row.containsKey("name"));
+		assertEquals("1", row.get("id"));
+		assertEquals(20, row.get("age"));
+		assertEquals("x", row.get("extra"));
+
+		it = row.entrySet().iterator();
+		assertEquals("id", it.next().getKey());
+		it.remove();
+		assertFalse(row.containsKey("id"));
+		try {
+			it.remove();
+			fail("expected IllegalStateException");
+		} catch (IllegalStateException ex) {
+			// 削除済み
+		}
+	}
+
+	@Test
+	public void testCopy() {
+		Row row = new Row(new RowSchema(Arrays.asList("id")));
+		row.setColumnValue(0, "1");
+
+		Row copy = row.copy();
+		copy.put("id", "2");
+		assertEquals("1", row.get("id"));
+		assertEquals("2", copy.get("id"));
+		assertSame(row.getSchema(), copy.getSchema());
+	}
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.azkfw.business.paging.KeysetPaging;
+import org.azkfw.business.paging.PagePaging;
+import org.azkfw.business.paging.Paging;
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link ShardedDataAccessObject}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class ShardedDataAccessObjectTest extends TestCase {
+
+	@Test
+	public void testQuery() throws Exception {
+		ShardedDataAccessObject dao = createDao();
+		dao.addOrder("id", true);
+
+		assertEquals(30, dao.count());
+		assertEquals(ids(0, 30), ids(dao.query()));
+		assertEquals(ids(10, 15), ids(dao.query(new PagePaging(2, 5))));
+		assertEquals(ids(11, 15), ids(dao.query(new KeysetPaging("id", Long.valueOf(10), 4))));
+
+		PagedResult page = dao.queryPage(new PagePaging(5, 5));
+		assertEquals(30, page.getTotal());
+		assertEquals(ids(25, 30), ids(page.getData()));
+
+		List<Long> result = new ArrayList<Long>();
+		DataCursor cursor = dao.cursor();
+		try {
+			while (cursor.next()) {
+				result.add((Long) cursor.get().get("id"));
+			}
+		} finally {
+			cursor.close();
+		}
+		assertEquals(ids(0, 30), result);
+	}
+
+	@Test
+	public void testRoute() throws Exception {
+		ShardedDataAccessObject dao = createDao();
+		dao.setShardRouter(new ShardRouter() {
+			@Override
+			public int route(final Object key, final int count) {
+				return ((Long) key).intValue() % count;
+			}
+		});
+		try {
+			dao.update();
+			fail();
+		} catch (DataAccessServiceException ex) {
+			// シャードキーが必須
+		}
+		dao.setShardKey(Long.valueOf(4));
+		assertEquals(1, dao.update());
+		assertEquals(10, dao.count());
+		assertEquals(Long.valueOf(1), dao.query().get(0).get("id"));
+	}
+
+	private static ShardedDataAccessObject createDao() {
+		List<DataAccessObject> shards = new ArrayList<DataAccessObject>();
+		for (int i = 0; i < 3; i++) {
+			// シャードiはidを3で割った余りがiのデータを保持する
+			List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+			for (long id = i; id < 30; id += 3) {
+				Map<String, Object> row = new HashMap<String, Object>();
+				row.put("id", Long.valueOf(id));
+				rows.add(row);
+			}
+			shards.add(createShard(rows));
+		}
+		return new ShardedDataAccessObject(shards);
+	}
+
+	private static DataAccessObject createShard(final List<Map<String, Object>> rows) {
+		return (DataAccessObject) Proxy.newProxyInstance(ShardedDataAccessObjectTest.class.getClassLoader(),
+				new Class<?>[] { DataAccessObject.class }, new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						String name = method.getName();
+						if ("count".equals(name)) {
+							return Long.valueOf(rows.size());
+						} else if ("update".equals(name)) {
+							return Integer.valueOf(1);
+						} else if ("query".equals(name)) {
+							return query(rows, (null != args) ? (Paging) args[0] : null);
+						} else if ("cursor".equals(name)) {
+							final List<Map<String, Object>> list = query(rows, null);
+							return new DataCursor() {
+								private int index = -1;
+
+								@Override
+								public boolean next() {
+									return ++index < list.size();
+								}
+
+								@Override
+								public Map<String, Object> get() {
+									return list.get(index);
+								}
+
+								@Override
+								public void close() {
+								}
+							};
+						}
+						return null;
+					}
+				});
+	}
+
+	private static List<Map<String, Object>> query(final List<Map<String, Object>> rows, final Paging paging) {
+		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+		long skip = (null != paging) ? paging.getPage() * paging.getSize() : 0;
+		for (Map<String, Object> row : rows) {
+			if (paging instanceof KeysetPaging && ((Long) row.get("id")).longValue() <= ((Long) ((KeysetPaging) paging).getSinceIdValue()).longValue()) {
+				continue;
+			}
+			if (0 < skip) {
+				skip--;
+				continue;
+			}
+			if (null != paging && result.size() >= paging.getSize()) {
+				break;
+			}
+			result.add(row);
+		}
+		return result;
+	}
+
+	private static List<Long> ids(final long start, final long end) {
+		List<Long> result = new ArrayList<Long>();
+		for (long i = start; i < end; i++) {
+			result.add(Long.valueOf(i));
+		}
+		return result;
+	}
+
+	private static List<Long> ids(final List<Map<String, Object>> data) {
+		List<Long> result = new ArrayList<Long>();
+		for (Map<String, Object> row : data) {
+			result.add((Long) row.get("id"));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link SingleFlightManager}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class SingleFlightManagerTest extends TestCase {
+
+	@Test
+	public void testCoalesce() throws Exception {
+		final List<Object> key = Arrays.<Object> asList("selectCode", "query");
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger executions = new AtomicInteger();
+
+		final Callable<List<Map<String, Object>>> query = new Callable<List<Map<String, Object>>>() {
+			@Override
+			public List<Map<String, Object>> call() throws Exception {
+				executions.incrementAndGet();
+				started.countDown();
+				release.await();
+				List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+				Map<String, Object> data = new HashMap<String, Object>();
+				data.put("code", "A");
+				list.add(data);
+				return list;
+			}
+		};
+		Callable<List<Map<String, Object>>> task = new Callable<List<Map<String, Object>>>() {
+			@Override
+			public List<Map<String, Object>> call() throws Exception {
+				return SingleFlightManager.execute(key, query);
+			}
+		};
+
+		long coalesced = SingleFlightManager.getCoalescedCount();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<Map<String, Object>>>> futures = new ArrayList<Future<List<Map<String, Object>>>>();
+			futures.add(executor.submit(task));
+			started.await();
+			for (int i = 0; i < 3; i++) {
+				futures.add(executor.submit(task));
+			}
+			Thread.sleep(200);
+			release.countDown();
+
+			List<List<Map<String, Object>>> results = new ArrayList<List<Map<String, Object>>>();
+			for (Future<List<Map<String, Object>>> future : futures) {
+				results.add(future.get());
+			}
+			assertEquals(1, executions.get());
+			assertEquals(3, SingleFlightManager.getCoalescedCount() - coalesced);
+			for (int i = 1; i < results.size(); i++) {
+				assertEquals(results.get(0), results.get(i));
+				assertNotSame(results.get(0).get(0), results.get(i).get(0));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testError() throws Exception {
+		try {
+			SingleFlightManager.execute(Arrays.<Object> asList("selectCode", "count"), new Callable<Long>() {
+				@Override
+				public Long call() throws Exception {
+					throw new DataAccessServiceException("error");
+				}
+			});
+			fail();
+		} catch (DataAccessServiceException ex) {
+			assertEquals("error", ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link SpillableList}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class SpillableListTest extends TestCase {
+
+	@Test
+	public void testSpill() throws Exception {
+		RowSchema schema = new RowSchema(Arrays.asList("id", "name", "amount", "updated", "memo"));
+		SpillableList list = new SpillableList(1024);
+		try {
+			for (int i = 0; i < 1000; i++) {
+				Row row = new Row(schema);
+				row.setColumnValue(0, Long.valueOf(i));
+				row.setColumnValue(1, "名前" + i);
+				row.setColumnValue(2, new BigDecimal("12.34").add(BigDecimal.valueOf(i)));
+				row.setColumnValue(3, new Timestamp(1000L * i));
+				row.setColumnValue(4, null);
+				list.add(row);
+			}
+			Map<String, Object> map = new HashMap<String, Object>();
+			map.put("id", Long.valueOf(1000));
+			map.put("bytes", new byte[] { 1, 2, 3 });
+			list.add(map);
+
+			assertEquals(1001, list.size());
+			assertTrue(0 < list.getSpilledCount());
+			assertTrue(list.getSpilledCount() < list.size());
+
+			for (int i = 0; i < 1000; i++) {
+				Map<String, Object> data = list.get(i);
+				assertEquals(Long.valueOf(i), data.get("id"));
+				assertEquals("名前" + i, data.get("name"));
+				assertEquals(new BigDecimal("12.34").add(BigDecimal.valueOf(i)), data.get("amount"));
+				assertEquals(new Timestamp(1000L * i), data.get("updated"));
+				assertTrue(data.containsKey("memo"));
+				assertNull(data.get("memo"));
+			}
+			assertEquals(Long.valueOf(1000), list.get(1000).get("id"));
+			assertEquals(3, ((byte[]) list.get(1000).get("bytes")).length);
+
+			// 降順に並び替え
+			Collections.sort(list, new Comparator<Map<String, Object>>() {
+				@Override
+				public int compare(final Map<String, Object> o1, final Map<String, Object> o2) {
+					return ((Long) o2.get("id")).compareTo((Long) o1.get("id"));
+				}
+			});
+			for (int i = 0; i < 1001; i++) {
+				assertEquals(Long.valueOf(1000 - i), list.get(i).get("id"));
+			}
+		} finally {
+			list.close();
+		}
+		assertEquals(0, list.size());
+	}
+
+	@Test
+	public void testLob() throws Exception {
+		SpillableList list = new SpillableList(0);
+		try {
+			Map<String, Object> map = new HashMap<String, Object>();
+			map.put("clob", new SerialClob("テキスト".toCharArray()));
+			map.put("blob", new SerialBlob(new byte[] { 1, 2, 3 }));
+			list.add(map);
+
+			assertEquals(1, list.getSpilledCount());
+			assertEquals(0, list.getPinnedCount());
+			assertEquals("テキスト", list.get(0).get("clob"));
+			assertTrue(Arrays.equals(new byte[] { 1, 2, 3 }, (byte[]) list.get(0).get("blob")));
+		} finally {
+			list.close();
+		}
+	}
+
+	@Test
+	public void testPinned() throws Exception {
+		SpillableList list = new SpillableList(0);
+		try {
+			Map<String, Object> map1 = new HashMap<String, Object>();
+			map1.put("id", Long.valueOf(1));
+			Map<String, Object> map2 = new HashMap<String, Object>();
+			map2.put("id", Long.valueOf(2));
+			map2.put("value", new Object());
+			Map<String, Object> map3 = new HashMap<String, Object>();
+			map3.put("id", Long.valueOf(3));
+			list.add(map1);
+			list.add(map2);
+			list.add(map3);
+
+			assertEquals(3, list.size());
+			assertEquals(2, list.getSpilledCount());
+			assertEquals(1, list.getPinnedCount());
+			assertEquals(Long.valueOf(1), list.get(0).get("id"));
+			assertSame(map2, list.get(1));
+			assertEquals(Long.valueOf(3), list.get(2).get("id"));
+
+			// 退避したデータは書き戻すまで反映されない
+			list.get(0).put("id", Long.valueOf(10));
+			assertEquals(Long.valueOf(1), list.get(0).get("id"));
+			Map<String, Object> data = list.get(0);
+			data.put("id", Long.valueOf(10));
+			list.set(0, data);
+			assertEquals(Long.valueOf(10), list.get(0).get("id"));
+		} finally {
+			list.close();
+		}
+		assertEquals(0, list.getPinnedCount());
+	}
+
+	@Test
+	public void testMemory() throws Exception {
+		SpillableList list = new SpillableList(Long.MAX_VALUE);
+		try {
+			Map<String, Object> map = new HashMap<String, Object>();
+			list.add(map);
+			assertSame(map, list.get(0));
+			assertEquals(0, list.getSpilledCount());
+			assertEquals(0, list.getSpilledBytes());
+		} finally {
+			list.close();
+		}
+	}
+}
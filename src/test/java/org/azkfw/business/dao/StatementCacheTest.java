@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link StatementCache}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class StatementCacheTest extends TestCase {
+
+	@Test
+	public void testCache() throws Exception {
+		StatementCache cache = new StatementCache(createConnection(), 2);
+
+		PreparedStatement stat1 = cache.prepare("SELECT 1");
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// 使用中のステートメントは共有しない
+		PreparedStatement stat2 = cache.prepare("SELECT 1");
+		assertTrue(stat1 != stat2);
+		assertEquals(2, cache.getMissCount());
+
+		cache.release("SELECT 1", stat1);
+		cache.release("SELECT 1", stat2);
+		assertEquals(1, cache.size());
+		assertTrue(stat2.isClosed());
+
+		assertSame(stat1, cache.prepare("SELECT 1"));
+		assertEquals(1, cache.getHitCount());
+		cache.release("SELECT 1", stat1);
+
+		PreparedStatement stat3 = cache.prepare("SELECT 2");
+		cache.release("SELECT 2", stat3);
+		PreparedStatement stat4 = cache.prepare("SELECT 3");
+		cache.release("SELECT 3", stat4);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertTrue(stat1.isClosed());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertTrue(stat3.isClosed());
+		assertTrue(stat4.isClosed());
+	}
+
+	private static Connection createConnection() {
+		return (Connection) Proxy.newProxyInstance(StatementCacheTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						if ("prepareStatement".equals(method.getName())) {
+							return createStatement();
+						}
+						return null;
+					}
+				});
+	}
+
+	private static PreparedStatement createStatement() {
+		return (PreparedStatement) Proxy.newProxyInstance(StatementCacheTest.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+				new InvocationHandler() {
+					private boolean closed = false;
+
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						if ("isClosed".equals(method.getName())) {
+							return closed;
+						} else if ("close".equals(method.getName())) {
+							closed = true;
+						} else if ("hashCode".equals(method.getName())) {
+							return System.identityHashCode(proxy);
+						} else if ("equals".equals(method.getName())) {
+							return proxy == args[0];
+						}
+						return null;
+					}
+				});
+	}
+}
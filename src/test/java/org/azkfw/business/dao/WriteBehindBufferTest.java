@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link WriteBehindBuffer}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class WriteBehindBufferTest extends TestCase {
+
+	private static final String INSERT_A = "INSERT INTO A (ID) VALUES (?)";
+
+	private static final String UPDATE_A = "UPDATE A SET NAME = ? WHERE ID = ?";
+
+	private static final String INSERT_B = "INSERT INTO B (ID) VALUES (?)";
+
+	@Test
+	public void testGroup() {
+		List<WriteBehindBuffer.Entry> entries = new ArrayList<WriteBehindBuffer.Entry>();
+		entries.add(entry("a1", INSERT_A));
+		entries.add(entry("a2", INSERT_A));
+		entries.add(entry("u1", UPDATE_A));
+		entries.add(entry("a3", INSERT_A));
+
+		// 連続する同じSQLのみまとめる
+		List<List<WriteBehindBuffer.Entry>> groups = WriteBehindBuffer.group(entries);
+		assertEquals(3, groups.size());
+		assertEquals(Arrays.asList("a1", "a2"), names(groups.get(0)));
+		assertEquals(Arrays.asList("u1"), names(groups.get(1)));
+		assertEquals(Arrays.asList("a3"), names(groups.get(2)));
+
+		// 対象テーブルが判定できない更新は追い越さない
+		entries.clear();
+		entries.add(entry("b1", INSERT_B));
+		entries.add(entry("x1", "CALL PROC()"));
+		entries.add(entry("b2", INSERT_B));
+		groups = WriteBehindBuffer.group(entries);
+		assertEquals(3, groups.size());
+	}
+
+	@Test
+	public void testGroupOrder() {
+		List<WriteBehindBuffer.Entry> entries = new ArrayList<WriteBehindBuffer.Entry>();
+		entries.add(entry("a1", INSERT_A));
+		entries.add(entry("b1", INSERT_B));
+		entries.add(entry("a2", INSERT_A));
+		entries.add(entry("b2", INSERT_B));
+		entries.add(entry("b3", INSERT_B));
+
+		// 異なるテーブルの更新を挟む場合はまとめず、登録順に送信する
+		List<List<WriteBehindBuffer.Entry>> groups = WriteBehindBuffer.group(entries);
+		assertEquals(4, groups.size());
+		assertEquals(Arrays.asList("a1"), names(groups.get(0)));
+		assertEquals(Arrays.asList("b1"), names(groups.get(1)));
+		assertEquals(Arrays.asList("a2"), names(groups.get(2)));
+		assertEquals(Arrays.asList("b2", "b3"), names(groups.get(3)));
+	}
+
+	@Test
+	public void testBuffer() throws Exception {
+		WriteBehindBuffer buffer = new WriteBehindBuffer(10);
+		buffer.add(null, "a1", INSERT_A, Arrays.<Object> asList(1));
+		buffer.add(null, "b1", INSERT_B, Arrays.<Object> asList(1));
+		assertEquals(2, buffer.size());
+
+		// 未送信の更新の対象テーブルを参照しない場合は送信しない
+		buffer.flushBefore(null, "SELECT * FROM C WHERE ID = ?");
+		assertEquals(2, buffer.size());
+		assertEquals(0, buffer.getFlushCount());
+
+		buffer.clear();
+		assertTrue(buffer.isEmpty());
+		buffer.flush(null);
+		assertEquals(0, buffer.getFlushCount());
+	}
+
+	@Test
+	public void testFlushRequired() throws Exception {
+		WriteBehindBuffer buffer = new WriteBehindBuffer(10);
+		assertFalse(buffer.isFlushRequired("SELECT * FROM A"));
+
+		buffer.add(null, "b1", INSERT_B, Arrays.<Object> asList(1));
+		assertFalse(buffer.isFlushRequired("SELECT * FROM A WHERE ID = ?"));
+		assertFalse(buffer.isFlushRequired("SELECT * FROM A JOIN C ON A.ID = C.ID"));
+
+		// JOIN句、副問い合わせで参照する場合は送信する
+		assertTrue(buffer.isFlushRequired("SELECT * FROM A JOIN B ON A.ID = B.ID"));
+		assertTrue(buffer.isFlushRequired("SELECT * FROM A a LEFT JOIN B b ON a.ID = b.ID"));
+		assertTrue(buffer.isFlushRequired("SELECT * FROM A WHERE ID IN (SELECT ID FROM B)"));
+
+		// 参照テーブルを全て判定できない場合、更新SQLの場合は送信する
+		assertTrue(buffer.isFlushRequired("SELECT * FROM A CROSS APPLY func(A.ID) f"));
+		assertTrue(buffer.isFlushRequired("SELECT 1"));
+		assertTrue(buffer.isFlushRequired(UPDATE_A));
+	}
+
+	private static WriteBehindBuffer.Entry entry(final String name, final String sql) {
+		return new WriteBehindBuffer.Entry(name, sql, null);
+	}
+
+	private static List<String> names(final List<WriteBehindBuffer.Entry> group) {
+		List<String> names = new ArrayList<String>();
+		for (WriteBehindBuffer.Entry entry : group) {
+			names.add(entry.getName());
+		}
+		return names;
+	}
+}
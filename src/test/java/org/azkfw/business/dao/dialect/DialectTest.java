@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link Dialect}実装クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class DialectTest extends TestCase {
+
+	@Test
+	public void testLimitOffset() {
+		Dialect dialect = new LimitOffsetDialect();
+
+		List<Object> parameters = new ArrayList<Object>();
+		assertEquals("SELECT * FROM T LIMIT ?", dialect.getLimitSQL("SELECT * FROM T;\n", 0, 10, parameters));
+		assertEquals(1, parameters.size());
+		assertEquals(Long.valueOf(10), parameters.get(0));
+
+		parameters = new ArrayList<Object>();
+		assertEquals("SELECT * FROM T LIMIT ? OFFSET ?", dialect.getLimitSQL("SELECT * FROM T", 20, 10, parameters));
+		assertEquals(2, parameters.size());
+		assertEquals(Long.valueOf(10), parameters.get(0));
+		assertEquals(Long.valueOf(20), parameters.get(1));
+	}
+
+	@Test
+	public void testOffsetFetch() {
+		Dialect dialect = new OffsetFetchDialect();
+
+		List<Object> parameters = new ArrayList<Object>();
+		assertEquals("SELECT * FROM T ORDER BY ID OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", dialect.getLimitSQL("SELECT * FROM T ORDER BY ID", 20, 10, parameters));
+		assertEquals(Long.valueOf(20), parameters.get(0));
+		assertEquals(Long.valueOf(10), parameters.get(1));
+		assertNull(dialect.getLimitColumnLabel());
+
+		// ORDER BY句が必要な場合、ORDER BY句のないSQLは限定しない
+		dialect = new OffsetFetchDialect(true, true);
+		parameters = new ArrayList<Object>();
+		assertNull(dialect.getLimitSQL("SELECT * FROM T", 20, 10, parameters));
+		assertNull(dialect.getLimitSQL("SELECT ROW_NUMBER() OVER(ORDER BY ID) N FROM T", 20, 10, parameters));
+		assertEquals(0, parameters.size());
+		assertNotNull(dialect.getLimitSQL("SELECT * FROM T ORDER BY ID", 20, 10, parameters));
+	}
+
+	@Test
+	public void testRownum() {
+		Dialect dialect = new RownumDialect();
+
+		List<Object> parameters = new ArrayList<Object>();
+		assertEquals("SELECT * FROM (SELECT * FROM T) WHERE ROWNUM <= ?", dialect.getLimitSQL("SELECT * FROM T", 0, 10, parameters));
+		assertEquals(Long.valueOf(10), parameters.get(0));
+
+		parameters = new ArrayList<Object>();
+		assertEquals("SELECT * FROM (SELECT ROW_.*, ROWNUM ROWNUM_ FROM (SELECT * FROM T) ROW_ WHERE ROWNUM <= ?) WHERE ROWNUM_ > ?",
+				dialect.getLimitSQL("SELECT * FROM T", 20, 10, parameters));
+		assertEquals(Long.valueOf(30), parameters.get(0));
+		assertEquals(Long.valueOf(20), parameters.get(1));
+		assertEquals("ROWNUM_", dialect.getLimitColumnLabel());
+	}
+
+	@Test
+	public void testUtility() {
+		assertEquals("SELECT 1", DialectUtility.trim("SELECT 1 ; \n"));
+		assertTrue(DialectUtility.isIdentifier("USER_ID"));
+		assertTrue(DialectUtility.isIdentifier("id2"));
+		assertFalse(DialectUtility.isIdentifier("2id"));
+		assertFalse(DialectUtility.isIdentifier("id; DROP TABLE T"));
+		assertFalse(DialectUtility.isIdentifier(""));
+	}
+
+	@Test
+	public void testRemoveOrderBy() {
+		assertTrue(DialectUtility.hasOrderBy("SELECT * FROM T ORDER BY ID"));
+		assertFalse(DialectUtility.hasOrderBy("SELECT * FROM (SELECT * FROM T ORDER BY ID) A"));
+		assertFalse(DialectUtility.hasOrderBy("SELECT 'ORDER BY' FROM T -- ORDER BY ID"));
+
+		assertEquals("SELECT * FROM T WHERE A = ?", DialectUtility.removeOrderBy("SELECT * FROM T WHERE A = ? ORDER BY ID DESC;"));
+		assertEquals("SELECT ROW_NUMBER() OVER(ORDER BY ID) N FROM T",
+				DialectUtility.removeOrderBy("SELECT ROW_NUMBER() OVER(ORDER BY ID) N FROM T ORDER BY N"));
+		assertEquals("SELECT * FROM T", DialectUtility.removeOrderBy("SELECT * FROM T"));
+		// 取得範囲を限定している場合は取り除かない
+		assertEquals("SELECT * FROM T ORDER BY ID LIMIT 10", DialectUtility.removeOrderBy("SELECT * FROM T ORDER BY ID LIMIT 10"));
+		assertEquals("SELECT * FROM T ORDER BY ID FETCH FIRST 10 ROWS ONLY",
+				DialectUtility.removeOrderBy("SELECT * FROM T ORDER BY ID FETCH FIRST 10 ROWS ONLY"));
+	}
+
+	@Test
+	public void testAppendSelectColumn() {
+		String column = "COUNT(*) OVER() AS T_";
+		assertEquals("SELECT ID, NAME, COUNT(*) OVER() AS T_ FROM T WHERE A = ? ORDER BY ID",
+				DialectUtility.appendSelectColumn("SELECT ID, NAME FROM T WHERE A = ? ORDER BY ID;", column));
+		assertEquals("SELECT A.ID, (SELECT MAX(X) FROM U) M, COUNT(*) OVER() AS T_ -- from\n FROM T A",
+				DialectUtility.appendSelectColumn("SELECT A.ID, (SELECT MAX(X) FROM U) M -- from\n FROM T A", column));
+		assertEquals("WITH W AS (SELECT * FROM T) SELECT W.*, 'FROM', COUNT(*) OVER() AS T_ FROM W",
+				DialectUtility.appendSelectColumn("WITH W AS (SELECT * FROM T) SELECT W.*, 'FROM' FROM W", column));
+		assertNull(DialectUtility.appendSelectColumn("SELECT * FROM T", column));
+		assertNull(DialectUtility.appendSelectColumn("SELECT DISTINCT ID FROM T", column));
+		assertNull(DialectUtility.appendSelectColumn("SELECT ID FROM T UNION SELECT ID FROM U", column));
+		assertNull(DialectUtility.appendSelectColumn("UPDATE T SET A = 1", column));
+	}
+
+	@Test
+	public void testFactory() {
+		assertTrue(DialectFactory.create("PostgreSQL", 9) instanceof LimitOffsetDialect);
+		assertTrue(DialectFactory.create("MySQL", 5) instanceof LimitOffsetDialect);
+		assertTrue(DialectFactory.create("Oracle", 11) instanceof RownumDialect);
+		assertTrue(DialectFactory.create("Oracle", 12) instanceof OffsetFetchDialect);
+		assertTrue(DialectFactory.create("Microsoft SQL Server", 11) instanceof OffsetFetchDialect);
+		assertNull(DialectFactory.create("Microsoft SQL Server", 10));
+		assertNull(DialectFactory.create("Unknown", 1));
+
+		assertTrue(DialectFactory.create("PostgreSQL", 9).supportsWindowFunction());
+		assertFalse(DialectFactory.create("MySQL", 5).supportsWindowFunction());
+		assertTrue(DialectFactory.create("MySQL", 8).supportsWindowFunction());
+		assertFalse(DialectFactory.create("Apache Derby", 10).supportsWindowFunction());
+		assertFalse(DialectFactory.create("MariaDB", 10, 1).supportsWindowFunction());
+		assertTrue(DialectFactory.create("MariaDB", 10, 2).supportsWindowFunction());
+		assertTrue(DialectFactory.create("MariaDB", 11, 0).supportsWindowFunction());
+		assertNull(DialectFactory.create("Microsoft SQL Server", 11).getLimitSQL("SELECT * FROM T", 0, 10, new ArrayList<Object>()));
+
+		assertEquals(1000, DialectFactory.create("Oracle", 11).getMaxInListSize());
+		assertEquals(999, DialectFactory.create("SQLite", 3).getMaxInListSize());
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.export;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link DataExporter}実装クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class ExporterTest extends TestCase {
+
+	private static final int[] TYPES = { Types.BIGINT, Types.VARCHAR, Types.DECIMAL, Types.DOUBLE, Types.BOOLEAN };
+
+	private static final Object[][] ROWS = { { Long.valueOf(1), "a,\"b\"", new BigDecimal("1.50"), Double.valueOf(0.5), Boolean.TRUE },
+			{ null, "改行\n", null, Double.valueOf(Double.NaN), null } };
+
+	@Test
+	public void testCsv() throws Exception {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		CsvExporter exporter = new CsvExporter(Channels.newChannel(stream));
+		export(exporter);
+
+		assertEquals("id,name,price,rate,flag\r\n1,\"a,\"\"b\"\"\",1.50,0.5,true\r\n,\"改行\n\",,NaN,\r\n", stream.toString("UTF-8"));
+		assertEquals(2, exporter.getCount());
+		assertEquals(stream.size(), exporter.getWrittenBytes());
+	}
+
+	@Test
+	public void testNdjson() throws Exception {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		NdjsonExporter exporter = new NdjsonExporter(Channels.newChannel(stream));
+		export(exporter);
+
+		assertEquals("{\"id\":1,\"name\":\"a,\\\"b\\\"\",\"price\":1.50,\"rate\":0.5,\"flag\":true}\n"
+				+ "{\"id\":null,\"name\":\"改行\\n\",\"price\":null,\"rate\":null,\"flag\":null}\n", stream.toString("UTF-8"));
+	}
+
+	@Test
+	public void testBuffer() throws Exception {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		ExportBuffer buffer = new ExportBuffer(Channels.newChannel(stream), 16);
+		buffer.append(Long.MIN_VALUE).append(' ').append(-123L).append(' ').append("𠮷あé").append(0L);
+		buffer.flush();
+		assertEquals(Long.MIN_VALUE + " -123 𠮷あé0", stream.toString("UTF-8"));
+	}
+
+	private static void export(final DataExporter exporter) throws Exception {
+		ResultSet rs = createResultSet();
+		exporter.start(Arrays.asList("id", "name", "price", "rate", "flag"), rs.getMetaData());
+		while (rs.next()) {
+			exporter.write(rs);
+		}
+		exporter.end();
+	}
+
+	private static ResultSet createResultSet() {
+		final ResultSetMetaData md = (ResultSetMetaData) Proxy.newProxyInstance(ExporterTest.class.getClassLoader(),
+				new Class<?>[] { ResultSetMetaData.class }, new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						if ("getColumnType".equals(method.getName())) {
+							return Integer.valueOf(TYPES[((Integer) args[0]).intValue() - 1]);
+						}
+						return Integer.valueOf(TYPES.length);
+					}
+				});
+		return (ResultSet) Proxy.newProxyInstance(ExporterTest.class.getClassLoader(), new Class<?>[] { ResultSet.class }, new InvocationHandler() {
+			private int row = -1;
+			private Object last;
+
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) {
+				String name = method.getName();
+				if ("getMetaData".equals(name)) {
+					return md;
+				} else if ("next".equals(name)) {
+					row++;
+					return Boolean.valueOf(row < ROWS.length);
+				} else if ("wasNull".equals(name)) {
+					return Boolean.valueOf(null == last);
+				}
+				last = ROWS[row][((Integer) args[0]).intValue() - 1];
+				if ("getLong".equals(name)) {
+					return Long.valueOf((null == last) ? 0L : ((Long) last).longValue());
+				} else if ("getDouble".equals(name)) {
+					return Double.valueOf((null == last) ? 0.0 : ((Double) last).doubleValue());
+				} else if ("getBoolean".equals(name)) {
+					return Boolean.valueOf((null == last) ? false : ((Boolean) last).booleanValue());
+				}
+				return last;
+			}
+		});
+	}
+}
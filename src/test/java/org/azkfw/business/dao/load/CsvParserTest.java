@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.business.dao.load;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * このクラスは、{@link CsvParser}クラスのユニットテストを行うクラスです。
+ * 
+ * @since 1.6.1
+ * @version 1.6.1 2026/10/17
+ * @author Kawakicchi
+ */
+public class CsvParserTest extends TestCase {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	@Test
+	public void testParse() throws Exception {
+		File file = createFile("\uFEFFid,name,note\r\n1,\"a,b\",\"say \"\"hi\"\"\"\r\n\r\n2,,\"line1\nline2\"\n3,x,", UTF8);
+		CsvParser parser = new CsvParser(file, UTF8, ',');
+		try {
+			assertEquals(Arrays.asList("id", "name", "note"), parser.next());
+			assertEquals(Arrays.asList("1", "a,b", "say \"hi\""), parser.next());
+			assertEquals(Arrays.asList("2", "", "line1\nline2"), parser.next());
+			assertEquals(Arrays.asList("3", "x", ""), parser.next());
+			assertNull(parser.next());
+			assertEquals(file.length(), parser.getPosition());
+		} finally {
+			parser.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testWindow() throws Exception {
+		// マルチバイト文字が範囲の境界で分断されるようにする
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			s.append(i).append("\t日本語").append(i).append('\n');
+		}
+		File file = createFile(s.toString(), UTF8);
+		CsvParser parser = new CsvParser(file, UTF8, '\t', 7);
+		try {
+			for (int i = 0; i < 100; i++) {
+				List<String> record = parser.next();
+				assertEquals(Arrays.asList(Integer.toString(i), "日本語" + i), record);
+			}
+			assertNull(parser.next());
+		} finally {
+			parser.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		File file = createFile("", UTF8);
+		CsvParser parser = new CsvParser(file, UTF8, ',');
+		try {
+			assertNull(parser.next());
+		} finally {
+			parser.close();
+			file.delete();
+		}
+	}
+
+	private static File createFile(final String data, final Charset charset) throws Exception {
+		File file = File.createTempFile("CsvParserTest", ".csv");
+		OutputStream stream = new FileOutputStream(file);
+		try {
+			stream.write(data.getBytes(charset));
+		} finally {
+			stream.close();
+		}
+		return file;
+	}
+}